@@ -0,0 +1,267 @@
+package com.fsc.benchmark;
+
+import com.fsc.benchmark.PageLocators.PageLocator;
+import com.fsc.benchmark.LocatorTimer.Timing;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the lookup cost of every locator declared in com.fsc.pages against saved Lightning page
+ * fixtures in headless Chrome, suggests faster CSS equivalents and checks the results against a baseline
+ *
+ * Run with: mvn -f benchmark/pom.xml compile exec:java
+ * Settings are system properties (see benchmark/pom.xml)
+ */
+public class LocatorBenchmark {
+    private static final Json JSON = new Json();
+    private static final String PAGES_PACKAGE = "com.fsc.pages";
+
+    // Fixtures mark repetitive markup with data-fsc-repeat="n" to grow the DOM to a realistic size
+    private static final String EXPAND_SCRIPT =
+        "document.querySelectorAll('[data-fsc-repeat]').forEach(function (block) {" +
+        "  var times = parseInt(block.getAttribute('data-fsc-repeat'), 10), template = block.innerHTML, html = '';" +
+        "  for (var i = 0; i < times; i++) { html += template; }" +
+        "  block.innerHTML = html;" +
+        "});" +
+        "return document.getElementsByTagName('*').length;";
+
+    // A suggestion must be at least this much faster to be worth a locator change
+    private static final double MIN_SPEEDUP = 1.25;
+    // Differences below this are measurement noise, whatever the ratio
+    private static final double MIN_REGRESSION_MICROS = 2.0;
+
+    public static void main(String[] args) throws IOException {
+        Path fixturesDir = Paths.get(System.getProperty("benchmark.fixtures", "benchmark/fixtures"));
+        Path output = Paths.get(System.getProperty("benchmark.output", "benchmark/target/locator-benchmark.json"));
+        Path baseline = Paths.get(System.getProperty("benchmark.baseline", "benchmark/baseline.json"));
+        int warmup = Integer.getInteger("benchmark.warmup", 5);
+        int iterations = Integer.getInteger("benchmark.iterations", 20);
+        int batch = Integer.getInteger("benchmark.batch", 50);
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.5"));
+
+        List<Path> fixtures = listFixtures(fixturesDir);
+        WebDriver driver = launchBrowser();
+        Map<String, Object> report;
+        try {
+            List<PageLocator> locators = PageLocators.discover(PAGES_PACKAGE, driver);
+            System.out.println("Benchmarking " + locators.size() + " locators against " + fixtures.size() + " fixtures");
+            report = run(driver, locators, fixtures, new LocatorTimer(driver, warmup, iterations, batch));
+        } finally {
+            driver.quit();
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("warmup", warmup);
+        settings.put("iterations", iterations);
+        settings.put("batch", batch);
+        settings.put("tolerance", tolerance);
+        report.put("settings", settings);
+
+        List<String> regressions = compareWithBaseline(report, baseline, tolerance);
+        report.put("regressions", regressions);
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        Files.writeString(output, JSON.toJson(report));
+        System.out.println("Locator benchmark written to " + output.toAbsolutePath());
+
+        if (Boolean.getBoolean("benchmark.updateBaseline")) {
+            Files.writeString(baseline, JSON.toJson(report));
+            System.out.println("Baseline updated: " + baseline.toAbsolutePath());
+            return;
+        }
+        if (!regressions.isEmpty()) {
+            regressions.forEach(r -> System.out.println("REGRESSION " + r));
+            if (Boolean.parseBoolean(System.getProperty("benchmark.failOnRegression", "true"))) {
+                throw new IllegalStateException(regressions.size() + " locator(s) slower than the baseline");
+            }
+        }
+    }
+
+    /**
+     * Measure every locator on every fixture; the cost of a locator is its slowest mean on a fixture it matches
+     */
+    private static Map<String, Object> run(WebDriver driver, List<PageLocator> locators, List<Path> fixtures, LocatorTimer timer) {
+        Map<String, Map<String, Object>> results = new LinkedHashMap<>();
+        for (PageLocator locator : locators) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("key", locator.getKey());
+            result.put("using", locator.getUsing());
+            result.put("value", locator.getValue());
+            result.put("fixtures", new LinkedHashMap<String, Object>());
+            results.put(locator.getKey(), result);
+        }
+
+        for (Path fixture : fixtures) {
+            String fixtureName = fixture.getFileName().toString();
+            driver.get(fixture.toUri().toString());
+            long nodes = (Long) ((JavascriptExecutor) driver).executeScript(EXPAND_SCRIPT);
+            System.out.println("Fixture " + fixtureName + ": " + nodes + " elements");
+
+            for (PageLocator locator : locators) {
+                Timing timing = timer.measure(locator.getUsing(), locator.getValue());
+                Map<String, Object> measured = new LinkedHashMap<>();
+                measured.put("matched", timing.isMatched());
+                measured.put("meanMicros", round(timing.getMeanMicros()));
+                measured.put("p50Micros", round(timing.getP50Micros()));
+                measured.put("p95Micros", round(timing.getP95Micros()));
+                if (timing.isMatched()) {
+                    measured.put("roundTripMillis", round(timer.measureRoundTripMillis(locator.getBy())));
+                }
+                Map<String, Object> result = results.get(locator.getKey());
+                fixturesOf(result).put(fixtureName, measured);
+
+                if (timing.isMatched() && !result.containsKey("suggestion")) {
+                    Map<String, Object> suggestion = suggest(timer, locator, timing);
+                    if (suggestion != null) {
+                        suggestion.put("fixture", fixtureName);
+                        result.put("suggestion", suggestion);
+                    }
+                }
+            }
+        }
+
+        for (Map<String, Object> result : results.values()) {
+            result.put("costMicros", cost(result));
+        }
+        printSummary(results.values());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("locators", new ArrayList<>(results.values()));
+        return report;
+    }
+
+    /**
+     * Fastest CSS selector that finds the same element, if it beats the locator by a useful margin
+     */
+    private static Map<String, Object> suggest(LocatorTimer timer, PageLocator locator, Timing original) {
+        String best = null;
+        double bestMicros = Double.MAX_VALUE;
+        for (String candidate : timer.candidates(locator.getUsing(), locator.getValue())) {
+            if (candidate.equals(locator.getValue())) {
+                continue;
+            }
+            double micros = timer.measure("css selector", candidate).getMeanMicros();
+            if (micros < bestMicros) {
+                best = candidate;
+                bestMicros = micros;
+            }
+        }
+        if (best == null || original.getMeanMicros() < bestMicros * MIN_SPEEDUP) {
+            return null;
+        }
+        Map<String, Object> suggestion = new LinkedHashMap<>();
+        suggestion.put("css", best);
+        suggestion.put("meanMicros", round(bestMicros));
+        suggestion.put("speedup", round(original.getMeanMicros() / Math.max(bestMicros, 0.01)));
+        return suggestion;
+    }
+
+    /**
+     * Keys whose cost grew by more than the tolerance compared with the baseline report
+     */
+    @SuppressWarnings("unchecked")
+    private static List<String> compareWithBaseline(Map<String, Object> report, Path baseline, double tolerance) throws IOException {
+        List<String> regressions = new ArrayList<>();
+        if (!Files.exists(baseline)) {
+            System.out.println("No baseline at " + baseline.toAbsolutePath() + "; run with -Dbenchmark.updateBaseline=true to create one");
+            return regressions;
+        }
+
+        Map<String, Object> previous = JSON.toType(Files.readString(baseline), Map.class);
+        Map<String, Double> previousCost = new LinkedHashMap<>();
+        for (Map<String, Object> result : (List<Map<String, Object>>) previous.get("locators")) {
+            previousCost.put((String) result.get("key"), ((Number) result.get("costMicros")).doubleValue());
+        }
+
+        for (Map<String, Object> result : (List<Map<String, Object>>) report.get("locators")) {
+            String key = (String) result.get("key");
+            double now = ((Number) result.get("costMicros")).doubleValue();
+            Double before = previousCost.get(key);
+            if (before == null) {
+                System.out.println("New locator " + key + ": " + now + " us");
+            } else if (now > before * (1 + tolerance) && now - before > MIN_REGRESSION_MICROS) {
+                regressions.add(key + ": " + before + " us -> " + now + " us (" + result.get("value") + ")");
+            }
+        }
+        return regressions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> fixturesOf(Map<String, Object> result) {
+        return (Map<String, Object>) result.get("fixtures");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double cost(Map<String, Object> result) {
+        List<Map<String, Object>> measured = fixturesOf(result).values().stream()
+            .map(m -> (Map<String, Object>) m)
+            .collect(Collectors.toList());
+        boolean matchedAnywhere = measured.stream().anyMatch(m -> Boolean.TRUE.equals(m.get("matched")));
+        return measured.stream()
+            .filter(m -> !matchedAnywhere || Boolean.TRUE.equals(m.get("matched")))
+            .mapToDouble(m -> ((Number) m.get("meanMicros")).doubleValue())
+            .max()
+            .orElse(0);
+    }
+
+    private static void printSummary(Iterable<Map<String, Object>> results) {
+        List<Map<String, Object>> sorted = new ArrayList<>();
+        results.forEach(sorted::add);
+        sorted.sort(Comparator.comparingDouble((Map<String, Object> r) -> ((Number) r.get("costMicros")).doubleValue()).reversed());
+
+        System.out.println(String.format("%-45s %12s  %s", "Locator", "Cost (us)", "Suggestion"));
+        for (Map<String, Object> result : sorted) {
+            Object suggestion = result.get("suggestion");
+            System.out.println(String.format("%-45s %12.2f  %s", result.get("key"), ((Number) result.get("costMicros")).doubleValue(),
+                suggestion == null ? "" : ((Map<?, ?>) suggestion).get("css") + " (x" + ((Map<?, ?>) suggestion).get("speedup") + ")"));
+        }
+    }
+
+    private static List<Path> listFixtures(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> fixtures = files.filter(f -> f.toString().endsWith(".html")).sorted().collect(Collectors.toList());
+            if (fixtures.isEmpty()) {
+                throw new IllegalStateException("No .html fixtures in " + dir.toAbsolutePath());
+            }
+            return fixtures;
+        }
+    }
+
+    private static WebDriver launchBrowser() {
+        // The main project's ConfigReader needs its config.properties, so the binary is resolved directly here
+        if (System.getProperty("webdriver.chrome.driver") == null) {
+            WebDriverManager.chromedriver().setup();
+        }
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--window-size=1920,1080");
+        options.addArguments("--allow-file-access-from-files");
+        WebDriver driver = new ChromeDriver(options);
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(60));
+        return driver;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
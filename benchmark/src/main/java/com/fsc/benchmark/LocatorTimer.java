@@ -0,0 +1,160 @@
+package com.fsc.benchmark;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Times locator lookups inside the page, where the cost of the DOM query is not hidden by the
+ * WebDriver round-trip, and proposes CSS selectors that find the same element
+ */
+public class LocatorTimer {
+    // Runs the lookup batch times per sample; performance.now() is too coarse for a single lookup
+    private static final String SAMPLE_SCRIPT =
+        "var using = arguments[0], value = arguments[1], warmup = arguments[2], samples = arguments[3], batch = arguments[4];" +
+        "function lookup() {" +
+        "  if (using === 'xpath') {" +
+        "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+        "  }" +
+        "  return document.querySelector(value);" +
+        "}" +
+        "var matched = lookup() !== null, micros = [];" +
+        "for (var s = 0; s < warmup + samples; s++) {" +
+        "  var t0 = performance.now();" +
+        "  for (var i = 0; i < batch; i++) { lookup(); }" +
+        "  if (s >= warmup) { micros.push((performance.now() - t0) * 1000 / batch); }" +
+        "}" +
+        "return { matched: matched, micros: micros };";
+
+    // CSS selectors that select exactly the element the locator finds, simplest first
+    private static final String CANDIDATES_SCRIPT =
+        "var using = arguments[0], value = arguments[1];" +
+        "var el = using === 'xpath'" +
+        "  ? document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue" +
+        "  : document.querySelector(value);" +
+        "if (!el || el.nodeType !== 1) { return []; }" +
+        // Generated ids (e.g. 123:0;a) change between page loads and make poor locators
+        "function stable(v) { return v && !/[:;]|\\d{3,}/.test(v); }" +
+        "function quote(v) { return '\"' + v.replace(/\\\\/g, '\\\\\\\\').replace(/\"/g, '\\\\\"') + '\"'; }" +
+        "function own(node) {" +
+        "  var tag = node.tagName.toLowerCase(), out = [];" +
+        "  if (stable(node.id)) { out.push('#' + CSS.escape(node.id)); }" +
+        "  ['name', 'title', 'data-label', 'data-target-selection-name', 'placeholder', 'aria-label', 'data-value', 'for']" +
+        "    .forEach(function (a) {" +
+        "      var v = node.getAttribute(a);" +
+        "      if (a === 'for' ? stable(v) : v) { out.push(tag + '[' + a + '=' + quote(v) + ']'); }" +
+        "    });" +
+        "  if (node.classList.length) {" +
+        "    out.push(tag + '.' + Array.prototype.map.call(node.classList, function (c) { return CSS.escape(c); }).join('.'));" +
+        "  }" +
+        "  return out;" +
+        "}" +
+        "var candidates = own(el), self = own(el).filter(function (c) { return c.charAt(0) !== '#'; });" +
+        "if (!self.length) { self = [el.tagName.toLowerCase()]; }" +
+        // Anchor on a nearby ancestor with a distinctive attribute
+        "for (var anc = el.parentElement, depth = 0; anc && anc !== document.body && depth < 5; anc = anc.parentElement, depth++) {" +
+        "  own(anc).forEach(function (a) { self.forEach(function (s) { candidates.push(a + ' ' + s); }); });" +
+        "}" +
+        "var seen = {};" +
+        "return candidates.filter(function (c) {" +
+        "  if (seen[c]) { return false; }" +
+        "  seen[c] = true;" +
+        "  try { return document.querySelector(c) === el; } catch (e) { return false; }" +
+        "}).slice(0, 12);";
+
+    private final JavascriptExecutor js;
+    private final WebDriver driver;
+    private final int warmup;
+    private final int iterations;
+    private final int batch;
+
+    public LocatorTimer(WebDriver driver, int warmup, int iterations, int batch) {
+        this.driver = driver;
+        this.js = (JavascriptExecutor) driver;
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.batch = batch;
+    }
+
+    /**
+     * Lookup cost statistics for one locator on the current page
+     */
+    public static class Timing {
+        private final boolean matched;
+        private final double mean;
+        private final double p50;
+        private final double p95;
+
+        Timing(boolean matched, double[] samples) {
+            this.matched = matched;
+            double[] sorted = samples.clone();
+            Arrays.sort(sorted);
+            this.mean = Arrays.stream(sorted).average().orElse(0);
+            this.p50 = percentile(sorted, 0.50);
+            this.p95 = percentile(sorted, 0.95);
+        }
+
+        public boolean isMatched() {
+            return matched;
+        }
+
+        public double getMeanMicros() {
+            return mean;
+        }
+
+        public double getP50Micros() {
+            return p50;
+        }
+
+        public double getP95Micros() {
+            return p95;
+        }
+
+        private static double percentile(double[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+        }
+    }
+
+    /**
+     * Warm up, then sample the in-page lookup cost in microseconds
+     */
+    @SuppressWarnings("unchecked")
+    public Timing measure(String using, String value) {
+        Map<String, Object> result = (Map<String, Object>) js.executeScript(SAMPLE_SCRIPT, using, value, warmup, iterations, batch);
+        List<Object> micros = (List<Object>) result.get("micros");
+        double[] samples = micros.stream().mapToDouble(m -> ((Number) m).doubleValue()).toArray();
+        return new Timing(Boolean.TRUE.equals(result.get("matched")), samples);
+    }
+
+    /**
+     * Median wall-clock time of findElements through WebDriver, including the round-trip
+     */
+    public double measureRoundTripMillis(By by) {
+        double[] samples = new double[iterations];
+        for (int i = 0; i < warmup + iterations; i++) {
+            long start = System.nanoTime();
+            driver.findElements(by);
+            if (i >= warmup) {
+                samples[i - warmup] = (System.nanoTime() - start) / 1_000_000.0;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[samples.length / 2];
+    }
+
+    /**
+     * CSS selectors that resolve to the same element as the locator on the current page
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> candidates(String using, String value) {
+        return new ArrayList<>((List<String>) js.executeScript(CANDIDATES_SCRIPT, using, value));
+    }
+}
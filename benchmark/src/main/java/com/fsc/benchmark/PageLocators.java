@@ -0,0 +1,168 @@
+package com.fsc.benchmark;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+/**
+ * Finds every By declared in the page-object package
+ * Instance fields are read from a page created with the benchmark's driver, so the locators are exactly
+ * the ones the tests use
+ */
+public class PageLocators {
+
+    /**
+     * One declared locator
+     */
+    public static class PageLocator {
+        private final String page;
+        private final String field;
+        private final By by;
+        private final String using;
+        private final String value;
+
+        PageLocator(String page, String field, By by, String using, String value) {
+            this.page = page;
+            this.field = field;
+            this.by = by;
+            this.using = using;
+            this.value = value;
+        }
+
+        /**
+         * Stable key used in the JSON report and the baseline, e.g. SalesAppAccountPage.newButton
+         */
+        public String getKey() {
+            return page + "." + field;
+        }
+
+        public String getPage() {
+            return page;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        public By getBy() {
+            return by;
+        }
+
+        /**
+         * "xpath" or "css selector"
+         */
+        public String getUsing() {
+            return using;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Collect the locators of every class in the package
+     * Classes that cannot be created with a driver are reported and skipped
+     */
+    public static List<PageLocator> discover(String packageName, WebDriver driver) {
+        List<PageLocator> locators = new ArrayList<>();
+        for (String className : findClasses(packageName)) {
+            try {
+                Class<?> pageClass = Class.forName(className);
+                Object page = null;
+                for (Field field : pageClass.getDeclaredFields()) {
+                    if (!By.class.isAssignableFrom(field.getType())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    boolean isStatic = Modifier.isStatic(field.getModifiers());
+                    if (!isStatic && page == null) {
+                        page = instantiate(pageClass, driver);
+                    }
+                    By by = (By) field.get(isStatic ? null : page);
+                    if (by != null) {
+                        locators.add(describe(pageClass.getSimpleName(), field.getName(), by));
+                    }
+                }
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                System.out.println("Skipping " + className + ": " + e.getMessage());
+            }
+        }
+        return locators;
+    }
+
+    private static PageLocator describe(String page, String field, By by) {
+        if (!(by instanceof By.Remotable)) {
+            throw new IllegalArgumentException(page + "." + field + " is not a remotable locator: " + by);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        return new PageLocator(page, field, by, parameters.using(), String.valueOf(parameters.value()));
+    }
+
+    /**
+     * Create a page object through its (WebDriver) or (WebDriver, String objectApiName) constructor
+     */
+    private static Object instantiate(Class<?> pageClass, WebDriver driver) throws ReflectiveOperationException {
+        for (Constructor<?> constructor : pageClass.getConstructors()) {
+            Class<?>[] types = constructor.getParameterTypes();
+            if (types.length == 1 && types[0] == WebDriver.class) {
+                return constructor.newInstance(driver);
+            }
+            if (types.length == 2 && types[0] == WebDriver.class && types[1] == String.class) {
+                return constructor.newInstance(driver, "Account");
+            }
+        }
+        throw new NoSuchMethodException("no constructor taking a WebDriver");
+    }
+
+    /**
+     * Class names in the package, from a directory or a jar on the classpath
+     */
+    private static TreeSet<String> findClasses(String packageName) {
+        String path = packageName.replace('.', '/');
+        TreeSet<String> classNames = new TreeSet<>();
+        try {
+            Enumeration<URL> resources = Thread.currentThread().getContextClassLoader().getResources(path);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                if ("jar".equals(resource.getProtocol())) {
+                    JarFile jar = ((JarURLConnection) resource.openConnection()).getJarFile();
+                    for (Enumeration<JarEntry> entries = jar.entries(); entries.hasMoreElements(); ) {
+                        String name = entries.nextElement().getName();
+                        if (name.startsWith(path + "/") && isTopLevelClass(name.substring(path.length() + 1))) {
+                            classNames.add(name.replace('/', '.').replace(".class", ""));
+                        }
+                    }
+                } else {
+                    File[] files = new File(resource.toURI()).listFiles();
+                    for (File file : files == null ? new File[0] : files) {
+                        if (isTopLevelClass(file.getName())) {
+                            classNames.add(packageName + "." + file.getName().replace(".class", ""));
+                        }
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException e) {
+            throw new RuntimeException("Failed to list classes in " + packageName + ": " + e.getMessage(), e);
+        }
+        return classNames;
+    }
+
+    private static boolean isTopLevelClass(String name) {
+        return name.endsWith(".class") && !name.contains("/") && !name.contains("$");
+    }
+}
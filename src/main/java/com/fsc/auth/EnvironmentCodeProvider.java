@@ -0,0 +1,31 @@
+package com.fsc.auth;
+
+import org.openqa.selenium.TimeoutException;
+
+import java.time.Duration;
+
+/**
+ * Reads the code from a system property or environment variable of the same name
+ * Fails immediately when neither is set, since neither can change during the run
+ */
+public class EnvironmentCodeProvider implements VerificationCodeProvider {
+    private final String name;
+
+    public EnvironmentCodeProvider(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String awaitCode(Duration timeout) {
+        String code = System.getProperty(name, System.getenv(name));
+        if (code == null || code.isBlank()) {
+            throw new TimeoutException("No verification code found in system property or environment variable " + name);
+        }
+        return code.trim();
+    }
+
+    @Override
+    public String describe() {
+        return "environment variable " + name;
+    }
+}
@@ -0,0 +1,79 @@
+package com.fsc.auth;
+
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a local file for the code, e.g. written by a mail hook or by hand with echo
+ * Any file left over from an earlier login is deleted first, and the file is deleted once read
+ */
+public class FileCodeProvider implements VerificationCodeProvider {
+    // Upper bound between checks, since some platforms implement WatchService by slow polling
+    private static final long MAX_POLL_MILLIS = 250;
+
+    private final Path file;
+
+    public FileCodeProvider(Path file) {
+        this.file = file.toAbsolutePath();
+    }
+
+    @Override
+    public String awaitCode(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        Path directory = file.getParent();
+        try {
+            Files.createDirectories(directory);
+            Files.deleteIfExists(file);
+
+            try (WatchService watcher = FileSystems.getDefault().newWatchService()) {
+                directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+                System.out.println("Waiting for verification code in " + file);
+
+                while (true) {
+                    String code = readCode();
+                    if (code != null) {
+                        Files.deleteIfExists(file);
+                        return code;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        throw new TimeoutException("No verification code written to " + file + " within " + timeout.getSeconds() + " seconds");
+                    }
+                    WatchKey key = watcher.poll(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(MAX_POLL_MILLIS)), TimeUnit.NANOSECONDS);
+                    if (key != null) {
+                        key.pollEvents();
+                        key.reset();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to watch verification code file " + file + ": " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for verification code", e);
+        }
+    }
+
+    private String readCode() throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        String content = Files.readString(file).trim();
+        // An empty file means the writer has not finished yet
+        return content.isEmpty() ? null : content;
+    }
+
+    @Override
+    public String describe() {
+        return "file " + file;
+    }
+}
@@ -0,0 +1,22 @@
+package com.fsc.auth;
+
+import java.time.Duration;
+
+/**
+ * A person types the code into the browser; the login continues as soon as the page is gone
+ */
+public class ManualCodeProvider implements VerificationCodeProvider {
+
+    @Override
+    public String awaitCode(Duration timeout) {
+        System.out.println("=== MANUAL ACTION REQUIRED ===");
+        System.out.println("Please enter the verification code from your email");
+        System.out.println("You have " + timeout.getSeconds() + " seconds...");
+        return null;
+    }
+
+    @Override
+    public String describe() {
+        return "manual entry";
+    }
+}
@@ -0,0 +1,110 @@
+package com.fsc.auth;
+
+import com.fsc.utils.ConfigReader;
+import com.fsc.utils.TestMetrics;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Logs in through the UI once per suite and reuses the captured session for every other test
+ * An expired or rejected snapshot triggers a transparent re-login
+ */
+public class SessionManager {
+    private static SessionManager instance;
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Predicate<String> authenticatedUrl;
+    private final Object loginLock = new Object();
+    private volatile SessionSnapshot snapshot;
+    private volatile int uiLoginCount;
+
+    public SessionManager(boolean enabled, Duration ttl, Predicate<String> authenticatedUrl) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.authenticatedUrl = authenticatedUrl;
+    }
+
+    /**
+     * Shared manager configured from config.properties
+     * A page counts as logged in once its URL contains "lightning" or "home"
+     * The query string is ignored because the login redirect carries the landing page in startURL
+     */
+    public static synchronized SessionManager getInstance() {
+        if (instance == null) {
+            instance = new SessionManager(
+                ConfigReader.isSessionReuseEnabled(),
+                Duration.ofMinutes(ConfigReader.getSessionSnapshotTtlMinutes()),
+                url -> {
+                    String page = url.split("[?#]")[0];
+                    return page.contains("lightning") || page.contains("home");
+                });
+        }
+        return instance;
+    }
+
+    /**
+     * Make sure the browser is logged in
+     * Restores the suite snapshot when possible, otherwise runs the UI login flow and captures a new one
+     */
+    public void login(WebDriver driver, Consumer<WebDriver> uiLogin) {
+        if (!enabled) {
+            uiLogin.accept(driver);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        SessionSnapshot current = snapshot;
+        if (tryRestore(driver, current)) {
+            TestMetrics.recordMillis("Session restored from snapshot", System.currentTimeMillis() - start);
+            return;
+        }
+
+        // Only one thread logs in; the others wait and reuse its snapshot
+        synchronized (loginLock) {
+            SessionSnapshot refreshed = snapshot;
+            if (refreshed != current && tryRestore(driver, refreshed)) {
+                TestMetrics.recordMillis("Session restored from snapshot", System.currentTimeMillis() - start);
+                return;
+            }
+            if (current != null) {
+                System.out.println("Session snapshot expired or rejected, logging in again");
+            }
+            snapshot = null;
+            uiLogin.accept(driver);
+            uiLoginCount++;
+            snapshot = SessionSnapshot.capture(driver);
+            TestMetrics.recordMillis("UI login", System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Drop the current snapshot so the next test logs in through the UI
+     */
+    public void invalidate() {
+        snapshot = null;
+    }
+
+    public int getUiLoginCount() {
+        return uiLoginCount;
+    }
+
+    private boolean tryRestore(WebDriver driver, SessionSnapshot candidate) {
+        if (candidate == null || candidate.isExpired(ttl)) {
+            return false;
+        }
+        try {
+            // restore() waits for the landing page to load, so any server redirect has already happened
+            // An invalid session ends up away from the landing page, usually back on the login form
+            candidate.restore(driver);
+            return authenticatedUrl.test(driver.getCurrentUrl());
+        } catch (WebDriverException e) {
+            System.out.println("Could not restore session snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.fsc.auth;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Authenticated browser state captured after one real login
+ * Holds cookies for every domain plus local/session storage of the landing page origin
+ */
+public class SessionSnapshot {
+    // CDP CookieParam fields that can be passed back to Network.setCookies
+    private static final Set<String> COOKIE_PARAM_KEYS =
+        Set.of("name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "expires");
+
+    private static final Json JSON = new Json();
+
+    private static final String READ_STORAGE_SCRIPT =
+        "function dump(s) { var o = {}; for (var i = 0; i < s.length; i++) { var k = s.key(i); o[k] = s.getItem(k); } return o; }" +
+        "return { origin: window.location.origin, local: dump(window.localStorage), session: dump(window.sessionStorage) };";
+
+    // Expects a variable named data holding { local: {...}, session: {...} }
+    private static final String WRITE_STORAGE_BODY =
+        "Object.keys(data.local).forEach(function (k) { window.localStorage.setItem(k, data.local[k]); });" +
+        "Object.keys(data.session).forEach(function (k) { window.sessionStorage.setItem(k, data.session[k]); });";
+
+    private final String landingUrl;
+    private final String origin;
+    private final List<Map<String, Object>> cookies;
+    private final Map<String, String> localStorage;
+    private final Map<String, String> sessionStorage;
+    private final Instant capturedAt;
+
+    private SessionSnapshot(String landingUrl, String origin, List<Map<String, Object>> cookies,
+                            Map<String, String> localStorage, Map<String, String> sessionStorage) {
+        this.landingUrl = landingUrl;
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+        this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+        this.capturedAt = Instant.now();
+    }
+
+    /**
+     * Capture the state of a browser that has just logged in
+     */
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot capture(WebDriver driver) {
+        String landingUrl = driver.getCurrentUrl();
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        if (driver instanceof HasCdp) {
+            // Covers every domain Salesforce set cookies on, including HttpOnly ones
+            Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Network.getAllCookies", Map.of());
+            for (Map<String, Object> cookie : (List<Map<String, Object>>) result.getOrDefault("cookies", List.of())) {
+                Map<String, Object> param = new HashMap<>();
+                for (String key : COOKIE_PARAM_KEYS) {
+                    if (cookie.containsKey(key)) {
+                        param.put(key, cookie.get(key));
+                    }
+                }
+                // Session cookies report expires=-1, which setCookies rejects
+                if (Boolean.TRUE.equals(cookie.get("session"))) {
+                    param.remove("expires");
+                }
+                cookies.add(param);
+            }
+        } else {
+            for (Cookie cookie : driver.manage().getCookies()) {
+                Map<String, Object> param = new HashMap<>();
+                param.put("name", cookie.getName());
+                param.put("value", cookie.getValue());
+                param.put("domain", cookie.getDomain());
+                param.put("path", cookie.getPath());
+                param.put("secure", cookie.isSecure());
+                param.put("httpOnly", cookie.isHttpOnly());
+                if (cookie.getExpiry() != null) {
+                    param.put("expires", cookie.getExpiry().getTime() / 1000);
+                }
+                cookies.add(param);
+            }
+        }
+
+        return new SessionSnapshot(landingUrl, String.valueOf(storage.get("origin")), cookies,
+            toStringMap(storage.get("local")), toStringMap(storage.get("session")));
+    }
+
+    /**
+     * Inject the captured state into another browser and open the landing page
+     */
+    public void restore(WebDriver driver) {
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", cookies));
+
+            // Seed storage before any page script of the landing origin runs, so only one navigation is needed
+            Map<String, Object> added = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", buildStorageSeedScript()));
+            try {
+                driver.get(landingUrl);
+            } finally {
+                cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+                    Map.of("identifier", added.get("identifier")));
+            }
+        } else {
+            // Without CDP cookies can only be added for the origin that is currently open
+            driver.get(origin);
+            String host = URI.create(origin).getHost();
+            for (Map<String, Object> cookie : cookies) {
+                String domain = String.valueOf(cookie.get("domain"));
+                if (host.endsWith(domain.startsWith(".") ? domain.substring(1) : domain)) {
+                    driver.manage().addCookie(new Cookie.Builder((String) cookie.get("name"), (String) cookie.get("value"))
+                        .domain(domain)
+                        .path((String) cookie.get("path"))
+                        .isSecure(Boolean.TRUE.equals(cookie.get("secure")))
+                        .isHttpOnly(Boolean.TRUE.equals(cookie.get("httpOnly")))
+                        .build());
+                }
+            }
+            Map<String, Object> data = new HashMap<>();
+            data.put("local", localStorage);
+            data.put("session", sessionStorage);
+            ((JavascriptExecutor) driver).executeScript("var data = arguments[0];" + WRITE_STORAGE_BODY, data);
+            driver.get(landingUrl);
+        }
+    }
+
+    /**
+     * Check the snapshot age against the configured time to live
+     */
+    public boolean isExpired(Duration ttl) {
+        return Instant.now().isAfter(capturedAt.plus(ttl));
+    }
+
+    public String getLandingUrl() {
+        return landingUrl;
+    }
+
+    public Instant getCapturedAt() {
+        return capturedAt;
+    }
+
+    public int getCookieCount() {
+        return cookies.size();
+    }
+
+    private String buildStorageSeedScript() {
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("local", localStorage);
+        data.put("session", sessionStorage);
+        return "(function () {" +
+            "if (window.location.origin !== " + JSON.toJson(origin) + ") { return; }" +
+            "var data = " + JSON.toJson(data) + ";" +
+            WRITE_STORAGE_BODY +
+            "})();";
+    }
+
+    private static Map<String, String> toStringMap(Object value) {
+        Map<String, String> map = new LinkedHashMap<>();
+        if (value instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+            }
+        }
+        return map;
+    }
+}
@@ -0,0 +1,64 @@
+package com.fsc.auth;
+
+import org.openqa.selenium.TimeoutException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens on a loopback port for one line containing the code
+ * Example: echo 123456 | nc localhost 5899
+ */
+public class SocketCodeProvider implements VerificationCodeProvider {
+    private static final int CLIENT_READ_TIMEOUT_MILLIS = 5000;
+
+    private final int port;
+
+    public SocketCodeProvider(int port) {
+        this.port = port;
+    }
+
+    @Override
+    public String awaitCode(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try (ServerSocket server = new ServerSocket(port, 1, InetAddress.getLoopbackAddress())) {
+            System.out.println("Waiting for verification code on localhost:" + server.getLocalPort());
+
+            while (true) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    throw new TimeoutException("No verification code received on port " + port + " within " + timeout.getSeconds() + " seconds");
+                }
+                server.setSoTimeout((int) Math.min(Integer.MAX_VALUE, remainingMillis));
+
+                try (Socket client = server.accept()) {
+                    client.setSoTimeout(CLIENT_READ_TIMEOUT_MILLIS);
+                    BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+                    String line = reader.readLine();
+                    if (line != null && !line.isBlank()) {
+                        new PrintWriter(client.getOutputStream(), true, StandardCharsets.UTF_8).println("OK");
+                        return line.trim();
+                    }
+                } catch (SocketTimeoutException e) {
+                    // Nobody connected yet, or a client connected without sending a code; check the deadline again
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to listen for verification code on port " + port + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public String describe() {
+        return "socket localhost:" + port;
+    }
+}
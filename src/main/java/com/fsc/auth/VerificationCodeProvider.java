@@ -0,0 +1,22 @@
+package com.fsc.auth;
+
+import java.time.Duration;
+
+/**
+ * Source of the verification code Salesforce asks for after the password step
+ */
+public interface VerificationCodeProvider {
+
+    /**
+     * Wait for a code to become available
+     * @param timeout How long to wait before giving up
+     * @return The code, or null if a person enters it directly in the browser
+     * @throws org.openqa.selenium.TimeoutException if no code arrived in time
+     */
+    String awaitCode(Duration timeout);
+
+    /**
+     * Short description used in logs and the report
+     */
+    String describe();
+}
@@ -0,0 +1,221 @@
+package com.fsc.data;
+
+import com.fsc.utils.ConfigReader;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Creates the Accounts a test needs through the API and deletes them again afterwards
+ * Records are sent in sObject collection batches of api.batch.size, with up to api.concurrency batches in flight,
+ * so seeding hundreds of records takes a few requests instead of a UI form per record.
+ *
+ * Every record created (or adopted) here is deleted by deleteAll() / close(), even when part of a batch failed.
+ * Names made with uniqueName() carry a per-run tag, so parallel runs against one org never see each other's data.
+ */
+public class AccountFixtures implements AutoCloseable {
+    private static final String ACCOUNT = "Account";
+
+    private final SalesforceApiClient client;
+    private final int batchSize;
+    private final int concurrency;
+    private final String runTag;
+    private final List<String> createdIds = Collections.synchronizedList(new ArrayList<>());
+
+    public AccountFixtures(SalesforceApiClient client, int batchSize, int concurrency) {
+        this.client = client;
+        this.batchSize = Math.min(batchSize, SalesforceApiClient.MAX_COLLECTION_SIZE);
+        this.concurrency = concurrency;
+        this.runTag = LocalDateTime.now().format(DateTimeFormatter.ofPattern("MMddHHmmss"))
+            + "-" + Long.toString(ProcessHandle.current().pid(), 36);
+    }
+
+    /**
+     * Fixtures for the org in config.properties; see SalesforceApiClient.isConfigured()
+     */
+    public static AccountFixtures fromConfig() {
+        return new AccountFixtures(SalesforceApiClient.fromConfig(), ConfigReader.getApiBatchSize(), ConfigReader.getApiConcurrency());
+    }
+
+    /**
+     * Name that is unique to this run, e.g. "Berardo 1016143512-2s7"
+     */
+    public String uniqueName(String base) {
+        return base + " " + runTag;
+    }
+
+    /**
+     * Create one Account with just a name
+     * @return its record id
+     */
+    public String createAccount(String name) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("Name", name);
+        return createAccounts(List.of(fields)).get(0);
+    }
+
+    /**
+     * Create count Accounts named "&lt;prefix&gt; 1" to "&lt;prefix&gt; &lt;count&gt;"
+     */
+    public List<String> createAccounts(String namePrefix, int count) {
+        List<Map<String, Object>> accounts = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("Name", namePrefix + " " + i);
+            accounts.add(fields);
+        }
+        return createAccounts(accounts);
+    }
+
+    /**
+     * Create Accounts from field API name to value maps
+     * @return record ids in the order of the maps
+     * @throws RuntimeException listing the records that failed; the ones that succeeded are still deleted by deleteAll()
+     */
+    public List<String> createAccounts(List<Map<String, Object>> accounts) {
+        long start = System.currentTimeMillis();
+        List<List<SalesforceApiClient.SaveResult>> batches = inBatches(accounts, batch -> {
+            List<SalesforceApiClient.SaveResult> results = client.create(ACCOUNT, batch);
+            // Tracked per batch, so a later batch failing does not leave these records behind
+            results.stream().filter(SalesforceApiClient.SaveResult::isSuccess).forEach(result -> createdIds.add(result.getId()));
+            return results;
+        });
+
+        List<String> ids = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        int index = 0;
+        for (List<SalesforceApiClient.SaveResult> batch : batches) {
+            for (SalesforceApiClient.SaveResult result : batch) {
+                if (result.isSuccess()) {
+                    ids.add(result.getId());
+                } else {
+                    failures.add("record " + index + " (" + accounts.get(index).get("Name") + "): " + result.getError());
+                }
+                index++;
+            }
+        }
+        System.out.println("Created " + ids.size() + " of " + accounts.size() + " Accounts in " + batches.size()
+            + " requests (" + (System.currentTimeMillis() - start) + " ms)");
+        if (!failures.isEmpty()) {
+            throw new RuntimeException(failures.size() + " of " + accounts.size() + " Accounts could not be created: "
+                + String.join("; ", failures.subList(0, Math.min(5, failures.size())))
+                + (failures.size() > 5 ? "; ..." : ""));
+        }
+        return ids;
+    }
+
+    /**
+     * Take over cleanup of Accounts created some other way, e.g. through the UI by SalesAppAccountPage.createAccount()
+     * @return number of Accounts found with that exact name
+     */
+    public int adoptByName(String name) {
+        List<String> ids = client.queryIds("SELECT Id FROM Account WHERE Name = '" + escape(name) + "'");
+        createdIds.addAll(ids);
+        return ids.size();
+    }
+
+    /**
+     * Ids of every Account this instance will delete
+     */
+    public List<String> getCreatedIds() {
+        synchronized (createdIds) {
+            return new ArrayList<>(createdIds);
+        }
+    }
+
+    /**
+     * Delete everything created or adopted so far, in batches
+     * Failures are logged rather than thrown, so teardown never hides the test's own result
+     * @return number of records deleted
+     */
+    public int deleteAll() {
+        List<String> ids;
+        synchronized (createdIds) {
+            ids = new ArrayList<>(createdIds);
+            createdIds.clear();
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        int deleted = 0;
+        try {
+            for (List<SalesforceApiClient.SaveResult> batch : inBatches(ids, client::delete)) {
+                for (SalesforceApiClient.SaveResult result : batch) {
+                    if (result.isSuccess()) {
+                        deleted++;
+                    } else {
+                        System.out.println("Could not delete Account " + result.getId() + ": " + result.getError());
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            System.out.println("Account cleanup failed: " + e.getMessage());
+        }
+        System.out.println("Deleted " + deleted + " of " + ids.size() + " Accounts (" + (System.currentTimeMillis() - start) + " ms)");
+        return deleted;
+    }
+
+    @Override
+    public void close() {
+        deleteAll();
+    }
+
+    /**
+     * Run one request per batch, at most concurrency at a time, and return the results in batch order
+     * Every batch is waited for before a failure is rethrown, so no request is cut off halfway
+     */
+    private <T, R> List<R> inBatches(List<T> items, Function<List<T>, R> request) {
+        List<List<T>> batches = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += batchSize) {
+            batches.add(new ArrayList<>(items.subList(i, Math.min(i + batchSize, items.size()))));
+        }
+        if (batches.size() <= 1 || concurrency == 1) {
+            List<R> results = new ArrayList<>();
+            batches.forEach(batch -> results.add(request.apply(batch)));
+            return results;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(concurrency, batches.size()));
+        try {
+            List<Future<R>> futures = new ArrayList<>();
+            batches.forEach(batch -> futures.add(executor.submit(() -> request.apply(batch))));
+            List<R> results = new ArrayList<>();
+            RuntimeException failure = null;
+            for (Future<R> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e.getCause() instanceof RuntimeException
+                            ? (RuntimeException) e.getCause()
+                            : new RuntimeException("Salesforce API batch failed: " + e.getCause().getMessage(), e.getCause());
+                    }
+                }
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for Salesforce API batches", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("'", "\\'");
+    }
+}
@@ -0,0 +1,248 @@
+package com.fsc.data;
+
+import com.fsc.utils.ConfigReader;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Minimal Salesforce REST client for test data: sObject collections (up to 200 records per request) and SOQL
+ * Authenticates with the OAuth username-password flow using the connected app in api.client.id / api.client.secret
+ * and the same user as the UI tests. An expired token is renewed once per request.
+ */
+public class SalesforceApiClient {
+    // Records per sObject collection request allowed by Salesforce
+    public static final int MAX_COLLECTION_SIZE = 200;
+
+    private static final Json JSON = new Json();
+
+    private final HttpClient http;
+    private final String loginUrl;
+    private final String clientId;
+    private final String clientSecret;
+    private final String username;
+    private final String password;
+    private final String version;
+    private final Duration timeout;
+    private volatile String accessToken;
+    private volatile String instanceUrl;
+
+    public SalesforceApiClient(String loginUrl, String clientId, String clientSecret, String username, String password,
+                               String version, Duration timeout) {
+        this.loginUrl = stripTrailingSlash(loginUrl);
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.username = username;
+        this.password = password;
+        this.version = version;
+        this.timeout = timeout;
+        this.http = HttpClient.newBuilder().connectTimeout(timeout).build();
+    }
+
+    /**
+     * Client for the org and user in config.properties
+     * The password has api.security.token appended when one is set (needed outside trusted IP ranges)
+     */
+    public static SalesforceApiClient fromConfig() {
+        if (!isConfigured()) {
+            throw new IllegalStateException("Salesforce API access is not configured: set api.client.id, api.client.secret, "
+                + "salesforce.username and salesforce.password");
+        }
+        String loginUrl = ConfigReader.getApiLoginUrl() != null ? ConfigReader.getApiLoginUrl() : ConfigReader.getSalesforceUrl();
+        String token = ConfigReader.getApiSecurityToken();
+        return new SalesforceApiClient(loginUrl, ConfigReader.getApiClientId(), ConfigReader.getApiClientSecret(),
+            ConfigReader.getUsername(), ConfigReader.getPassword() + (token == null ? "" : token),
+            ConfigReader.getApiVersion(), Duration.ofSeconds(ConfigReader.getApiTimeout()));
+    }
+
+    public static boolean isConfigured() {
+        return ConfigReader.getApiClientId() != null && ConfigReader.getApiClientSecret() != null
+            && ConfigReader.getUsername() != null && ConfigReader.getPassword() != null
+            && (ConfigReader.getApiLoginUrl() != null || ConfigReader.getSalesforceUrl() != null);
+    }
+
+    /**
+     * Insert up to 200 records of one type in a single request
+     * Records are saved independently (allOrNone=false); results are in the order of the records
+     */
+    public List<SaveResult> create(String sObjectType, List<Map<String, Object>> records) {
+        checkCollectionSize(records.size());
+        List<Map<String, Object>> body = new ArrayList<>();
+        for (Map<String, Object> record : records) {
+            Map<String, Object> withType = new LinkedHashMap<>();
+            withType.put("attributes", Map.of("type", sObjectType));
+            withType.putAll(record);
+            body.add(withType);
+        }
+        String json = JSON.toJson(Map.of("allOrNone", false, "records", body));
+        return toSaveResults(send("POST", dataPath("/composite/sobjects"), json));
+    }
+
+    /**
+     * Delete up to 200 records of any type in a single request
+     */
+    public List<SaveResult> delete(List<String> ids) {
+        checkCollectionSize(ids.size());
+        return toSaveResults(send("DELETE", dataPath("/composite/sobjects?allOrNone=false&ids=" + String.join(",", ids)), null));
+    }
+
+    /**
+     * Ids of every record a SOQL query returns, following nextRecordsUrl across result pages
+     */
+    public List<String> queryIds(String soql) {
+        List<String> ids = new ArrayList<>();
+        String path = dataPath("/query?q=" + URLEncoder.encode(soql, StandardCharsets.UTF_8));
+        while (path != null) {
+            Map<String, Object> page = asMap(send("GET", path, null));
+            for (Object record : (List<?>) page.getOrDefault("records", List.of())) {
+                ids.add(String.valueOf(asMap(record).get("Id")));
+            }
+            path = Boolean.TRUE.equals(page.get("done")) ? null : (String) page.get("nextRecordsUrl");
+        }
+        return ids;
+    }
+
+    /**
+     * Outcome of saving or deleting one record
+     */
+    public static class SaveResult {
+        private final String id;
+        private final boolean success;
+        private final String error;
+
+        SaveResult(String id, boolean success, String error) {
+            this.id = id;
+            this.success = success;
+            this.error = error;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * e.g. "REQUIRED_FIELD_MISSING: Required fields are missing: [Name]", or null on success
+         */
+        public String getError() {
+            return error;
+        }
+    }
+
+    private Object send(String method, String path, String json) {
+        String token = accessToken != null ? accessToken : authenticate(null);
+        HttpResponse<String> response = execute(method, path, json, token);
+        if (response.statusCode() == 401) {
+            response = execute(method, path, json, authenticate(token));
+        }
+        if (response.statusCode() >= 300) {
+            throw new RuntimeException(method + " " + path + " failed with HTTP " + response.statusCode() + ": " + response.body());
+        }
+        return response.body().isEmpty() ? null : JSON.toType(response.body(), Json.OBJECT_TYPE);
+    }
+
+    private HttpResponse<String> execute(String method, String path, String json, String token) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(instanceUrl + path))
+            .timeout(timeout)
+            .header("Authorization", "Bearer " + token)
+            .header("Accept", "application/json");
+        if (json != null) {
+            request.header("Content-Type", "application/json").method(method, HttpRequest.BodyPublishers.ofString(json));
+        } else {
+            request.method(method, HttpRequest.BodyPublishers.noBody());
+        }
+        return call(request.build());
+    }
+
+    /**
+     * Get a new access token, unless another thread already replaced the rejected one
+     */
+    private synchronized String authenticate(String rejectedToken) {
+        if (accessToken != null && !accessToken.equals(rejectedToken)) {
+            return accessToken;
+        }
+        String form = Map.of(
+                "grant_type", "password",
+                "client_id", clientId,
+                "client_secret", clientSecret,
+                "username", username,
+                "password", password)
+            .entrySet().stream()
+            .map(e -> e.getKey() + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+            .collect(Collectors.joining("&"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(loginUrl + "/services/oauth2/token"))
+            .timeout(timeout)
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(form))
+            .build();
+        HttpResponse<String> response = call(request);
+        if (response.statusCode() != 200) {
+            throw new RuntimeException("Salesforce API login as " + username + " failed with HTTP "
+                + response.statusCode() + ": " + response.body());
+        }
+        Map<String, Object> token = JSON.toType(response.body(), Json.MAP_TYPE);
+        instanceUrl = stripTrailingSlash(String.valueOf(token.get("instance_url")));
+        accessToken = String.valueOf(token.get("access_token"));
+        return accessToken;
+    }
+
+    private HttpResponse<String> call(HttpRequest request) {
+        try {
+            return http.send(request, HttpResponse.BodyHandlers.ofString());
+        } catch (IOException e) {
+            throw new RuntimeException(request.method() + " " + request.uri() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted during " + request.method() + " " + request.uri(), e);
+        }
+    }
+
+    private String dataPath(String path) {
+        return "/services/data/v" + version + path;
+    }
+
+    private static List<SaveResult> toSaveResults(Object response) {
+        List<SaveResult> results = new ArrayList<>();
+        for (Object item : (List<?>) response) {
+            Map<String, Object> result = asMap(item);
+            String error = null;
+            List<?> errors = (List<?>) result.getOrDefault("errors", List.of());
+            if (!errors.isEmpty()) {
+                Map<String, Object> first = asMap(errors.get(0));
+                error = first.get("statusCode") + ": " + first.get("message");
+            }
+            results.add(new SaveResult((String) result.get("id"), Boolean.TRUE.equals(result.get("success")), error));
+        }
+        return results;
+    }
+
+    private static void checkCollectionSize(int size) {
+        if (size < 1 || size > MAX_COLLECTION_SIZE) {
+            throw new IllegalArgumentException("A collection request takes 1 to " + MAX_COLLECTION_SIZE + " records, got " + size);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
@@ -0,0 +1,173 @@
+package com.fsc.driver;
+
+import com.fsc.utils.ConfigReader;
+import io.github.bonigarcia.wdm.WebDriverManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+/**
+ * Resolves the ChromeDriver binary once per JVM instead of calling WebDriverManager before every test
+ * Lookup order: pinned path from config, checksum-validated machine cache, then WebDriverManager download
+ */
+public class DriverBinaryResolver {
+    private static final String MANIFEST_FILE = "chromedriver.properties";
+    private static final String LOCK_FILE = ".lock";
+
+    private static Path resolvedPath;
+    private static String resolvedSource;
+    private static long resolutionMillis;
+
+    /**
+     * Resolve ChromeDriver and point webdriver.chrome.driver at it
+     * Only the first call does any work; later calls return the cached result
+     */
+    public static synchronized Path resolveChromeDriver() {
+        if (resolvedPath != null) {
+            return resolvedPath;
+        }
+
+        long start = System.currentTimeMillis();
+        Path pinned = resolvePinned();
+        if (pinned != null) {
+            resolvedPath = pinned;
+            resolvedSource = "pinned path";
+        } else {
+            resolvedPath = resolveThroughCache();
+        }
+        resolutionMillis = System.currentTimeMillis() - start;
+
+        System.setProperty("webdriver.chrome.driver", resolvedPath.toString());
+        System.out.println("ChromeDriver resolved from " + resolvedSource + " in " + resolutionMillis + " ms: " + resolvedPath);
+        return resolvedPath;
+    }
+
+    /**
+     * Forget the cached binary, e.g. after Chrome was updated and no longer matches it
+     * The next resolveChromeDriver() call downloads a matching driver (unless offline)
+     */
+    public static synchronized void invalidate() {
+        resolvedPath = null;
+        try {
+            Files.deleteIfExists(getCacheDir().resolve(MANIFEST_FILE));
+        } catch (IOException e) {
+            System.out.println("Could not delete ChromeDriver cache manifest: " + e.getMessage());
+        }
+    }
+
+    public static synchronized long getResolutionMillis() {
+        return resolutionMillis;
+    }
+
+    /**
+     * Summary for the Extent report, or null if nothing has been resolved yet
+     */
+    public static synchronized String getSummary() {
+        return resolvedPath == null ? null : resolutionMillis + " ms from " + resolvedSource;
+    }
+
+    private static Path resolvePinned() {
+        String pinned = ConfigReader.getChromeDriverPath();
+        if (pinned == null || pinned.isBlank()) {
+            return null;
+        }
+        Path path = Paths.get(pinned);
+        if (!Files.isExecutable(path)) {
+            throw new IllegalStateException("webdriver.chrome.driver.path does not point to an executable file: " + path);
+        }
+        return path;
+    }
+
+    /**
+     * Use the machine-wide cache, downloading into it only when it is missing or corrupt
+     * A file lock keeps several JVMs on the same machine from downloading at the same time
+     */
+    private static Path resolveThroughCache() {
+        Path cacheDir = getCacheDir();
+        try {
+            Files.createDirectories(cacheDir);
+            try (FileChannel channel = FileChannel.open(cacheDir.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Path cached = readManifest(cacheDir);
+                    if (cached != null) {
+                        resolvedSource = "machine cache";
+                        return cached;
+                    }
+
+                    if (ConfigReader.isDriverOffline()) {
+                        throw new IllegalStateException("No valid cached ChromeDriver in " + cacheDir
+                            + " and webdriver.offline is true. Set webdriver.chrome.driver.path or run once online.");
+                    }
+
+                    WebDriverManager manager = WebDriverManager.chromedriver().cachePath(cacheDir.toString());
+                    manager.setup();
+                    Path downloaded = Paths.get(manager.getDownloadedDriverPath());
+                    writeManifest(cacheDir, downloaded);
+                    resolvedSource = "WebDriverManager";
+                    return downloaded;
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to resolve ChromeDriver through cache " + cacheDir + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static Path readManifest(Path cacheDir) throws IOException {
+        Path manifestFile = cacheDir.resolve(MANIFEST_FILE);
+        if (!Files.exists(manifestFile)) {
+            return null;
+        }
+        Properties manifest = new Properties();
+        try (InputStream in = Files.newInputStream(manifestFile)) {
+            manifest.load(in);
+        }
+
+        Path binary = Paths.get(manifest.getProperty("path", ""));
+        if (!Files.isExecutable(binary)) {
+            System.out.println("Cached ChromeDriver is missing: " + binary);
+            return null;
+        }
+        if (!sha256(binary).equals(manifest.getProperty("sha256"))) {
+            System.out.println("Cached ChromeDriver failed checksum validation: " + binary);
+            return null;
+        }
+        return binary;
+    }
+
+    private static void writeManifest(Path cacheDir, Path binary) throws IOException {
+        Properties manifest = new Properties();
+        manifest.setProperty("path", binary.toAbsolutePath().toString());
+        manifest.setProperty("sha256", sha256(binary));
+        try (OutputStream out = Files.newOutputStream(cacheDir.resolve(MANIFEST_FILE))) {
+            manifest.store(out, "ChromeDriver resolved by WebDriverManager");
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(file), MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Path getCacheDir() {
+        return Paths.get(ConfigReader.getDriverCacheDir());
+    }
+}
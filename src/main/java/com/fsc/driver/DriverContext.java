@@ -0,0 +1,34 @@
+package com.fsc.driver;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * Holds the WebDriver of the test running on the current thread
+ * Lets page objects, listeners and tests share a driver safely when TestNG runs in parallel
+ */
+public class DriverContext {
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+
+    /**
+     * Get the driver bound to the current thread
+     */
+    public static WebDriver getDriver() {
+        WebDriver current = driver.get();
+        if (current == null) {
+            throw new IllegalStateException("No WebDriver bound to thread " + Thread.currentThread().getName());
+        }
+        return current;
+    }
+
+    public static boolean hasDriver() {
+        return driver.get() != null;
+    }
+
+    public static void setDriver(WebDriver webDriver) {
+        driver.set(webDriver);
+    }
+
+    public static void removeDriver() {
+        driver.remove();
+    }
+}
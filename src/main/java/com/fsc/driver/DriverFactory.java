@@ -0,0 +1,138 @@
+package com.fsc.driver;
+
+import com.fsc.metrics.CommandMetricsListener;
+import com.fsc.metrics.PagePerformance;
+import com.fsc.utils.ConfigReader;
+import com.fsc.utils.LightningIdle;
+import com.fsc.utils.TestMetrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Creates configured browser instances
+ * Used by DriverPool whenever a new browser has to be launched
+ */
+public class DriverFactory {
+
+    /**
+     * Launch a new Chrome browser with the Salesforce-friendly options
+     * With execution.mode=grid the browser is started on a Selenium Grid node instead
+     */
+    public static WebDriver createDriver() {
+        long launchStart;
+        WebDriver driver;
+        String node = null;
+        Path profile = null;
+        if (ConfigReader.isGridExecution()) {
+            launchStart = System.currentTimeMillis();
+            RemoteDriverFactory.RemoteSession session = RemoteDriverFactory.createSession(createChromeOptions());
+            driver = session.getDriver();
+            node = session.getNode();
+        } else {
+            // Resolved once per JVM (pinned path, machine cache or WebDriverManager); its time is reported on its own
+            DriverBinaryResolver.resolveChromeDriver();
+
+            // Start from a copy of the primed profile so Salesforce's bundles are already cached
+            // A (re)build of the template is timed on its own, not as part of this launch
+            ProfileTemplate template = ProfileTemplate.getInstance();
+            if (template != null) {
+                template.ensureTemplate();
+            }
+            launchStart = System.currentTimeMillis();
+            profile = template != null ? template.newSessionProfile() : null;
+            ChromeOptions options = createChromeOptions();
+            if (profile != null) {
+                options.addArguments("--user-data-dir=" + profile.toAbsolutePath());
+            }
+            try {
+                try {
+                    driver = new ChromeDriver(options);
+                } catch (SessionNotCreatedException e) {
+                    // Chrome was updated since the cached driver was resolved
+                    if (e.getMessage() == null || !e.getMessage().contains("only supports Chrome version")) {
+                        throw e;
+                    }
+                    System.out.println("Cached ChromeDriver does not match the installed Chrome, resolving again");
+                    long resolveStart = System.currentTimeMillis();
+                    DriverBinaryResolver.invalidate();
+                    DriverBinaryResolver.resolveChromeDriver();
+                    // Leave the second resolution out of the launch time
+                    launchStart += System.currentTimeMillis() - resolveStart;
+                    driver = new ChromeDriver(options);
+                }
+            } catch (RuntimeException e) {
+                if (profile != null) {
+                    template.discard(profile);
+                }
+                throw e;
+            }
+            if (template != null) {
+                template.checkBrowserVersion(driver);
+            }
+        }
+        TestMetrics.recordMillis("Browser launch", System.currentTimeMillis() - launchStart);
+
+        // Hide webdriver flag
+        ((JavascriptExecutor) driver).executeScript("Object.defineProperty(navigator,'webdriver',{get: ()=> undefined})");
+
+        // Count Aura/XHR traffic from the first request of every page so waitForLightningIdle() sees it
+        LightningIdle.install(driver);
+
+        // Buffer long tasks and paints from document start for page performance steps
+        PagePerformance.install(driver);
+
+        // Drop fonts, images and beacons before the first page is loaded
+        NetworkBlocker blocker = NetworkBlocker.install(driver);
+
+        // Use timeouts from config.properties
+        // implicit.wait stays 0 by default: page objects wait explicitly (DomWait, WebDriverWait), and an implicit
+        // wait would stretch every findElements probe and every poll of those waits to its full length
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
+        // In-page waits (DomWait) run as async scripts and must be allowed to outlive their own timeout
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(ConfigReader.getScriptTimeout()));
+
+        // Time every command; the decorated driver keeps the original's interfaces (HasCdp, TakesScreenshot)
+        if (ConfigReader.isCommandMetricsEnabled()) {
+            driver = new EventFiringDecorator<>(new CommandMetricsListener()).decorate(driver);
+        }
+        if (node != null) {
+            RemoteDriverFactory.register(driver, node);
+        }
+        if (blocker != null) {
+            NetworkBlocker.register(driver, blocker);
+        }
+        if (profile != null) {
+            ProfileTemplate.getInstance().register(driver, profile);
+        }
+        return driver;
+    }
+
+    /**
+     * Chrome options for better Salesforce compatibility and stealth options
+     */
+    public static ChromeOptions createChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--start-maximized");
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+
+        // Anti-detection options
+        options.addArguments("--disable-blink-features=AutomationControlled");
+        options.setExperimentalOption("excludeSwitches", new String[]{"enable-automation"});
+        options.setExperimentalOption("useAutomationExtension", false);
+
+        // Add headless mode if configured
+        if (ConfigReader.isHeadless()) {
+            options.addArguments("--headless");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,335 @@
+package com.fsc.driver;
+
+import com.fsc.utils.ConfigReader;
+import com.fsc.utils.TestMetrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pool of warm browsers leased to tests instead of launching a fresh Chrome per test method
+ * Browsers are reset between leases and recycled after a configurable number of leases or on crash
+ */
+public class DriverPool {
+    private static DriverPool instance;
+
+    private final int maxSize;
+    private final int maxLeases;
+    private final Deque<PooledDriver> idle = new ArrayDeque<>();
+    private final Map<WebDriver, PooledDriver> leased = new IdentityHashMap<>();
+    private int liveCount;
+    private boolean shutdown;
+
+    // Statistics
+    private final AtomicLong launchCount = new AtomicLong();
+    private final AtomicLong totalLaunchMillis = new AtomicLong();
+    private final AtomicLong recycleCount = new AtomicLong();
+    private final AtomicLong leaseCount = new AtomicLong();
+    private final AtomicLong totalLeaseWaitNanos = new AtomicLong();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    public DriverPool(int maxSize, int maxLeases) {
+        if (maxSize < 1 || maxLeases < 1) {
+            throw new IllegalArgumentException("Driver pool size and max leases must be at least 1");
+        }
+        this.maxSize = maxSize;
+        this.maxLeases = maxLeases;
+    }
+
+    /**
+     * Get the shared pool, sized from config.properties
+     */
+    public static synchronized DriverPool getInstance() {
+        if (instance == null) {
+            instance = new DriverPool(ConfigReader.getDriverPoolSize(), ConfigReader.getDriverMaxLeases());
+            // Make sure browsers do not outlive the JVM if the suite is aborted
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::shutdown, "driver-pool-shutdown"));
+        }
+        return instance;
+    }
+
+    public static synchronized boolean hasInstance() {
+        return instance != null;
+    }
+
+    /**
+     * Lease a browser, waiting for one to be returned if the pool is at capacity
+     */
+    public WebDriver lease() {
+        long waitStart = System.nanoTime();
+        PooledDriver pooled = takeIdleOrReserveSlot();
+        long waitNanos = System.nanoTime() - waitStart;
+
+        // A browser that crashed while idle is replaced, keeping its reserved slot
+        if (pooled != null && !pooled.isAlive()) {
+            System.out.println("Pooled browser is no longer responding, launching a replacement");
+            quitQuietly(pooled.driver);
+            recycleCount.incrementAndGet();
+            pooled = null;
+        }
+        if (pooled == null) {
+            try {
+                pooled = launch();
+            } catch (RuntimeException e) {
+                freeSlot();
+                throw e;
+            }
+        }
+
+        pooled.leases++;
+        pooled.leasedAt = System.currentTimeMillis();
+        synchronized (this) {
+            leased.put(pooled.driver, pooled);
+        }
+
+        leaseCount.incrementAndGet();
+        totalLeaseWaitNanos.addAndGet(waitNanos);
+        maxLeaseWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        TestMetrics.recordMillis("Driver lease wait", TimeUnit.NANOSECONDS.toMillis(waitNanos));
+        if (pooled.node != null) {
+            TestMetrics.record("Grid node", pooled.node);
+        }
+        return pooled.driver;
+    }
+
+    /**
+     * Return a leased browser to the pool
+     * The browser is reset, or quit if it reached its lease limit or could not be reset
+     */
+    public void release(WebDriver driver) {
+        PooledDriver pooled;
+        synchronized (this) {
+            pooled = leased.remove(driver);
+        }
+        if (pooled == null) {
+            // Not leased from this pool
+            quitQuietly(driver);
+            return;
+        }
+        if (pooled.node != null) {
+            RemoteDriverFactory.recordTest(pooled.node, System.currentTimeMillis() - pooled.leasedAt);
+        }
+
+        if (pooled.leases >= maxLeases || !reset(pooled.driver)) {
+            discard(pooled);
+            return;
+        }
+
+        synchronized (this) {
+            if (shutdown) {
+                quitQuietly(pooled.driver);
+                return;
+            }
+            idle.addLast(pooled);
+            notifyAll();
+        }
+    }
+
+    /**
+     * Quit every browser owned by the pool
+     * Call this once after all tests complete
+     */
+    public void shutdown() {
+        List<PooledDriver> toQuit;
+        synchronized (this) {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+            toQuit = new ArrayList<>(idle);
+            toQuit.addAll(leased.values());
+            idle.clear();
+            leased.clear();
+            liveCount = 0;
+            notifyAll();
+        }
+        for (PooledDriver pooled : toQuit) {
+            quitQuietly(pooled.driver);
+        }
+        System.out.println("Driver pool shut down. " + getStatsSummary());
+    }
+
+    private synchronized PooledDriver takeIdleOrReserveSlot() {
+        while (true) {
+            if (shutdown) {
+                throw new IllegalStateException("Driver pool has been shut down");
+            }
+            PooledDriver pooled = idle.pollFirst();
+            if (pooled != null) {
+                return pooled;
+            }
+            if (liveCount < maxSize) {
+                liveCount++;
+                return null;
+            }
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for a pooled driver", e);
+            }
+        }
+    }
+
+    private synchronized void freeSlot() {
+        liveCount--;
+        notifyAll();
+    }
+
+    private PooledDriver launch() {
+        long start = System.currentTimeMillis();
+        WebDriver driver = DriverFactory.createDriver();
+        totalLaunchMillis.addAndGet(System.currentTimeMillis() - start);
+        launchCount.incrementAndGet();
+        return new PooledDriver(driver);
+    }
+
+    private void discard(PooledDriver pooled) {
+        quitQuietly(pooled.driver);
+        recycleCount.incrementAndGet();
+        freeSlot();
+    }
+
+    /**
+     * Reset browser state between tests: extra windows, cookies, storage and the current page
+     * The HTTP cache is kept so the next test still benefits from a warm browser
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            // Close every window except the first one
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            String mainWindow = handles.get(0);
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            driver.switchTo().window(mainWindow);
+
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); } catch (e) {}" +
+                "try { window.sessionStorage.clear(); } catch (e) {}");
+
+            if (driver instanceof HasCdp) {
+                clearAllOrigins((HasCdp) driver);
+            } else {
+                driver.manage().deleteAllCookies();
+            }
+
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException | IndexOutOfBoundsException e) {
+            System.out.println("Could not reset pooled browser, recycling it: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Clear cookies and storage for every origin the browser holds cookies for
+     * deleteAllCookies() only covers the current domain, while Salesforce spans several
+     */
+    @SuppressWarnings("unchecked")
+    private void clearAllOrigins(HasCdp cdp) {
+        Map<String, Object> result = cdp.executeCdpCommand("Network.getAllCookies", Map.of());
+        Set<String> origins = new LinkedHashSet<>();
+        for (Map<String, Object> cookie : (List<Map<String, Object>>) result.getOrDefault("cookies", List.of())) {
+            String domain = String.valueOf(cookie.get("domain"));
+            String scheme = Boolean.TRUE.equals(cookie.get("secure")) ? "https://" : "http://";
+            origins.add(scheme + (domain.startsWith(".") ? domain.substring(1) : domain));
+        }
+        for (String origin : origins) {
+            cdp.executeCdpCommand("Storage.clearDataForOrigin", Map.of(
+                "origin", origin,
+                "storageTypes", "local_storage,indexeddb,websql,service_workers,cache_storage"));
+        }
+        cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        RemoteDriverFactory.forget(driver);
+        NetworkBlocker.forget(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            System.out.println("Ignoring error while quitting browser: " + e.getMessage());
+        }
+        if (ProfileTemplate.hasInstance()) {
+            ProfileTemplate.getInstance().discard(driver);
+        }
+    }
+
+    public long getLaunchCount() {
+        return launchCount.get();
+    }
+
+    public long getAverageLaunchMillis() {
+        long launches = launchCount.get();
+        return launches == 0 ? 0 : totalLaunchMillis.get() / launches;
+    }
+
+    public long getRecycleCount() {
+        return recycleCount.get();
+    }
+
+    public long getLeaseCount() {
+        return leaseCount.get();
+    }
+
+    public long getAverageLeaseWaitMillis() {
+        long leases = leaseCount.get();
+        return leases == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalLeaseWaitNanos.get() / leases);
+    }
+
+    public long getMaxLeaseWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLeaseWaitNanos.get());
+    }
+
+    /**
+     * One-line summary for console output and the Extent report
+     */
+    public String getStatsSummary() {
+        return "size=" + maxSize
+            + ", leases=" + getLeaseCount()
+            + ", launches=" + getLaunchCount()
+            + ", avg launch=" + getAverageLaunchMillis() + " ms"
+            + ", recycled=" + getRecycleCount()
+            + ", avg lease wait=" + getAverageLeaseWaitMillis() + " ms"
+            + ", max lease wait=" + getMaxLeaseWaitMillis() + " ms";
+    }
+
+    /**
+     * Browser owned by the pool plus the number of times it has been leased
+     */
+    private static class PooledDriver {
+        private final WebDriver driver;
+        // Grid node running the browser, null when it runs locally
+        private final String node;
+        private int leases;
+        private long leasedAt;
+
+        PooledDriver(WebDriver driver) {
+            this.driver = driver;
+            this.node = RemoteDriverFactory.nodeOf(driver);
+        }
+
+        boolean isAlive() {
+            try {
+                driver.getWindowHandles();
+                return true;
+            } catch (WebDriverException e) {
+                return false;
+            }
+        }
+    }
+}
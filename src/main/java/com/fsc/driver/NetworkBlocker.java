@@ -0,0 +1,273 @@
+package com.fsc.driver;
+
+import com.fsc.utils.ConfigReader;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Blocks images, fonts, analytics beacons and other requests the tests never look at, through CDP
+ * Patterns use CDP wildcards (* matches anything). Without allow patterns the browser itself drops
+ * matching requests (Network.setBlockedURLs); with allow patterns, matching requests are paused
+ * (Fetch domain) and only those not allowed are failed.
+ *
+ * With network.block.report.only nothing is blocked: matching requests are counted with their real
+ * size, which is what blocking would save, and the sizes are kept for estimating savings later.
+ */
+public class NetworkBlocker {
+    private static final Json JSON = new Json();
+    private static final Path SIZES_FILE = Paths.get(System.getProperty("user.dir"), "test-output", "metrics", "blocked-resource-sizes.json");
+
+    private static final Map<WebDriver, NetworkBlocker> blockers = new IdentityHashMap<>();
+    // Download size per URL (without query) of resources that match the blocklist
+    private static final Map<String, Long> knownSizes = new ConcurrentHashMap<>(readSizes());
+    private static final AtomicLong suiteBlocked = new AtomicLong();
+    private static final AtomicLong suiteBytes = new AtomicLong();
+    private static final AtomicLong suiteUnknownSize = new AtomicLong();
+
+    private final boolean reportOnly;
+    private final List<Pattern> blocked;
+    private final List<Pattern> allowed;
+    // Request id to url and resource type, until the request finishes or fails
+    private final Map<String, String[]> requests = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> testCountsByType = new ConcurrentHashMap<>();
+    private final AtomicLong testBytes = new AtomicLong();
+    private final AtomicLong testUnknownSize = new AtomicLong();
+
+    NetworkBlocker(List<String> blockPatterns, List<String> allowPatterns, boolean reportOnly) {
+        this.blocked = blockPatterns.stream().map(NetworkBlocker::toRegex).collect(Collectors.toList());
+        this.allowed = allowPatterns.stream().map(NetworkBlocker::toRegex).collect(Collectors.toList());
+        this.reportOnly = reportOnly;
+    }
+
+    /**
+     * Start blocking in a new browser when network.block.enabled is set
+     * @return the blocker, or null when blocking is off or the browser has no DevTools connection
+     */
+    public static NetworkBlocker install(WebDriver driver) {
+        if (!ConfigReader.isNetworkBlockEnabled() || ConfigReader.getNetworkBlockPatterns().isEmpty()) {
+            return null;
+        }
+        NetworkBlocker blocker = new NetworkBlocker(ConfigReader.getNetworkBlockPatterns(),
+            ConfigReader.getNetworkAllowPatterns(), ConfigReader.isNetworkBlockReportOnly());
+        try {
+            if (driver instanceof HasDevTools) {
+                blocker.start(((HasDevTools) driver).getDevTools());
+                return blocker;
+            }
+            if (driver instanceof HasCdp && !blocker.reportOnly) {
+                // Blocks, but cannot count: executeCdpCommand has no access to events
+                HasCdp cdp = (HasCdp) driver;
+                cdp.executeCdpCommand("Network.enable", Map.of());
+                cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", ConfigReader.getNetworkBlockPatterns()));
+            }
+        } catch (WebDriverException e) {
+            System.out.println("Could not enable network blocking: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Remember the blocker of a (possibly decorated) driver
+     */
+    public static synchronized void register(WebDriver driver, NetworkBlocker blocker) {
+        blockers.put(driver, blocker);
+    }
+
+    public static synchronized NetworkBlocker of(WebDriver driver) {
+        return blockers.get(driver);
+    }
+
+    public static synchronized void forget(WebDriver driver) {
+        blockers.remove(driver);
+    }
+
+    private void start(DevTools devTools) {
+        devTools.createSessionIfThereIsNotOne();
+        devTools.addListener(event("Network.requestWillBeSent"), e -> {
+            String url = String.valueOf(map(e.get("request")).get("url"));
+            requests.put(String.valueOf(e.get("requestId")), new String[]{url, String.valueOf(e.getOrDefault("type", "Other"))});
+        });
+        devTools.addListener(event("Network.loadingFinished"), e -> {
+            String[] request = requests.remove(String.valueOf(e.get("requestId")));
+            if (reportOnly && request != null && matches(request[0])) {
+                long size = ((Number) e.getOrDefault("encodedDataLength", 0)).longValue();
+                knownSizes.put(withoutQuery(request[0]), size);
+                count(request[1], size);
+            }
+        });
+        devTools.addListener(event("Network.loadingFailed"), e -> {
+            String[] request = requests.remove(String.valueOf(e.get("requestId")));
+            if (reportOnly || request == null) {
+                return;
+            }
+            // setBlockedURLs fails requests as "inspector"; Fetch.failRequest as a client block, which an
+            // extension can cause too, so that one only counts for URLs matching our own patterns
+            boolean blockedByUs = "inspector".equals(e.get("blockedReason"))
+                || String.valueOf(e.get("errorText")).contains("ERR_BLOCKED_BY_CLIENT") && matches(request[0]);
+            if (blockedByUs) {
+                count(request[1], knownSizes.get(withoutQuery(request[0])));
+            }
+        });
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        if (reportOnly) {
+            return;
+        }
+
+        if (allowed.isEmpty()) {
+            devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", ConfigReader.getNetworkBlockPatterns())));
+            return;
+        }
+        // Only requests matching the blocklist are paused; the rest never leave the browser's fast path
+        List<Map<String, Object>> fetchPatterns = ConfigReader.getNetworkBlockPatterns().stream()
+            .map(pattern -> Map.<String, Object>of("urlPattern", pattern, "requestStage", "Request"))
+            .collect(Collectors.toList());
+        devTools.addListener(event("Fetch.requestPaused"), e -> {
+            String requestId = String.valueOf(e.get("requestId"));
+            String url = String.valueOf(map(e.get("request")).get("url"));
+            if (isAllowed(url)) {
+                devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+            } else {
+                devTools.send(new Command<>("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+            }
+        });
+        devTools.send(new Command<>("Fetch.enable", Map.of("patterns", fetchPatterns)));
+    }
+
+    /**
+     * Blocked request counts for the test that just finished, then start counting for the next one
+     * e.g. "Blocked Image requests" = 12 and "Bytes saved by blocking" = 340.2 KB
+     */
+    public Map<String, String> drainTestCounts() {
+        Map<String, String> counts = new TreeMap<>();
+        testCountsByType.forEach((type, count) -> {
+            long value = count.getAndSet(0);
+            if (value > 0) {
+                counts.put("Blocked " + type + " requests", String.valueOf(value));
+            }
+        });
+        long bytes = testBytes.getAndSet(0);
+        long unknown = testUnknownSize.getAndSet(0);
+        if (!counts.isEmpty()) {
+            counts.put("Bytes saved by blocking", formatBytes(bytes) + (unknown > 0 ? " (+" + unknown + " of unknown size)" : ""));
+        }
+        return counts;
+    }
+
+    /**
+     * Suite totals for the Extent report
+     */
+    public static String getStatsSummary() {
+        return (ConfigReader.isNetworkBlockReportOnly() ? "report only, would block " : "blocked ")
+            + suiteBlocked.get() + " requests, " + formatBytes(suiteBytes.get())
+            + (suiteUnknownSize.get() > 0 ? " (+" + suiteUnknownSize.get() + " requests of unknown size)" : "");
+    }
+
+    public static boolean hasBlocked() {
+        return suiteBlocked.get() > 0;
+    }
+
+    /**
+     * Keep the sizes seen in report-only mode, so later blocking runs can estimate what they saved
+     */
+    public static void saveSizes() {
+        if (!ConfigReader.isNetworkBlockReportOnly() || knownSizes.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(SIZES_FILE.getParent());
+            Files.writeString(SIZES_FILE, JSON.toJson(new TreeMap<>(knownSizes)));
+        } catch (IOException e) {
+            System.err.println("Failed to write " + SIZES_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private void count(String type, Long size) {
+        testCountsByType.computeIfAbsent(type, k -> new AtomicLong()).incrementAndGet();
+        suiteBlocked.incrementAndGet();
+        if (size == null) {
+            testUnknownSize.incrementAndGet();
+            suiteUnknownSize.incrementAndGet();
+        } else {
+            testBytes.addAndGet(size);
+            suiteBytes.addAndGet(size);
+        }
+    }
+
+    private boolean matches(String url) {
+        return blocked.stream().anyMatch(p -> p.matcher(url).matches()) && !isAllowed(url);
+    }
+
+    private boolean isAllowed(String url) {
+        return allowed.stream().anyMatch(p -> p.matcher(url).matches());
+    }
+
+    /**
+     * CDP wildcard pattern as a regex: * matches any characters, everything else is literal
+     */
+    static Pattern toRegex(String wildcard) {
+        StringBuilder regex = new StringBuilder();
+        for (String part : wildcard.split("\\*", -1)) {
+            if (regex.length() > 0) {
+                regex.append(".*");
+            }
+            regex.append(Pattern.quote(part));
+        }
+        return Pattern.compile(regex.toString());
+    }
+
+    private static String withoutQuery(String url) {
+        int query = url.indexOf('?');
+        return query < 0 ? url : url.substring(0, query);
+    }
+
+    private static String formatBytes(long bytes) {
+        return String.format("%.1f KB", bytes / 1024.0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : Map.of();
+    }
+
+    private static Event<Map<String, Object>> event(String method) {
+        return new Event<>(method, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private static Map<String, Long> readSizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        if (!Files.isRegularFile(SIZES_FILE)) {
+            return sizes;
+        }
+        try {
+            Map<String, Object> json = JSON.toType(Files.readString(SIZES_FILE), Json.MAP_TYPE);
+            json.forEach((url, size) -> {
+                if (size instanceof Number) {
+                    sizes.put(url, ((Number) size).longValue());
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Ignoring unreadable " + SIZES_FILE + ": " + e.getMessage());
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,516 @@
+package com.fsc.driver;
+
+import com.fsc.auth.LoginVerification;
+import com.fsc.auth.SessionManager;
+import com.fsc.auth.SessionSnapshot;
+import com.fsc.pages.SalesforceLoginPage;
+import com.fsc.utils.ConfigReader;
+import com.fsc.utils.TestMetrics;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Chrome user-data-dir primed with the org's static resources (HTTP cache and compiled-code cache)
+ * The template is built once per machine by logging in and visiting profile.template.urls, then every new
+ * browser gets its own copy, so tests start with Salesforce's JS and CSS bundles already downloaded and compiled.
+ * Lightning only serves those bundles to a logged-in user; cookies and storage are cleared before the
+ * template is published, so it never carries a session.
+ *
+ * Copies use copy-on-write clones where the file system supports them (cp --reflink=auto, or cp -c on
+ * macOS) and a plain copy otherwise. Clones cannot cross file systems, so copies are made in the
+ * sessions directory next to the template rather than in java.io.tmpdir. Hard links are not used: Chrome
+ * rewrites cache index and database files in place, which would change the template under every other browser.
+ *
+ * The template is rebuilt when it is older than profile.template.max.age.hours, when the URLs change,
+ * or when Chrome has been updated since it was built. Copies hold a shared lock on the template and a
+ * rebuild the exclusive one, so the template is never replaced while a browser is being copied from it.
+ */
+public class ProfileTemplate {
+    // Bump when the template layout or cleanup changes, so old templates are rebuilt
+    private static final String FORMAT = "2";
+    private static final String MANIFEST_FILE = "template.properties";
+    private static final String LOCK_FILE = ".lock";
+    private static final String CURRENT_DIR = "current";
+    // Session copies live next to the template so copy-on-write clones stay on one file system
+    private static final String SESSIONS_DIR = "sessions";
+    private static final String COPY_PREFIX = "fsc-profile-";
+
+    // Per-session state that must not be shared between browsers
+    private static final String[] VOLATILE_FILES = {
+        "SingletonLock", "SingletonCookie", "SingletonSocket", "DevToolsActivePort", "Last Browser", "Last Version",
+        "Default/Cookies", "Default/Cookies-journal", "Default/Network/Cookies", "Default/Network/Cookies-journal",
+        "Default/Sessions", "Default/Current Session", "Default/Current Tabs", "Default/Last Session", "Default/Last Tabs",
+        "Default/Local Storage", "Default/Session Storage", "Default/IndexedDB"
+    };
+
+    private static ProfileTemplate instance;
+
+    private final Path root;
+    private final List<String> urls;
+    private final Duration maxAge;
+    private final Map<WebDriver, Path> sessionProfiles = new IdentityHashMap<>();
+    // Same roles as the file lock, between the threads of this JVM (file locks are held per process)
+    private final ReentrantReadWriteLock templateLock = new ReentrantReadWriteLock();
+    private Properties manifest;
+    private final AtomicLong copies = new AtomicLong();
+    private final AtomicLong copyMillis = new AtomicLong();
+
+    ProfileTemplate(Path root, List<String> urls, Duration maxAge) {
+        this.root = root;
+        this.urls = urls;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * The machine's template, or null when profile.template.enabled is off or there is nothing to visit
+     */
+    public static synchronized ProfileTemplate getInstance() {
+        if (instance == null && ConfigReader.isProfileTemplateEnabled()) {
+            List<String> urls = ConfigReader.getProfileTemplateUrls();
+            if (urls.isEmpty() && ConfigReader.getSalesforceUrl() != null) {
+                urls = List.of(ConfigReader.getSalesforceUrl());
+            }
+            if (urls.isEmpty()) {
+                System.out.println("profile.template.enabled is set but there is no URL to prime it with; starting with empty profiles");
+                return null;
+            }
+            instance = new ProfileTemplate(Paths.get(ConfigReader.getProfileTemplateDir()), urls,
+                Duration.ofHours(ConfigReader.getProfileTemplateMaxAgeHours()));
+            Runtime.getRuntime().addShutdownHook(new Thread(instance::deleteSessionCopies, "profile-template-cleanup"));
+        }
+        return instance;
+    }
+
+    public static synchronized boolean hasInstance() {
+        return instance != null;
+    }
+
+    /**
+     * A private copy of the template for a new browser, building the template first if needed
+     */
+    public Path newSessionProfile() {
+        while (true) {
+            Path template = ensureTemplate();
+            long start = System.currentTimeMillis();
+            Path copy = copyShared(template);
+            if (copy != null) {
+                long millis = System.currentTimeMillis() - start;
+                copies.incrementAndGet();
+                copyMillis.addAndGet(millis);
+                TestMetrics.recordMillis("Profile copy", millis);
+                return copy;
+            }
+            // Another JVM replaced or removed the template before the lock was taken
+            synchronized (this) {
+                manifest = null;
+            }
+        }
+    }
+
+    /**
+     * Remember the profile directory of a (possibly decorated) driver, so it can be deleted after quit
+     */
+    public synchronized void register(WebDriver driver, Path profile) {
+        sessionProfiles.put(driver, profile);
+    }
+
+    /**
+     * Delete the driver's profile copy; call after the browser has quit
+     */
+    public void discard(WebDriver driver) {
+        Path profile;
+        synchronized (this) {
+            profile = sessionProfiles.remove(driver);
+        }
+        if (profile != null) {
+            deleteQuietly(profile);
+        }
+    }
+
+    /**
+     * Delete a profile copy whose browser never started
+     */
+    public void discard(Path profile) {
+        deleteQuietly(profile);
+    }
+
+    /**
+     * Rebuild the template on next use if the browser it was built with is not the one now installed
+     */
+    public void checkBrowserVersion(WebDriver driver) {
+        if (!(driver instanceof HasCapabilities)) {
+            return;
+        }
+        String version = ((HasCapabilities) driver).getCapabilities().getBrowserVersion();
+        synchronized (this) {
+            if (manifest != null && version != null && !version.equals(manifest.getProperty("browserVersion"))) {
+                System.out.println("Chrome is now " + version + " but the profile template was built with "
+                    + manifest.getProperty("browserVersion") + "; it will be rebuilt");
+                manifest = null;
+                deleteQuietly(root.resolve(MANIFEST_FILE));
+            }
+        }
+    }
+
+    /**
+     * Summary for the Extent report, e.g. "cold start 5200 ms, from template 2100 ms; 8 copies, avg 140 ms"
+     */
+    public synchronized String getStatsSummary() {
+        long count = copies.get();
+        String measured = manifest == null ? "not built" : "launch to interactive: empty profile "
+            + manifest.getProperty("coldMillis") + " ms, from template " + manifest.getProperty("warmMillis")
+            + " ms (built " + manifest.getProperty("createdAt") + ")";
+        return measured + "; " + count + " copies, avg " + (count == 0 ? 0 : copyMillis.get() / count) + " ms";
+    }
+
+    /**
+     * Copy the template while holding a shared lock on it
+     * @return the copy, or null when the template is gone or outdated by the time the lock is held
+     */
+    private Path copyShared(Path template) {
+        Path copy = null;
+        templateLock.readLock().lock();
+        try (FileChannel channel = openLockFile()) {
+            // Every thread locks its own byte, so copies in this JVM do not overlap each other's locks;
+            // a rebuild locks the whole file and waits for all of them
+            FileLock lock = channel.lock(Thread.currentThread().getId(), 1, true);
+            try {
+                if (readManifest() == null || !Files.isDirectory(template)) {
+                    return null;
+                }
+                copy = newCopyDirectory();
+                copyTree(template, copy);
+                return copy;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            if (copy != null) {
+                deleteQuietly(copy);
+            }
+            throw new RuntimeException("Failed to copy browser profile template " + template + ": " + e.getMessage(), e);
+        } finally {
+            templateLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Path of a valid template, building it under a file lock so parallel JVMs on one machine build it once
+     * DriverFactory calls this before timing a launch, so a build is not counted as browser launch time
+     */
+    public synchronized Path ensureTemplate() {
+        Path current = root.resolve(CURRENT_DIR);
+        if (manifest != null && Files.isDirectory(current)) {
+            return current;
+        }
+        templateLock.writeLock().lock();
+        try (FileChannel channel = openLockFile()) {
+            FileLock lock = channel.lock();
+            try {
+                Properties existing = readManifest();
+                if (existing != null && Files.isDirectory(current)) {
+                    manifest = existing;
+                    return current;
+                }
+                manifest = build(current);
+                return current;
+            } finally {
+                lock.release();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to build browser profile template in " + root + ": " + e.getMessage(), e);
+        } finally {
+            templateLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Empty directory for a copy, named after this process so its shutdown hook can find it
+     */
+    private Path newCopyDirectory() throws IOException {
+        Path sessions = root.resolve(SESSIONS_DIR);
+        Files.createDirectories(sessions);
+        return Files.createTempDirectory(sessions, COPY_PREFIX + ProcessHandle.current().pid() + "-");
+    }
+
+    private FileChannel openLockFile() throws IOException {
+        Files.createDirectories(root);
+        // Readable as well, shared locks need it
+        return FileChannel.open(root.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    private Properties readManifest() throws IOException {
+        Path file = root.resolve(MANIFEST_FILE);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file)) {
+            properties.load(in);
+        }
+        if (!FORMAT.equals(properties.getProperty("format"))) {
+            return null;
+        }
+        if (!String.join(",", urls).equals(properties.getProperty("urls"))) {
+            System.out.println("Profile template was built for other URLs; rebuilding");
+            return null;
+        }
+        Instant created = Instant.parse(properties.getProperty("createdAt", Instant.EPOCH.toString()));
+        if (created.plus(maxAge).isBefore(Instant.now())) {
+            System.out.println("Profile template is older than " + maxAge.toHours() + " h; rebuilding");
+            return null;
+        }
+        return properties;
+    }
+
+    /**
+     * Prime a fresh profile, then measure a browser started from a copy of it
+     */
+    private Properties build(Path current) throws IOException {
+        System.out.println("Building browser profile template from " + urls);
+        long start = System.currentTimeMillis();
+        DriverBinaryResolver.resolveChromeDriver();
+
+        Path building = root.resolve("building-" + ProcessHandle.current().pid());
+        deleteQuietly(building);
+        Files.createDirectories(building);
+        Visit cold = visit(building, null);
+        for (String name : VOLATILE_FILES) {
+            deleteQuietly(building.resolve(name));
+        }
+
+        deleteQuietly(root.resolve(MANIFEST_FILE));
+        deleteQuietly(current);
+        Files.move(building, current, StandardCopyOption.ATOMIC_MOVE);
+
+        // Measured with the cold visit's login, so building the template logs in only once
+        Path copy = newCopyDirectory();
+        Visit warm;
+        try {
+            copyTree(current, copy);
+            warm = visit(copy, cold.session);
+        } finally {
+            deleteQuietly(copy);
+        }
+
+        Properties properties = new Properties();
+        properties.setProperty("format", FORMAT);
+        properties.setProperty("urls", String.join(",", urls));
+        properties.setProperty("createdAt", Instant.now().toString());
+        properties.setProperty("browserVersion", cold.browserVersion == null ? "" : cold.browserVersion);
+        properties.setProperty("coldMillis", String.valueOf(cold.launchToInteractive));
+        properties.setProperty("warmMillis", String.valueOf(warm.launchToInteractive));
+        try (OutputStream out = Files.newOutputStream(root.resolve(MANIFEST_FILE))) {
+            properties.store(out, "Browser profile template");
+        }
+        long millis = System.currentTimeMillis() - start;
+        TestMetrics.recordMillis("Profile template build", millis);
+        System.out.println("Profile template built in " + millis + " ms; launch to interactive "
+            + cold.launchToInteractive + " ms with an empty profile, " + warm.launchToInteractive + " ms from the template");
+        return properties;
+    }
+
+    /**
+     * Outcome of priming or measuring one profile
+     */
+    private static class Visit {
+        // Browser launch plus time to DOM interactive of every URL, login excluded
+        private long launchToInteractive;
+        private String browserVersion;
+        private SessionSnapshot session;
+    }
+
+    /**
+     * Launch Chrome on the profile, log in and load every URL, then clear the session from the profile
+     * @param session login to restore, or null to log in (the visit then captures it for the next one)
+     */
+    private Visit visit(Path profile, SessionSnapshot session) {
+        ChromeOptions options = DriverFactory.createChromeOptions();
+        options.addArguments("--user-data-dir=" + profile.toAbsolutePath());
+        long start = System.currentTimeMillis();
+        WebDriver driver = new ChromeDriver(options);
+        try {
+            Visit visit = new Visit();
+            visit.launchToInteractive = System.currentTimeMillis() - start;
+            driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
+            // The Lightning bundles are only loaded after login; the session manager reuses this login for the tests
+            if (session == null) {
+                SessionManager.getInstance().login(driver, ProfileTemplate::loginThroughUi);
+                visit.session = SessionSnapshot.capture(driver);
+            } else {
+                session.restore(driver);
+                visit.session = session;
+            }
+            for (String url : urls) {
+                driver.get(url);
+                Object interactive = ((JavascriptExecutor) driver).executeScript(
+                    "var n = performance.getEntriesByType('navigation')[0]; return n ? Math.round(n.domInteractive) : 0;");
+                visit.launchToInteractive += ((Number) interactive).longValue();
+                // Let late bundles finish downloading into the cache
+                sleep(2000);
+            }
+            visit.browserVersion = ((HasCapabilities) driver).getCapabilities().getBrowserVersion();
+            clearSession(driver);
+            return visit;
+        } catch (WebDriverException e) {
+            throw new RuntimeException("Failed to prime browser profile: " + e.getMessage(), e);
+        } finally {
+            driver.quit();
+        }
+    }
+
+    private static void loginThroughUi(WebDriver driver) {
+        SalesforceLoginPage loginPage = new SalesforceLoginPage(driver);
+        loginPage.navigateToLogin(ConfigReader.getSalesforceUrl());
+        loginPage.login(ConfigReader.getUsername(), ConfigReader.getPassword());
+        LoginVerification.fromConfig().complete(driver);
+        new WebDriverWait(driver, Duration.ofSeconds(30)).until(d -> {
+            String url = d.getCurrentUrl();
+            return url.contains("lightning") || url.contains("home");
+        });
+    }
+
+    /**
+     * Log the profile out locally: cookies of every domain and the storage of the open page
+     * The storage and cookie files are deleted as well once the browser has quit (VOLATILE_FILES)
+     */
+    private static void clearSession(WebDriver driver) {
+        ((ChromeDriver) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+        ((JavascriptExecutor) driver).executeScript("window.sessionStorage.clear(); window.localStorage.clear();");
+    }
+
+    /**
+     * Clone the directory with copy-on-write where possible, falling back to a plain recursive copy
+     */
+    private static void copyTree(Path source, Path target) throws IOException {
+        String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+        List<String> command = new ArrayList<>();
+        if (os.contains("linux")) {
+            command.addAll(List.of("cp", "-R", "--reflink=auto"));
+        } else if (os.contains("mac")) {
+            command.addAll(List.of("cp", "-c", "-R"));
+        }
+        if (!command.isEmpty()) {
+            command.add(source.toAbsolutePath() + "/.");
+            command.add(target.toAbsolutePath().toString());
+            try {
+                Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+                process.getInputStream().transferTo(OutputStream.nullOutputStream());
+                if (process.waitFor(60, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                    return;
+                }
+                process.destroyForcibly();
+            } catch (IOException e) {
+                // No cp on the path; copy in Java below
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while copying profile", e);
+            }
+        }
+
+        Files.walkFileTree(source, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(dir).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.copy(file, target.resolve(source.relativize(file).toString()), StandardCopyOption.REPLACE_EXISTING);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Delete the copies this process made, registered or not, and those left behind by processes that are gone
+     */
+    private synchronized void deleteSessionCopies() {
+        sessionProfiles.values().forEach(ProfileTemplate::deleteQuietly);
+        sessionProfiles.clear();
+
+        Path sessions = root.resolve(SESSIONS_DIR);
+        if (!Files.isDirectory(sessions)) {
+            return;
+        }
+        long pid = ProcessHandle.current().pid();
+        try (DirectoryStream<Path> copies = Files.newDirectoryStream(sessions, COPY_PREFIX + "*")) {
+            for (Path copy : copies) {
+                String owner = copy.getFileName().toString().substring(COPY_PREFIX.length()).split("-")[0];
+                try {
+                    long ownerPid = Long.parseLong(owner);
+                    if (ownerPid == pid || ProcessHandle.of(ownerPid).isEmpty()) {
+                        deleteQuietly(copy);
+                    }
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("Could not clean up " + sessions + ": " + e.getMessage());
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try {
+            Files.walkFileTree(path, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    Files.deleteIfExists(file);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                    Files.deleteIfExists(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            System.out.println("Could not delete " + path + ": " + e.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.fsc.driver;
+
+import com.fsc.utils.ConfigReader;
+import com.fsc.utils.TestMetrics;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.LocalFileDetector;
+import org.openqa.selenium.remote.RemoteWebDriver;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Creates browsers on a Selenium Grid (or a standalone server) when execution.mode=grid
+ * A busy grid rejects or times out new sessions, so creation is retried with exponential backoff.
+ * Every session is attributed to the node running it, and the report shows timings per node.
+ */
+public class RemoteDriverFactory {
+    private static final Json JSON = new Json();
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+    // Selenium reports every rejected new session as SessionNotCreatedException; only the status tells them apart
+    private static final Pattern CLIENT_ERROR = Pattern.compile("Response code 4\\d\\d\\b");
+
+    private static final HttpClient HTTP = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private static final Map<String, NodeStats> nodeStats = new TreeMap<>();
+    private static final Map<WebDriver, String> driverNodes = new IdentityHashMap<>();
+
+    /**
+     * Session creation and test timings of one grid node
+     */
+    private static class NodeStats {
+        private final AtomicLong sessions = new AtomicLong();
+        private final AtomicLong sessionMillis = new AtomicLong();
+        private final AtomicLong retries = new AtomicLong();
+        private final AtomicLong tests = new AtomicLong();
+        private final AtomicLong testMillis = new AtomicLong();
+
+        @Override
+        public String toString() {
+            return sessions.get() + " sessions (avg start " + average(sessionMillis, sessions) + " ms, "
+                + retries.get() + " retries), " + tests.get() + " tests (avg " + average(testMillis, tests) + " ms)";
+        }
+
+        private static long average(AtomicLong total, AtomicLong count) {
+            return count.get() == 0 ? 0 : total.get() / count.get();
+        }
+    }
+
+    /**
+     * New browser session together with the node it runs on
+     */
+    public static class RemoteSession {
+        private final WebDriver driver;
+        private final String node;
+
+        RemoteSession(WebDriver driver, String node) {
+            this.driver = driver;
+            this.node = node;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public String getNode() {
+            return node;
+        }
+    }
+
+    /**
+     * Start a session on the grid with the same ChromeOptions a local browser would get
+     */
+    public static RemoteSession createSession(ChromeOptions options) {
+        if (ConfigReader.getGridBrowserVersion() != null) {
+            options.setBrowserVersion(ConfigReader.getGridBrowserVersion());
+        }
+        if (ConfigReader.getGridPlatform() != null) {
+            options.setPlatformName(ConfigReader.getGridPlatform());
+        }
+        return createSession(ConfigReader.getGridUrl(), options, ConfigReader.getGridSessionRetries(),
+            ConfigReader.getGridSessionBackoffMillis());
+    }
+
+    /**
+     * Start a session on the given grid, retrying up to maxRetries times with a backoff that doubles each time
+     */
+    public static RemoteSession createSession(URL gridUrl, ChromeOptions options, int maxRetries, long backoffMillis) {
+        long backoff = backoffMillis;
+        long start = System.currentTimeMillis();
+        for (int attempt = 0; ; attempt++) {
+            try {
+                RemoteWebDriver remote = new RemoteWebDriver(gridUrl, options);
+                // Uploads read files from this machine, not the node
+                remote.setFileDetector(new LocalFileDetector());
+                long millis = System.currentTimeMillis() - start;
+
+                String node = findNode(gridUrl, remote);
+                NodeStats stats = stats(node);
+                stats.sessions.incrementAndGet();
+                stats.sessionMillis.addAndGet(millis);
+                stats.retries.addAndGet(attempt);
+                TestMetrics.recordMillis("Grid session start", millis);
+                if (attempt > 0) {
+                    TestMetrics.record("Grid session retries", String.valueOf(attempt));
+                }
+                System.out.println("Grid session " + remote.getSessionId() + " started on " + node + " in " + millis + " ms");
+
+                // Adds HasCdp through the grid's se:cdp endpoint, so LightningIdle and the pool reset keep working
+                return new RemoteSession(new Augmenter().augment(remote), node);
+            } catch (InvalidArgumentException e) {
+                // Capabilities the grid will never accept; retrying cannot help
+                throw e;
+            } catch (WebDriverException e) {
+                if (isClientError(e)) {
+                    throw e;
+                }
+                if (attempt >= maxRetries) {
+                    throw new WebDriverException("Could not start a session on " + gridUrl + " after "
+                        + (attempt + 1) + " attempts: " + e.getMessage(), e);
+                }
+                System.out.println("Grid session attempt " + (attempt + 1) + " failed, retrying in " + backoff + " ms: "
+                    + firstLine(e.getMessage()));
+                sleep(backoff);
+                backoff = Math.min(MAX_BACKOFF_MILLIS, Math.max(1, backoff * 2));
+            }
+        }
+    }
+
+    /**
+     * Remember which node a (possibly decorated) driver runs on
+     */
+    public static synchronized void register(WebDriver driver, String node) {
+        driverNodes.put(driver, node);
+    }
+
+    /**
+     * Node the driver runs on, or null for a local browser
+     */
+    public static synchronized String nodeOf(WebDriver driver) {
+        return driverNodes.get(driver);
+    }
+
+    public static synchronized void forget(WebDriver driver) {
+        driverNodes.remove(driver);
+    }
+
+    /**
+     * Add the duration of a test to the node it ran on
+     */
+    public static void recordTest(String node, long millis) {
+        NodeStats stats = stats(node);
+        stats.tests.incrementAndGet();
+        stats.testMillis.addAndGet(millis);
+    }
+
+    public static synchronized boolean hasSessions() {
+        return !nodeStats.isEmpty();
+    }
+
+    /**
+     * One line per node for the Extent report
+     */
+    public static synchronized String getNodeSummary() {
+        return nodeStats.entrySet().stream()
+            .map(e -> e.getKey() + ": " + e.getValue())
+            .collect(Collectors.joining("; "));
+    }
+
+    private static synchronized NodeStats stats(String node) {
+        return nodeStats.computeIfAbsent(node, k -> new NodeStats());
+    }
+
+    /**
+     * Ask the grid's GraphQL endpoint which node holds the session
+     * A standalone server, or a grid without GraphQL, is identified by the host in its se:cdp address instead
+     */
+    @SuppressWarnings("unchecked")
+    private static String findNode(URL gridUrl, RemoteWebDriver remote) {
+        String query = "{ session (id: \"" + remote.getSessionId() + "\") { nodeUri } }";
+        try {
+            HttpRequest request = HttpRequest.newBuilder(gridUrl.toURI().resolve("/graphql"))
+                .timeout(Duration.ofSeconds(5))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(JSON.toJson(Map.of("query", query))))
+                .build();
+            HttpResponse<String> response = HTTP.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200) {
+                Map<String, Object> body = JSON.toType(response.body(), Map.class);
+                Object data = body.get("data");
+                if (data instanceof Map && ((Map<String, Object>) data).get("session") instanceof Map) {
+                    Object nodeUri = ((Map<String, Object>) ((Map<String, Object>) data).get("session")).get("nodeUri");
+                    if (nodeUri != null) {
+                        return hostAndPort(String.valueOf(nodeUri));
+                    }
+                }
+            }
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            // Fall back to the capabilities below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Object cdp = remote.getCapabilities().getCapability("se:cdp");
+        return cdp != null ? hostAndPort(String.valueOf(cdp)) : gridUrl.getHost() + ":" + gridUrl.getPort();
+    }
+
+    private static String hostAndPort(String uri) {
+        try {
+            URI parsed = URI.create(uri);
+            return parsed.getHost() + (parsed.getPort() > 0 ? ":" + parsed.getPort() : "");
+        } catch (IllegalArgumentException e) {
+            return uri;
+        }
+    }
+
+    /**
+     * A 4xx answer to a new session (e.g. invalid argument) is the same on every attempt, so it is not retried
+     */
+    private static boolean isClientError(WebDriverException e) {
+        return e instanceof SessionNotCreatedException && e.getMessage() != null
+            && CLIENT_ERROR.matcher(e.getMessage()).find();
+    }
+
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "";
+        }
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry the grid session", e);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.fsc.load;
+
+import com.fsc.utils.ConfigReader;
+
+import java.time.Duration;
+import java.util.Random;
+
+/**
+ * How many virtual users run when: users start evenly over the ramp-up, all run through the steady phase,
+ * then stop one by one over the ramp-down
+ */
+public class LoadProfile {
+    private final int users;
+    private final Duration rampUp;
+    private final Duration steady;
+    private final Duration rampDown;
+    private final Duration thinkMin;
+    private final Duration thinkMax;
+
+    public LoadProfile(int users, Duration rampUp, Duration steady, Duration rampDown, Duration thinkMin, Duration thinkMax) {
+        if (users < 1) {
+            throw new IllegalArgumentException("A load profile needs at least one user, got " + users);
+        }
+        if (thinkMax.compareTo(thinkMin) < 0) {
+            throw new IllegalArgumentException("Maximum think time " + thinkMax.toMillis() + " ms is below the minimum " + thinkMin.toMillis() + " ms");
+        }
+        this.users = users;
+        this.rampUp = rampUp;
+        this.steady = steady;
+        this.rampDown = rampDown;
+        this.thinkMin = thinkMin;
+        this.thinkMax = thinkMax;
+    }
+
+    /**
+     * Profile from the load.* keys in config.properties
+     */
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(ConfigReader.getLoadUsers(),
+            Duration.ofSeconds(ConfigReader.getLoadRampUpSeconds()),
+            Duration.ofSeconds(ConfigReader.getLoadSteadySeconds()),
+            Duration.ofSeconds(ConfigReader.getLoadRampDownSeconds()),
+            Duration.ofMillis(ConfigReader.getLoadThinkMinMillis()),
+            Duration.ofMillis(ConfigReader.getLoadThinkMaxMillis()));
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    /**
+     * When user (0-based) starts, in milliseconds from the start of the run
+     */
+    public long startOffsetMillis(int user) {
+        return rampUp.toMillis() * user / users;
+    }
+
+    /**
+     * When user (0-based) stops starting new steps; the first user to start is the last to stop
+     */
+    public long stopOffsetMillis(int user) {
+        return steadyEndMillis() + rampDown.toMillis() * (users - user) / users;
+    }
+
+    public long steadyStartMillis() {
+        return rampUp.toMillis();
+    }
+
+    public long steadyEndMillis() {
+        return rampUp.toMillis() + steady.toMillis();
+    }
+
+    public long getTotalMillis() {
+        return steadyEndMillis() + rampDown.toMillis();
+    }
+
+    /**
+     * Users the profile has running at the offset
+     */
+    public int plannedUsersAt(long offsetMillis) {
+        int active = 0;
+        for (int user = 0; user < users; user++) {
+            if (offsetMillis >= startOffsetMillis(user) && offsetMillis < stopOffsetMillis(user)) {
+                active++;
+            }
+        }
+        return active;
+    }
+
+    /**
+     * Random pause between steps, uniformly between the minimum and maximum think time
+     */
+    public long thinkTimeMillis(Random random) {
+        long min = thinkMin.toMillis();
+        long spread = thinkMax.toMillis() - min;
+        return spread == 0 ? min : min + (long) (random.nextDouble() * (spread + 1));
+    }
+
+    @Override
+    public String toString() {
+        return users + " users, ramp-up " + rampUp.getSeconds() + " s, steady " + steady.getSeconds()
+            + " s, ramp-down " + rampDown.getSeconds() + " s, think " + thinkMin.toMillis() + "-" + thinkMax.toMillis() + " ms";
+    }
+}
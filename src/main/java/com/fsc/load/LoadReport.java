@@ -0,0 +1,167 @@
+package com.fsc.load;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a load run as LoadReport_&lt;timestamp&gt;.html and .json
+ * The HTML page has the per-step summary table and a timeline of running users, completed and failed steps.
+ */
+public class LoadReport {
+    private static final Json JSON = new Json();
+    private static final int[] PERCENTILES = {50, 90, 95, 99};
+    private static final int CHART_WIDTH = 760;
+    private static final int CHART_HEIGHT = 200;
+    private static final int AXIS = 30;
+
+    private LoadReport() {
+    }
+
+    /**
+     * Write both files into the directory and return the HTML one
+     */
+    public static Path write(LoadResults results, Path directory) {
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss"));
+        Path html = directory.resolve("LoadReport_" + timestamp + ".html");
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(html, html(results));
+            Files.writeString(directory.resolve("LoadReport_" + timestamp + ".json"), JSON.toJson(toJson(results)));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write load report: " + e.getMessage(), e);
+        }
+        return html;
+    }
+
+    static Map<String, Object> toJson(LoadResults results) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("profile", results.getProfile().toString());
+        report.put("durationMillis", results.getDurationMillis());
+        report.put("peakUsers", results.getPeakUsers());
+        Map<String, Object> steps = new LinkedHashMap<>();
+        for (LoadResults.StepSummary summary : results.summarize()) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", summary.getCount());
+            entry.put("errors", summary.getErrors());
+            for (int percentile : PERCENTILES) {
+                entry.put("p" + percentile, summary.percentile(percentile));
+            }
+            entry.put("max", summary.getMax());
+            entry.put("mean", summary.getMean());
+            entry.put("perMinute", round(summary.getThroughput()));
+            entry.put("steadyPerMinute", round(summary.getSteadyThroughput()));
+            entry.put("errorKinds", summary.getErrorKinds());
+            steps.put(summary.getStep(), entry);
+        }
+        report.put("steps", steps);
+        return report;
+    }
+
+    private static String html(LoadResults results) {
+        StringBuilder page = new StringBuilder();
+        page.append("<!DOCTYPE html><html><head><meta charset='utf-8'><title>Load Report</title><style>")
+            .append("body{font-family:sans-serif;margin:24px}table{border-collapse:collapse;margin:12px 0}")
+            .append("td,th{border:1px solid #ccc;padding:4px 10px;text-align:right}td:first-child,th:first-child{text-align:left}")
+            .append(".bad{color:#c0392b}</style></head><body>")
+            .append("<h1>Load Report</h1><p>").append(escape(results.getProfile().toString()))
+            .append(String.format(Locale.ROOT, " &mdash; ran %.1f s, peak %d users, %d steps, %d errors</p>",
+                results.getDurationMillis() / 1000.0, results.getPeakUsers(), results.getSampleCount(), results.getErrorCount()));
+
+        page.append("<table><tr><th>Step</th><th>Count</th><th>Errors</th>");
+        for (int percentile : PERCENTILES) {
+            page.append("<th>p").append(percentile).append(" ms</th>");
+        }
+        page.append("<th>Max ms</th><th>Per min</th><th>Steady per min</th></tr>");
+        List<LoadResults.StepSummary> summaries = results.summarize();
+        for (LoadResults.StepSummary summary : summaries) {
+            page.append("<tr><td>").append(escape(summary.getStep())).append("</td><td>").append(summary.getCount())
+                .append("</td><td").append(summary.getErrors() > 0 ? " class='bad'>" : ">")
+                .append(String.format(Locale.ROOT, "%d (%.1f%%)", summary.getErrors(), summary.getErrorRate() * 100)).append("</td>");
+            for (int percentile : PERCENTILES) {
+                page.append("<td>").append(summary.percentile(percentile)).append("</td>");
+            }
+            page.append("<td>").append(summary.getMax()).append("</td>")
+                .append(String.format(Locale.ROOT, "<td>%.1f</td><td>%.1f</td></tr>", summary.getThroughput(), summary.getSteadyThroughput()));
+        }
+        page.append("</table>");
+
+        page.append("<h2>Timeline</h2>").append(timelineChart(results.timeline()));
+
+        for (LoadResults.StepSummary summary : summaries) {
+            if (summary.getErrorKinds().isEmpty()) {
+                continue;
+            }
+            page.append("<h3>").append(escape(summary.getStep())).append(" errors</h3><ul>");
+            summary.getErrorKinds().forEach((message, count) ->
+                page.append("<li>").append(count).append(" &times; ").append(escape(message)).append("</li>"));
+            page.append("</ul>");
+        }
+        return page.append("</body></html>").toString();
+    }
+
+    /**
+     * Completed (blue) and failed (red) steps per second as bars, running users as a line on the right-hand scale
+     */
+    private static String timelineChart(List<int[]> timeline) {
+        int maxSteps = 1;
+        int maxUsers = 1;
+        for (int[] second : timeline) {
+            maxSteps = Math.max(maxSteps, second[1] + second[2]);
+            maxUsers = Math.max(maxUsers, second[0]);
+        }
+        double slot = (double) CHART_WIDTH / timeline.size();
+        StringBuilder svg = new StringBuilder(String.format(Locale.ROOT,
+            "<svg xmlns='http://www.w3.org/2000/svg' width='%d' height='%d' font-family='sans-serif' font-size='11'>",
+            CHART_WIDTH + 2 * AXIS, CHART_HEIGHT + AXIS));
+        StringBuilder users = new StringBuilder();
+        for (int i = 0; i < timeline.size(); i++) {
+            int[] second = timeline.get(i);
+            double x = AXIS + i * slot;
+            double completed = (double) second[1] / maxSteps * CHART_HEIGHT;
+            double failed = (double) second[2] / maxSteps * CHART_HEIGHT;
+            svg.append(rect(x, CHART_HEIGHT - completed, slot, completed, "#9cc3e6"));
+            svg.append(rect(x, CHART_HEIGHT - completed - failed, slot, failed, "#c0392b"));
+            users.append(String.format(Locale.ROOT, "%.1f,%.1f %.1f,%.1f ", x, userY(second[0], maxUsers), x + slot, userY(second[0], maxUsers)));
+        }
+        svg.append("<polyline fill='none' stroke='#2c3e50' stroke-width='2' points='").append(users.toString().trim()).append("'/>");
+        svg.append(String.format(Locale.ROOT, "<text x='0' y='10'>%d/s</text><text x='%d' y='10'>%d users</text>",
+            maxSteps, CHART_WIDTH + AXIS + 2, maxUsers));
+        svg.append(String.format(Locale.ROOT, "<text x='%d' y='%d'>0 s</text><text x='%d' y='%d' text-anchor='end'>%d s</text>",
+            AXIS, CHART_HEIGHT + 16, CHART_WIDTH + AXIS, CHART_HEIGHT + 16, timeline.size()));
+        svg.append(String.format(Locale.ROOT, "<rect x='%d' y='%d' width='10' height='10' fill='#9cc3e6'/><text x='%d' y='%d'>completed steps</text>",
+            AXIS + 80, CHART_HEIGHT + 18, AXIS + 94, CHART_HEIGHT + 27));
+        svg.append(String.format(Locale.ROOT, "<rect x='%d' y='%d' width='10' height='10' fill='#c0392b'/><text x='%d' y='%d'>failed steps</text>",
+            AXIS + 200, CHART_HEIGHT + 18, AXIS + 214, CHART_HEIGHT + 27));
+        svg.append(String.format(Locale.ROOT, "<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='#2c3e50' stroke-width='2'/><text x='%d' y='%d'>running users</text>",
+            AXIS + 300, CHART_HEIGHT + 23, AXIS + 310, CHART_HEIGHT + 23, AXIS + 314, CHART_HEIGHT + 27));
+        return svg.append("</svg>").toString();
+    }
+
+    private static double userY(int users, int maxUsers) {
+        return CHART_HEIGHT - (double) users / maxUsers * (CHART_HEIGHT - 14);
+    }
+
+    private static String rect(double x, double y, double width, double height, String fill) {
+        if (height <= 0) {
+            return "";
+        }
+        return String.format(Locale.ROOT, "<rect x='%.1f' y='%.1f' width='%.1f' height='%.1f' fill='%s'/>", x, y, width, height, fill);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
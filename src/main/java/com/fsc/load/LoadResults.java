@@ -0,0 +1,263 @@
+package com.fsc.load;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every step sample and user start/stop of a load run, recorded from all virtual user threads
+ * Percentiles come from the raw samples; the power-of-two buckets of LatencyHistogram are too coarse here.
+ */
+public class LoadResults {
+    private static final int MAX_ERROR_KINDS = 10;
+
+    private final LoadProfile profile;
+    private final List<Sample> samples = new ArrayList<>();
+    private final List<long[]> userEvents = new ArrayList<>();
+    private volatile long durationMillis;
+
+    private static class Sample {
+        private final String step;
+        private final long endOffset;
+        private final long millis;
+        private final String error;
+
+        private Sample(String step, long endOffset, long millis, String error) {
+            this.step = step;
+            this.endOffset = endOffset;
+            this.millis = millis;
+            this.error = error;
+        }
+    }
+
+    /**
+     * Latency, throughput and errors of one step over the whole run
+     */
+    public static class StepSummary {
+        private final String step;
+        private final int count;
+        private final int errors;
+        private final List<Long> sorted;
+        private final double throughput;
+        private final double steadyThroughput;
+        private final Map<String, Integer> errorKinds;
+
+        private StepSummary(String step, int count, int errors, List<Long> sorted, double throughput, double steadyThroughput,
+                            Map<String, Integer> errorKinds) {
+            this.step = step;
+            this.count = count;
+            this.errors = errors;
+            this.sorted = sorted;
+            this.throughput = throughput;
+            this.steadyThroughput = steadyThroughput;
+            this.errorKinds = errorKinds;
+        }
+
+        public String getStep() {
+            return step;
+        }
+
+        /**
+         * Samples including failures
+         */
+        public int getCount() {
+            return count;
+        }
+
+        public int getErrors() {
+            return errors;
+        }
+
+        public double getErrorRate() {
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        /**
+         * Percentile of the successful samples in milliseconds, 0 when none succeeded
+         */
+        public long percentile(int percentile) {
+            if (sorted.isEmpty()) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+            return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+        }
+
+        public long getMax() {
+            return sorted.isEmpty() ? 0 : sorted.get(sorted.size() - 1);
+        }
+
+        public long getMean() {
+            return sorted.isEmpty() ? 0 : Math.round(sorted.stream().mapToLong(Long::longValue).average().orElse(0));
+        }
+
+        /**
+         * Completed steps per minute over the whole run
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        /**
+         * Completed steps per minute while every user was running
+         */
+        public double getSteadyThroughput() {
+            return steadyThroughput;
+        }
+
+        /**
+         * Failure messages and how often each one occurred
+         */
+        public Map<String, Integer> getErrorKinds() {
+            return errorKinds;
+        }
+    }
+
+    public LoadResults(LoadProfile profile) {
+        this.profile = profile;
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    public synchronized void userStarted(long offsetMillis) {
+        userEvents.add(new long[]{offsetMillis, 1});
+    }
+
+    public synchronized void userStopped(long offsetMillis) {
+        userEvents.add(new long[]{offsetMillis, -1});
+    }
+
+    /**
+     * Record a step that ended at the offset; error is null when it succeeded
+     */
+    public synchronized void record(String step, long endOffsetMillis, long millis, Throwable error) {
+        samples.add(new Sample(step, endOffsetMillis, millis, error == null ? null : describe(error)));
+    }
+
+    /**
+     * Set once every user has stopped
+     */
+    public void finish(long durationMillis) {
+        this.durationMillis = durationMillis;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public synchronized int getSampleCount() {
+        return samples.size();
+    }
+
+    public synchronized int getErrorCount() {
+        return (int) samples.stream().filter(s -> s.error != null).count();
+    }
+
+    /**
+     * One summary per step, in the order the steps first ran
+     */
+    public synchronized List<StepSummary> summarize() {
+        Map<String, List<Sample>> byStep = new LinkedHashMap<>();
+        for (Sample sample : samples) {
+            byStep.computeIfAbsent(sample.step, k -> new ArrayList<>()).add(sample);
+        }
+
+        double runMinutes = Math.max(durationMillis, 1) / 60000.0;
+        long steadyStart = profile.steadyStartMillis();
+        long steadyEnd = profile.steadyEndMillis();
+        double steadyMinutes = (steadyEnd - steadyStart) / 60000.0;
+
+        List<StepSummary> summaries = new ArrayList<>();
+        byStep.forEach((step, stepSamples) -> {
+            List<Long> durations = new ArrayList<>();
+            Map<String, Integer> errorKinds = new LinkedHashMap<>();
+            int errors = 0;
+            int completed = 0;
+            int steadyCompleted = 0;
+            for (Sample sample : stepSamples) {
+                if (sample.error != null) {
+                    errors++;
+                    if (errorKinds.size() < MAX_ERROR_KINDS || errorKinds.containsKey(sample.error)) {
+                        errorKinds.merge(sample.error, 1, Integer::sum);
+                    }
+                    continue;
+                }
+                durations.add(sample.millis);
+                completed++;
+                if (sample.endOffset >= steadyStart && sample.endOffset < steadyEnd) {
+                    steadyCompleted++;
+                }
+            }
+            Collections.sort(durations);
+            summaries.add(new StepSummary(step, stepSamples.size(), errors, durations, completed / runMinutes,
+                steadyMinutes > 0 ? steadyCompleted / steadyMinutes : 0, errorKinds));
+        });
+        return summaries;
+    }
+
+    /**
+     * Per second of the run: running users, completed steps and failed steps
+     */
+    public synchronized List<int[]> timeline() {
+        int seconds = (int) Math.max(1, (durationMillis + 999) / 1000);
+        int[] users = new int[seconds];
+        int[] completed = new int[seconds];
+        int[] failed = new int[seconds];
+
+        List<long[]> events = new ArrayList<>(userEvents);
+        events.sort((a, b) -> Long.compare(a[0], b[0]));
+        int running = 0;
+        int next = 0;
+        for (int second = 0; second < seconds; second++) {
+            int peak = running;
+            while (next < events.size() && events.get(next)[0] < (second + 1) * 1000L) {
+                running += (int) events.get(next++)[1];
+                peak = Math.max(peak, running);
+            }
+            users[second] = peak;
+        }
+        for (Sample sample : samples) {
+            int second = (int) Math.min(seconds - 1, sample.endOffset / 1000);
+            if (sample.error == null) {
+                completed[second]++;
+            } else {
+                failed[second]++;
+            }
+        }
+
+        List<int[]> timeline = new ArrayList<>();
+        for (int second = 0; second < seconds; second++) {
+            timeline.add(new int[]{users[second], completed[second], failed[second]});
+        }
+        return timeline;
+    }
+
+    /**
+     * Most users that were running at the same time
+     */
+    public synchronized int getPeakUsers() {
+        List<long[]> events = new ArrayList<>(userEvents);
+        // Stops sort before starts at the same offset so a handover is not counted as overlap
+        events.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(a[1], b[1]));
+        int running = 0;
+        int peak = 0;
+        for (long[] event : events) {
+            running += (int) event[1];
+            peak = Math.max(peak, running);
+        }
+        return peak;
+    }
+
+    private static String describe(Throwable error) {
+        String message = error.getMessage();
+        String firstLine = message == null ? "" : message.split("\\R", 2)[0];
+        if (firstLine.length() > 160) {
+            firstLine = firstLine.substring(0, 160) + "...";
+        }
+        return error.getClass().getSimpleName() + (firstLine.isEmpty() ? "" : ": " + firstLine);
+    }
+}
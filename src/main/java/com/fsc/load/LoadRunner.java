@@ -0,0 +1,207 @@
+package com.fsc.load;
+
+import com.fsc.driver.DriverFactory;
+import com.fsc.metrics.CommandMetrics;
+import com.fsc.metrics.PagePerformance;
+import com.fsc.utils.FrameworkConfig;
+import com.fsc.utils.StepRetry;
+import com.fsc.utils.TestMetrics;
+import org.openqa.selenium.WebDriver;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Drives the page-object flows with many concurrent browsers following a LoadProfile
+ * Each virtual user has its own thread and browser, logs in once and repeats its flow with random think time
+ * between steps until its stop time, so the Lightning pages are measured under realistic concurrent load.
+ *
+ * Run the SalesAppTest flow against the org in config.properties with:
+ * mvn -q compile exec:java -Dexec.mainClass=com.fsc.load.LoadRunner -Dload.users=10 -Dload.steady.seconds=300
+ *
+ * Browsers run headless unless headless is set with -D or FSC_HEADLESS. The report is written next to the
+ * Extent reports in test-output/extent-reports.
+ */
+public class LoadRunner {
+    // Time left for iterations in flight to finish after the last user's stop time
+    private static final long GRACE_MILLIS = 120_000;
+
+    private final LoadProfile profile;
+    private final Supplier<WebDriver> browsers;
+    private final Supplier<? extends VirtualUserFlow> flows;
+
+    public LoadRunner(LoadProfile profile, Supplier<WebDriver> browsers, Supplier<? extends VirtualUserFlow> flows) {
+        this.profile = profile;
+        this.browsers = browsers;
+        this.flows = flows;
+    }
+
+    public static void main(String[] args) {
+        if (System.getProperty("headless") == null && System.getenv(FrameworkConfig.toEnvironmentName("headless")) == null) {
+            System.setProperty("headless", "true");
+        }
+        LoadResults results = new LoadRunner(LoadProfile.fromConfig(), DriverFactory::createDriver, SalesAccountFlow::fromConfig).run();
+        Path report = LoadReport.write(results, Paths.get(System.getProperty("user.dir"), "test-output", "extent-reports"));
+        System.out.println("Load report: " + report.toAbsolutePath());
+        // Browser threads of the WebDriver clients may linger
+        System.exit(0);
+    }
+
+    /**
+     * Run the whole profile and wait for every user to finish
+     */
+    public LoadResults run() {
+        LoadResults results = new LoadResults(profile);
+        System.out.println("Starting load run: " + profile);
+        long runStart = System.currentTimeMillis();
+
+        ExecutorService executor = Executors.newFixedThreadPool(profile.getUsers(), runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Future<?>> users = new ArrayList<>();
+        for (int user = 0; user < profile.getUsers(); user++) {
+            int index = user;
+            users.add(executor.submit(() -> new VirtualUser(index, runStart, results).run()));
+        }
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(profile.getTotalMillis() + GRACE_MILLIS, TimeUnit.MILLISECONDS)) {
+                System.out.println("WARNING: virtual users still running " + GRACE_MILLIS / 1000 + " s after the profile ended, interrupting them");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        users.forEach(future -> future.cancel(true));
+        results.finish(System.currentTimeMillis() - runStart);
+
+        for (LoadResults.StepSummary summary : results.summarize()) {
+            System.out.println(String.format(Locale.ROOT, "  %-16s %5d runs %4d errors  p50 %6d ms  p95 %6d ms  %.1f/min steady",
+                summary.getStep(), summary.getCount(), summary.getErrors(), summary.percentile(50), summary.percentile(95),
+                summary.getSteadyThroughput()));
+        }
+        return results;
+    }
+
+    /**
+     * One user's browser and timeline; runs on its own thread
+     */
+    private class VirtualUser implements VirtualUserFlow.Steps {
+        private final int index;
+        private final long runStart;
+        private final LoadResults results;
+        private final long stopAt;
+        private final Random random;
+
+        private VirtualUser(int index, long runStart, LoadResults results) {
+            this.index = index;
+            this.runStart = runStart;
+            this.results = results;
+            this.stopAt = runStart + profile.stopOffsetMillis(index);
+            this.random = new Random(runStart + index);
+        }
+
+        void run() {
+            if (!pause(runStart + profile.startOffsetMillis(index) - System.currentTimeMillis())) {
+                return;
+            }
+            results.userStarted(offset());
+            WebDriver driver = null;
+            VirtualUserFlow flow = flows.get();
+            try {
+                driver = browsers.get();
+                WebDriver browser = driver;
+                step("login", () -> flow.login(browser));
+                while (!timeUp()) {
+                    try {
+                        flow.iterate(driver, this);
+                    } catch (RuntimeException e) {
+                        if (Thread.currentThread().isInterrupted()) {
+                            break;
+                        }
+                        recover(flow, driver);
+                    } finally {
+                        // The page objects report into per-test thread locals; nothing reads them during a load run
+                        PagePerformance.finishTest();
+                        CommandMetrics.startTest();
+                        TestMetrics.drain();
+                        StepRetry.startTest();
+                    }
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Virtual user " + (index + 1) + " stopped: " + e.getMessage());
+            } finally {
+                if (driver != null) {
+                    try {
+                        driver.quit();
+                    } catch (RuntimeException e) {
+                        System.out.println("Failed to quit browser of virtual user " + (index + 1) + ": " + e.getMessage());
+                    }
+                }
+                results.userStopped(offset());
+            }
+        }
+
+        @Override
+        public void step(String name, Runnable action) {
+            if (timeUp()) {
+                return;
+            }
+            long start = System.currentTimeMillis();
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                results.record(name, offset(), System.currentTimeMillis() - start, e);
+                throw e;
+            }
+            results.record(name, offset(), System.currentTimeMillis() - start, null);
+            pause(Math.min(profile.thinkTimeMillis(random), stopAt - System.currentTimeMillis()));
+        }
+
+        private void recover(VirtualUserFlow flow, WebDriver driver) {
+            if (timeUp()) {
+                return;
+            }
+            try {
+                flow.recover(driver);
+            } catch (RuntimeException e) {
+                results.record("recover", offset(), 0, e);
+                // Give a struggling org a moment before the next iteration
+                pause(Math.min(profile.thinkTimeMillis(random), stopAt - System.currentTimeMillis()));
+            }
+        }
+
+        private boolean timeUp() {
+            return System.currentTimeMillis() >= stopAt || Thread.currentThread().isInterrupted();
+        }
+
+        private long offset() {
+            return System.currentTimeMillis() - runStart;
+        }
+
+        private boolean pause(long millis) {
+            if (millis <= 0) {
+                return true;
+            }
+            try {
+                Thread.sleep(millis);
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+}
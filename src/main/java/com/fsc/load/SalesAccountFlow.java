@@ -0,0 +1,70 @@
+package com.fsc.load;
+
+import com.fsc.auth.LoginVerification;
+import com.fsc.auth.SessionManager;
+import com.fsc.pages.SalesAppAccountPage;
+import com.fsc.pages.SalesAppPage;
+import com.fsc.pages.SalesforceLoginPage;
+import com.fsc.utils.ConfigReader;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * The SalesAppTest flow as a virtual user: open the Sales app, the Accounts tab, then search and open an Account
+ * Users log in through one SessionManager, so with session reuse only the first one uses the login form
+ */
+public class SalesAccountFlow implements VirtualUserFlow {
+    private final SessionManager sessions;
+    private final String loginUrl;
+    private final String username;
+    private final String password;
+    private final String accountName;
+
+    public SalesAccountFlow(SessionManager sessions, String loginUrl, String username, String password, String accountName) {
+        this.sessions = sessions;
+        this.loginUrl = loginUrl;
+        this.username = username;
+        this.password = password;
+        this.accountName = accountName;
+    }
+
+    /**
+     * Flow for the org and user in config.properties, searching for load.search.account
+     */
+    public static SalesAccountFlow fromConfig() {
+        return new SalesAccountFlow(SessionManager.getInstance(), ConfigReader.getSalesforceUrl(), ConfigReader.getUsername(), ConfigReader.getPassword(),
+            ConfigReader.getLoadSearchAccount());
+    }
+
+    @Override
+    public void login(WebDriver driver) {
+        sessions.login(driver, this::loginThroughUi);
+    }
+
+    @Override
+    public void iterate(WebDriver driver, Steps steps) {
+        SalesAppPage salesAppPage = new SalesAppPage(driver);
+        SalesAppAccountPage accountPage = new SalesAppAccountPage(driver);
+        steps.step("sales-app", salesAppPage::navigateToSalesApp);
+        steps.step("account-tab", accountPage::navigateToAccountTab);
+        steps.step("account-search", () -> accountPage.searchAccount(accountName));
+    }
+
+    @Override
+    public void recover(WebDriver driver) {
+        login(driver);
+    }
+
+    private void loginThroughUi(WebDriver driver) {
+        SalesforceLoginPage loginPage = new SalesforceLoginPage(driver);
+        loginPage.navigateToLogin(loginUrl);
+        loginPage.login(username, password);
+        LoginVerification.fromConfig().complete(driver);
+        new WebDriverWait(driver, Duration.ofSeconds(30)).until(d -> {
+            String url = d.getCurrentUrl();
+            return url.contains("lightning") || url.contains("home");
+        });
+    }
+}
@@ -0,0 +1,30 @@
+package com.fsc.load;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * What one virtual user does in its own browser: log in once, then repeat an iteration until the profile stops it
+ */
+public interface VirtualUserFlow {
+
+    /**
+     * Times one named step of an iteration
+     */
+    interface Steps {
+        /**
+         * Run and time the action, then pause for a think time
+         * Does nothing once the user's time is up; a failure is recorded and rethrown, ending the iteration
+         */
+        void step(String name, Runnable action);
+    }
+
+    void login(WebDriver driver);
+
+    void iterate(WebDriver driver, Steps steps);
+
+    /**
+     * Bring the browser back to a known page after a failed iteration
+     */
+    default void recover(WebDriver driver) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.fsc.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * WebDriver command latencies for the test running on the current thread, plus suite-wide totals
+ * Filled by CommandMetricsListener; TestListener reports each test and exports the suite totals
+ */
+public class CommandMetrics {
+    private static final Json JSON = new Json();
+
+    private static final ThreadLocal<Map<String, LatencyHistogram>> testCommands = ThreadLocal.withInitial(LinkedHashMap::new);
+    private static final ThreadLocal<Map<String, LatencyHistogram>> testSteps = ThreadLocal.withInitial(LinkedHashMap::new);
+    private static final Map<String, LatencyHistogram> suiteCommands = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> suiteSteps = new ConcurrentHashMap<>();
+
+    /**
+     * Latencies recorded by one test
+     */
+    public static class Snapshot {
+        private final Map<String, LatencyHistogram> commands;
+        private final Map<String, LatencyHistogram> steps;
+
+        Snapshot(Map<String, LatencyHistogram> commands, Map<String, LatencyHistogram> steps) {
+            this.commands = commands;
+            this.steps = steps;
+        }
+
+        /**
+         * Histograms per command, slowest total first
+         */
+        public Map<String, LatencyHistogram> getCommands() {
+            return sortByTotal(commands);
+        }
+
+        /**
+         * Histograms per page-object method, slowest total first
+         */
+        public Map<String, LatencyHistogram> getSteps() {
+            return sortByTotal(steps);
+        }
+
+        public boolean isEmpty() {
+            return commands.isEmpty();
+        }
+    }
+
+    static void record(String command, String step, long nanos) {
+        testCommands.get().computeIfAbsent(command, k -> new LatencyHistogram()).record(nanos);
+        if (step != null) {
+            testSteps.get().computeIfAbsent(step, k -> new LatencyHistogram()).record(nanos);
+        }
+    }
+
+    /**
+     * Discard anything recorded on this thread outside a test, e.g. while the previous browser was reset
+     */
+    public static void startTest() {
+        testCommands.get().clear();
+        testSteps.get().clear();
+    }
+
+    /**
+     * Return this thread's latencies, add them to the suite totals and start over
+     */
+    public static Snapshot finishTest() {
+        Snapshot snapshot = new Snapshot(new LinkedHashMap<>(testCommands.get()), new LinkedHashMap<>(testSteps.get()));
+        snapshot.commands.forEach((name, histogram) -> suiteCommands.computeIfAbsent(name, k -> new LatencyHistogram()).merge(histogram));
+        snapshot.steps.forEach((name, histogram) -> suiteSteps.computeIfAbsent(name, k -> new LatencyHistogram()).merge(histogram));
+        startTest();
+        return snapshot;
+    }
+
+    /**
+     * Write the suite totals as command-latency.json and command-latency.csv in the directory
+     */
+    public static void exportSuite(Path directory) {
+        try {
+            Files.createDirectories(directory);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("commands", toJson(sortByTotal(suiteCommands)));
+            report.put("steps", toJson(sortByTotal(suiteSteps)));
+            Files.writeString(directory.resolve("command-latency.json"), JSON.toJson(report));
+
+            List<String> lines = new ArrayList<>();
+            lines.add("type,name,count,total_ms,mean_ms,p50_ms,p95_ms,p99_ms,max_ms");
+            sortByTotal(suiteCommands).forEach((name, h) -> lines.add(csvRow("command", name, h)));
+            sortByTotal(suiteSteps).forEach((name, h) -> lines.add(csvRow("step", name, h)));
+            Files.write(directory.resolve("command-latency.csv"), lines);
+
+            System.out.println("Command latency metrics written to " + directory);
+        } catch (IOException e) {
+            System.err.println("Failed to export command latency metrics: " + e.getMessage());
+        }
+    }
+
+    private static Map<String, Object> toJson(Map<String, LatencyHistogram> histograms) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        histograms.forEach((name, h) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", h.getCount());
+            entry.put("totalMs", round(h.getTotalMillis()));
+            entry.put("meanMs", round(h.getMeanMillis()));
+            entry.put("p50Ms", round(h.getPercentileMillis(50)));
+            entry.put("p95Ms", round(h.getPercentileMillis(95)));
+            entry.put("p99Ms", round(h.getPercentileMillis(99)));
+            entry.put("maxMs", round(h.getMaxMillis()));
+            // Count per bucket; bucket i holds calls that took less than 2^i microseconds
+            entry.put("buckets", Arrays.stream(h.getBuckets()).boxed().collect(Collectors.toList()));
+            json.put(name, entry);
+        });
+        return json;
+    }
+
+    private static String csvRow(String type, String name, LatencyHistogram h) {
+        return String.format(Locale.ROOT, "%s,\"%s\",%d,%.2f,%.2f,%.2f,%.2f,%.2f,%.2f", type, name.replace("\"", "\"\""),
+            h.getCount(), h.getTotalMillis(), h.getMeanMillis(), h.getPercentileMillis(50),
+            h.getPercentileMillis(95), h.getPercentileMillis(99), h.getMaxMillis());
+    }
+
+    private static Map<String, LatencyHistogram> sortByTotal(Map<String, LatencyHistogram> histograms) {
+        Map<String, LatencyHistogram> sorted = new LinkedHashMap<>();
+        histograms.entrySet().stream()
+            .sorted(Comparator.comparingDouble((Map.Entry<String, LatencyHistogram> e) -> e.getValue().getTotalMillis()).reversed())
+            .forEach(e -> sorted.put(e.getKey(), e.getValue()));
+        return sorted;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,69 @@
+package com.fsc.metrics;
+
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Times every call made through a decorated driver and the elements, navigation and options it returns
+ * Each call is recorded under its command (e.g. WebElement.click) and the page-object method that made it
+ */
+public class CommandMetricsListener implements WebDriverListener {
+    private static final String PAGES_PACKAGE = "com.fsc.pages.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    // Calls can nest (e.g. an element method that triggers a driver call), so start times are a stack
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, "");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, " (failed)");
+    }
+
+    private void finish(Method method, String suffix) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - start;
+        String command = method.getDeclaringClass().getSimpleName() + "." + method.getName() + suffix;
+        CommandMetrics.record(command, callingPageMethod(), nanos);
+    }
+
+    /**
+     * Innermost page-object method on the stack, e.g. SalesAppAccountPage.searchAccount, or null
+     */
+    private static String callingPageMethod() {
+        return STACK_WALKER.walk(frames -> frames
+            .filter(frame -> frame.getClassName().startsWith(PAGES_PACKAGE))
+            .findFirst()
+            .map(frame -> {
+                String className = frame.getClassName().substring(PAGES_PACKAGE.length());
+                int nested = className.indexOf('$');
+                return (nested < 0 ? className : className.substring(0, nested)) + "." + methodName(frame.getMethodName());
+            })
+            .orElse(null));
+    }
+
+    // Lambdas compile to lambda$searchAccount$0; report the enclosing method
+    private static String methodName(String name) {
+        if (name.startsWith("lambda$")) {
+            int end = name.indexOf('$', "lambda$".length());
+            return end < 0 ? name : name.substring("lambda$".length(), end);
+        }
+        return name;
+    }
+}
@@ -0,0 +1,87 @@
+package com.fsc.metrics;
+
+/**
+ * Fixed-size latency histogram with power-of-two buckets
+ * Recording is an array increment, so it is cheap enough to run on every WebDriver command
+ */
+public class LatencyHistogram {
+    // Bucket i counts durations below 2^i microseconds (and at least 2^(i-1)); the last bucket takes the rest
+    private static final int BUCKETS = 36;
+
+    private final long[] buckets = new long[BUCKETS];
+    private long count;
+    private long totalNanos;
+    private long maxNanos;
+
+    public synchronized void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        int bucket = Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+        buckets[bucket]++;
+        count++;
+        totalNanos += nanos;
+        maxNanos = Math.max(maxNanos, nanos);
+    }
+
+    /**
+     * Add everything recorded by another histogram
+     */
+    public synchronized void merge(LatencyHistogram other) {
+        long[] otherBuckets;
+        long otherCount;
+        long otherTotal;
+        long otherMax;
+        synchronized (other) {
+            otherBuckets = other.buckets.clone();
+            otherCount = other.count;
+            otherTotal = other.totalNanos;
+            otherMax = other.maxNanos;
+        }
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] += otherBuckets[i];
+        }
+        count += otherCount;
+        totalNanos += otherTotal;
+        maxNanos = Math.max(maxNanos, otherMax);
+    }
+
+    public synchronized long getCount() {
+        return count;
+    }
+
+    public synchronized double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public synchronized double getMeanMillis() {
+        return count == 0 ? 0 : totalNanos / 1_000_000.0 / count;
+    }
+
+    public synchronized double getMaxMillis() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    /**
+     * Upper bound of the bucket holding the given percentile (0-100), capped at the maximum seen
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile / 100.0 * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= Math.max(1, rank)) {
+                return Math.min((1L << i) / 1000.0, getMaxMillis());
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * Bucket counts, for export; bucket i covers durations below 2^i microseconds
+     */
+    public synchronized long[] getBuckets() {
+        return buckets.clone();
+    }
+}
@@ -0,0 +1,355 @@
+package com.fsc.metrics;
+
+import com.fsc.utils.ConfigReader;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Browser-side performance of page-object steps: Navigation/Resource Timing, paints, long tasks and
+ * Salesforce's Experienced Page Time (EPT) where the page reports it
+ *
+ * A step covers everything from start() to finish(). Lightning navigates without reloading the document,
+ * so navigation and paint timings only apply to steps that loaded a new document; resources and long tasks
+ * are counted from the step's start either way. Each metric can have a budget, perf.budget.&lt;step&gt;.&lt;metric&gt;,
+ * and perf.budget.mode decides whether going over it warns or fails the test.
+ */
+public class PagePerformance {
+    private static final Json JSON = new Json();
+
+    // Long tasks and largest paints are only reported to observers, so they are buffered from document start
+    static final String INSTRUMENTATION =
+        "(function () {" +
+        "  if (window.__fscPerf) { return; }" +
+        "  var perf = window.__fscPerf = { longTasks: [], lcp: [] };" +
+        // Lightning loads far more than the default 250 entries
+        "  try { performance.setResourceTimingBufferSize(5000); } catch (e) {}" +
+        "  function observe(type, list) {" +
+        "    try {" +
+        "      new PerformanceObserver(function (entries) {" +
+        "        entries.getEntries().forEach(function (e) {" +
+        "          list.push({ start: e.startTime, duration: e.duration, time: e.renderTime || e.loadTime || e.startTime });" +
+        "        });" +
+        "        if (list.length > 1000) { list.splice(0, list.length - 1000); }" +
+        "      }).observe({ type: type, buffered: true });" +
+        "    } catch (e) {}" +
+        "  }" +
+        "  observe('longtask', perf.longTasks);" +
+        "  observe('largest-contentful-paint', perf.lcp);" +
+        "})();";
+
+    // EPT as reported by the current Lightning page transaction, or by a measure whose name mentions it
+    private static final String EPT_FUNCTION =
+        "function ept(since) {" +
+        "  try {" +
+        "    var t = window.$A && $A.metricsService && $A.metricsService.getCurrentPageTransaction" +
+        "      && $A.metricsService.getCurrentPageTransaction();" +
+        "    var context = t && ((t.config && t.config.context) || t.context);" +
+        "    if (context && typeof context.ept === 'number') { return context.ept; }" +
+        "  } catch (e) {}" +
+        "  var measures = performance.getEntriesByType('measure').filter(function (m) {" +
+        "    return /\\bept\\b|experienced.?page.?time/i.test(m.name) && m.startTime >= since;" +
+        "  });" +
+        "  return measures.length ? measures[measures.length - 1].duration : null;" +
+        "}";
+
+    private static final String START_SCRIPT = INSTRUMENTATION + EPT_FUNCTION +
+        "performance.clearResourceTimings();" +
+        "return { now: performance.now(), origin: performance.timeOrigin, ept: ept(0) };";
+
+    private static final String COLLECT_SCRIPT = INSTRUMENTATION + EPT_FUNCTION +
+        "var since = arguments[0], perf = window.__fscPerf;" +
+        // A different time origin means the step loaded a new document; its timeline starts at 0
+        "var reloaded = Math.abs(performance.timeOrigin - arguments[1]) > 1;" +
+        "if (reloaded) { since = 0; }" +
+        "var r = { reloaded: reloaded };" +
+        "if (reloaded) {" +
+        "  var nav = performance.getEntriesByType('navigation')[0];" +
+        "  if (nav) { r.ttfb = nav.responseStart; r.domContentLoaded = nav.domContentLoadedEventEnd; r.load = nav.loadEventEnd; }" +
+        "  performance.getEntriesByType('paint').forEach(function (p) {" +
+        "    if (p.name === 'first-contentful-paint') { r.fcp = p.startTime; }" +
+        "  });" +
+        "}" +
+        "var lcp = perf.lcp.filter(function (e) { return e.time >= since; });" +
+        "if (lcp.length) { r.lcp = lcp[lcp.length - 1].time - since; }" +
+        "var tasks = perf.longTasks.filter(function (t) { return t.start >= since; });" +
+        "r.longTaskCount = tasks.length;" +
+        "r.longTaskMs = tasks.reduce(function (sum, t) { return sum + t.duration; }, 0);" +
+        "var resources = performance.getEntriesByType('resource').filter(function (e) { return e.startTime >= since; });" +
+        "r.requests = resources.length;" +
+        "r.transferBytes = resources.reduce(function (sum, e) { return sum + (e.transferSize || 0); }, 0);" +
+        "r.slowest = resources.sort(function (a, b) { return b.duration - a.duration; }).slice(0, 3).map(function (e) {" +
+        "  return Math.round(e.duration) + ' ms ' + e.name.split('?')[0].slice(-80);" +
+        "});" +
+        "var e = ept(since);" +
+        "if (e !== null && (reloaded || e !== arguments[2])) { r.ept = e; }" +
+        "return r;";
+
+    private static final ThreadLocal<List<PageTiming>> testTimings = ThreadLocal.withInitial(ArrayList::new);
+    private static final Map<String, List<PageTiming>> suiteTimings = new ConcurrentHashMap<>();
+
+    /**
+     * Timings of one step
+     * Metrics are in milliseconds, except requests (count) and transfer.kb (kilobytes)
+     */
+    public static class PageTiming {
+        private final String step;
+        private final boolean reloaded;
+        private final Map<String, Double> metrics;
+        private final List<String> slowestResources;
+        private final List<String> violations;
+
+        PageTiming(String step, boolean reloaded, Map<String, Double> metrics, List<String> slowestResources, List<String> violations) {
+            this.step = step;
+            this.reloaded = reloaded;
+            this.metrics = metrics;
+            this.slowestResources = slowestResources;
+            this.violations = violations;
+        }
+
+        public String getStep() {
+            return step;
+        }
+
+        /**
+         * Whether the step loaded a new document (navigation and paint timings only exist then)
+         */
+        public boolean isReloaded() {
+            return reloaded;
+        }
+
+        /**
+         * Metric name to value: duration, ept, fcp, lcp, longtasks, requests, transfer.kb, then ttfb,
+         * domContentLoaded and load for steps that loaded a new document
+         */
+        public Map<String, Double> getMetrics() {
+            return Collections.unmodifiableMap(metrics);
+        }
+
+        public Double get(String metric) {
+            return metrics.get(metric);
+        }
+
+        public List<String> getSlowestResources() {
+            return slowestResources;
+        }
+
+        /**
+         * e.g. "account-search duration 9100 ms is over its 8000 ms budget"
+         */
+        public List<String> getViolations() {
+            return violations;
+        }
+    }
+
+    /**
+     * A step in progress
+     */
+    public static class Step {
+        private final JavascriptExecutor js;
+        private final String name;
+        private final long startMillis = System.currentTimeMillis();
+        private final Object startNow;
+        private final Object startOrigin;
+        private final Object startEpt;
+
+        @SuppressWarnings("unchecked")
+        Step(JavascriptExecutor js, String name) {
+            this.name = name;
+            Map<String, Object> start = Map.of();
+            if (js != null) {
+                try {
+                    start = (Map<String, Object>) js.executeScript(START_SCRIPT);
+                } catch (WebDriverException e) {
+                    // Measuring must never break the flow it measures
+                    System.out.println("Could not start page performance capture for " + name + ": " + e.getMessage());
+                    js = null;
+                }
+            }
+            this.js = js;
+            this.startNow = start.get("now");
+            this.startOrigin = start.get("origin");
+            this.startEpt = start.get("ept");
+        }
+
+        /**
+         * Collect the step's timings, check them against their budgets and keep them for the report
+         * @return the timings, or null when perf.capture is off or the browser could not report them
+         */
+        @SuppressWarnings("unchecked")
+        public PageTiming finish() {
+            if (js == null) {
+                return null;
+            }
+            long duration = System.currentTimeMillis() - startMillis;
+            Map<String, Object> result;
+            try {
+                result = (Map<String, Object>) js.executeScript(COLLECT_SCRIPT, startNow, startOrigin, startEpt);
+            } catch (WebDriverException e) {
+                System.out.println("Could not collect page performance for " + name + ": " + e.getMessage());
+                return null;
+            }
+
+            Map<String, Double> metrics = new LinkedHashMap<>();
+            metrics.put("duration", (double) duration);
+            putIfPresent(metrics, "ept", result.get("ept"));
+            putIfPresent(metrics, "fcp", result.get("fcp"));
+            putIfPresent(metrics, "lcp", result.get("lcp"));
+            putIfPresent(metrics, "longtasks", result.get("longTaskMs"));
+            putIfPresent(metrics, "requests", result.get("requests"));
+            if (result.get("transferBytes") instanceof Number) {
+                metrics.put("transfer.kb", ((Number) result.get("transferBytes")).doubleValue() / 1024);
+            }
+            putIfPresent(metrics, "ttfb", result.get("ttfb"));
+            putIfPresent(metrics, "domContentLoaded", result.get("domContentLoaded"));
+            putIfPresent(metrics, "load", result.get("load"));
+
+            List<String> violations = new ArrayList<>();
+            ConfigReader.getPerfBudgets().getOrDefault(name, Map.of()).forEach((metric, budget) -> {
+                Double value = metrics.get(metric);
+                if (value != null && value > budget) {
+                    violations.add(name + " " + metric + " " + format(metric, value) + " is over its " + format(metric, budget) + " budget");
+                }
+            });
+
+            List<String> slowest = new ArrayList<>();
+            ((List<Object>) result.getOrDefault("slowest", List.of())).forEach(item -> slowest.add(String.valueOf(item)));
+
+            PageTiming timing = new PageTiming(name, Boolean.TRUE.equals(result.get("reloaded")), metrics, slowest, violations);
+            testTimings.get().add(timing);
+            suiteTimings.computeIfAbsent(name, k -> Collections.synchronizedList(new ArrayList<>())).add(timing);
+            violations.forEach(v -> System.out.println("Performance budget: " + v));
+            return timing;
+        }
+    }
+
+    /**
+     * Buffer long tasks and paints from the start of every document the browser loads from now on
+     * Without CDP they are buffered from the first step on each page, which misses earlier long tasks
+     */
+    public static void install(WebDriver driver) {
+        if (!ConfigReader.isPerfCaptureEnabled() || !(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTRUMENTATION));
+        } catch (WebDriverException e) {
+            System.out.println("Could not register page performance observers: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Start measuring a step; call finish() once the page has settled
+     * @param name step name used in the report and in perf.budget keys, e.g. account-search
+     */
+    public static Step start(WebDriver driver, String name) {
+        return new Step(ConfigReader.isPerfCaptureEnabled() ? (JavascriptExecutor) driver : null, name);
+    }
+
+    /**
+     * Discard anything recorded on this thread outside a test
+     */
+    public static void startTest() {
+        testTimings.get().clear();
+    }
+
+    /**
+     * Budget violations of the test running on this thread so far
+     */
+    public static List<String> getTestViolations() {
+        List<String> violations = new ArrayList<>();
+        testTimings.get().forEach(timing -> violations.addAll(timing.getViolations()));
+        return violations;
+    }
+
+    /**
+     * Return this thread's step timings and start over
+     */
+    public static List<PageTiming> finishTest() {
+        List<PageTiming> timings = new ArrayList<>(testTimings.get());
+        startTest();
+        return timings;
+    }
+
+    /**
+     * Write p50/p95/max of every metric per step as page-performance.json in the directory
+     */
+    public static void exportSuite(Path directory) {
+        if (suiteTimings.isEmpty()) {
+            return;
+        }
+        Map<String, Object> report = new TreeMap<>();
+        suiteTimings.forEach((step, timings) -> {
+            List<PageTiming> copy;
+            synchronized (timings) {
+                copy = new ArrayList<>(timings);
+            }
+            Map<String, List<Double>> values = new LinkedHashMap<>();
+            int violations = 0;
+            for (PageTiming timing : copy) {
+                timing.getMetrics().forEach((metric, value) -> values.computeIfAbsent(metric, k -> new ArrayList<>()).add(value));
+                violations += timing.getViolations().size();
+            }
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("count", copy.size());
+            entry.put("budgetViolations", violations);
+            values.forEach((metric, samples) -> {
+                Collections.sort(samples);
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("p50", round(percentile(samples, 50)));
+                stats.put("p95", round(percentile(samples, 95)));
+                stats.put("max", round(samples.get(samples.size() - 1)));
+                entry.put(metric, stats);
+            });
+            report.put(step, entry);
+        });
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve("page-performance.json"), JSON.toJson(report));
+        } catch (IOException e) {
+            System.err.println("Failed to export page performance: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Value with its unit, e.g. "1250 ms", "42 requests" or "310.5 KB"
+     */
+    public static String format(String metric, double value) {
+        if ("requests".equals(metric)) {
+            return Math.round(value) + " requests";
+        }
+        if ("transfer.kb".equals(metric)) {
+            return String.format(Locale.ROOT, "%.1f KB", value);
+        }
+        return Math.round(value) + " ms";
+    }
+
+    private static void putIfPresent(Map<String, Double> metrics, String name, Object value) {
+        if (value instanceof Number) {
+            metrics.put(name, ((Number) value).doubleValue());
+        }
+    }
+
+    private static double percentile(List<Double> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.fsc.metrics;
+
+import com.fsc.utils.ConfigReader;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Inline SVG bar chart of a test's page steps for the Extent report
+ * One bar per step: its duration, the share spent in long tasks, EPT where known, and the duration budget
+ */
+public class PerformanceChart {
+    private static final int LABEL_WIDTH = 150;
+    private static final int BAR_WIDTH = 420;
+    private static final int VALUE_WIDTH = 110;
+    private static final int ROW_HEIGHT = 26;
+    private static final int LEGEND_HEIGHT = 24;
+
+    private PerformanceChart() {
+    }
+
+    public static String render(List<PagePerformance.PageTiming> timings) {
+        Map<String, Map<String, Long>> budgets = ConfigReader.getPerfBudgets();
+        double scale = 1;
+        for (PagePerformance.PageTiming timing : timings) {
+            scale = Math.max(scale, timing.get("duration"));
+            Long budget = budgets.getOrDefault(timing.getStep(), Map.of()).get("duration");
+            if (budget != null) {
+                scale = Math.max(scale, budget);
+            }
+        }
+
+        int width = LABEL_WIDTH + BAR_WIDTH + VALUE_WIDTH;
+        int height = timings.size() * ROW_HEIGHT + LEGEND_HEIGHT;
+        StringBuilder svg = new StringBuilder();
+        svg.append(String.format(Locale.ROOT,
+            "<svg xmlns='http://www.w3.org/2000/svg' width='%d' height='%d' font-family='sans-serif' font-size='11'>", width, height));
+
+        int y = 0;
+        for (PagePerformance.PageTiming timing : timings) {
+            double duration = timing.get("duration");
+            boolean over = !timing.getViolations().isEmpty();
+            svg.append(String.format(Locale.ROOT, "<text x='0' y='%d'>%s</text>", y + 16, escape(timing.getStep())));
+            svg.append(rect(LABEL_WIDTH, y + 4, x(duration, scale), 16, over ? "#e8a0a0" : "#9cc3e6"));
+            Double longTasks = timing.get("longtasks");
+            if (longTasks != null && longTasks > 0) {
+                svg.append(rect(LABEL_WIDTH, y + 14, x(Math.min(longTasks, duration), scale), 6, "#c0392b"));
+            }
+            Double ept = timing.get("ept");
+            if (ept != null) {
+                svg.append(line(LABEL_WIDTH + x(ept, scale), y + 2, y + 22, "#222", ""));
+            }
+            Long budget = budgets.getOrDefault(timing.getStep(), Map.of()).get("duration");
+            if (budget != null) {
+                svg.append(line(LABEL_WIDTH + x(budget, scale), y, y + ROW_HEIGHT, "#e67e22", " stroke-dasharray='3,2'"));
+            }
+            svg.append(String.format(Locale.ROOT, "<text x='%d' y='%d'>%s</text>",
+                LABEL_WIDTH + BAR_WIDTH + 6, y + 16, PagePerformance.format("duration", duration)));
+            y += ROW_HEIGHT;
+        }
+
+        // Legend
+        int legend = y + 14;
+        svg.append(rect(0, legend - 9, 10, 10, "#9cc3e6")).append(text(14, legend, "duration"));
+        svg.append(rect(80, legend - 6, 10, 5, "#c0392b")).append(text(94, legend, "long tasks"));
+        svg.append(line(172, legend - 10, legend + 1, "#222", "")).append(text(178, legend, "EPT"));
+        svg.append(line(218, legend - 10, legend + 1, "#e67e22", " stroke-dasharray='3,2'")).append(text(224, legend, "budget"));
+        svg.append("</svg>");
+        return svg.toString();
+    }
+
+    private static int x(double value, double scale) {
+        return (int) Math.round(value / scale * BAR_WIDTH);
+    }
+
+    private static String rect(int x, int y, int width, int height, String fill) {
+        return String.format(Locale.ROOT, "<rect x='%d' y='%d' width='%d' height='%d' fill='%s'/>", x, y, Math.max(1, width), height, fill);
+    }
+
+    private static String line(int x, int y1, int y2, String stroke, String extra) {
+        return String.format(Locale.ROOT, "<line x1='%d' y1='%d' x2='%d' y2='%d' stroke='%s' stroke-width='2'%s/>", x, y1, x, y2, stroke, extra);
+    }
+
+    private static String text(int x, int y, String text) {
+        return String.format(Locale.ROOT, "<text x='%d' y='%d'>%s</text>", x, y, escape(text));
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
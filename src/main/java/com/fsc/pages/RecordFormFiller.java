@@ -0,0 +1,204 @@
+package com.fsc.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.fsc.utils.DomWait;
+import com.fsc.utils.JavaScriptUtil;
+import com.fsc.utils.ScriptBatch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Fills a Lightning record edit form from a field API name -> value map
+ * Fields are located by API name, so adding fields needs no new locators and no extra waits
+ *
+ * Example:
+ *   RecordFormFiller form = new RecordFormFiller(driver, "Account");
+ *   form.fill(Map.of("Name", "Acme", "Industry", "Technology"));
+ *   form.save();
+ */
+public class RecordFormFiller {
+    // XPath helpers shared by the scripts below; XPath also sees into Lightning's synthetic shadow DOM
+    private static final String XPATH_HELPERS =
+        "function first(expr, ctx) {" +
+        "  return document.evaluate(expr, ctx || document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+        "}" +
+        "function lit(s) {" +
+        "  if (s.indexOf(\"'\") < 0) { return \"'\" + s + \"'\"; }" +
+        "  if (s.indexOf('\"') < 0) { return '\"' + s + '\"'; }" +
+        "  return \"concat('\" + s.split(\"'\").join(\"', \\\"'\\\", '\") + \"')\";" +
+        "}";
+
+    // Resolves every field to its input element and kind (text, checkbox or picklist)
+    private static final String RESOLVE_FIELDS_SCRIPT = XPATH_HELPERS +
+        "var objectName = arguments[0], fields = arguments[1], found = {}, missing = [];" +
+        "fields.forEach(function (f) {" +
+        "  var container = first(\"//*[@data-target-selection-name=\" + lit('sfdc:RecordField.' + objectName + '.' + f) + \"]\");" +
+        "  var el = container" +
+        "    ? first(\".//button[contains(@class,'slds-combobox__input')] | .//textarea | .//input[not(@type='hidden')]\", container)" +
+        "    : first(\"//input[@name=\" + lit(f) + \"] | //textarea[@name=\" + lit(f) + \"] | //button[@name=\" + lit(f) + \"]\");" +
+        "  if (!el) { missing.push(f); return; }" +
+        "  var kind = el.tagName === 'BUTTON' ? 'picklist' : (el.type === 'checkbox' ? 'checkbox' : 'text');" +
+        "  found[f] = { element: el, kind: kind };" +
+        "});" +
+        "return { found: found, missing: missing };";
+
+    // Sets a text value through the native setter and fires the events Lightning listens for
+    private static final String SET_TEXT_BODY =
+        "var proto = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+        "el.focus();" +
+        "Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);" +
+        "el.dispatchEvent(new Event('input', { bubbles: true, composed: true }));" +
+        "el.dispatchEvent(new Event('change', { bubbles: true, composed: true }));" +
+        "el.dispatchEvent(new FocusEvent('blur', { composed: true }));";
+
+    private static final String SET_CHECKBOX_BODY =
+        "if (el.checked !== (value === 'true')) { el.click(); }";
+
+    // Opens each picklist in turn and clicks its option as soon as it renders, all in one async call
+    private static final String SELECT_PICKLISTS_SCRIPT = XPATH_HELPERS +
+        "var picks = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1], results = {};" +
+        "function next(i) {" +
+        "  if (i >= picks.length) { done(results); return; }" +
+        "  var p = picks[i], started = Date.now();" +
+        "  p.element.click();" +
+        "  var scope = first('ancestor::lightning-base-combobox[1]', p.element);" +
+        "  (function poll() {" +
+        "    var item = (scope && first('.//lightning-base-combobox-item[@data-value=' + lit(p.value) + ']', scope))" +
+        "      || first('//lightning-base-combobox-item[@data-value=' + lit(p.value) + ']');" +
+        "    if (item) { item.click(); results[p.field] = null; next(i + 1); return; }" +
+        "    if (Date.now() - started > timeoutMs) { results[p.field] = 'option not found: ' + p.value; next(i + 1); return; }" +
+        "    requestAnimationFrame(poll);" +
+        "  })();" +
+        "}" +
+        "next(0);";
+
+    // Returns "saved" once the form has closed, the error text if the save failed, or null while saving
+    private static final String SAVE_OUTCOME_SCRIPT = XPATH_HELPERS +
+        "var error = first(\"//*[contains(@class,'pageLevelErrors')] | //records-record-edit-error\");" +
+        "if (error && error.offsetParent !== null) { return 'error: ' + error.textContent.trim(); }" +
+        "var save = first(\"//button[@name='SaveEdit']\");" +
+        "return !save || save.offsetParent === null ? 'saved' : null;";
+
+    private static final long PICKLIST_OPTION_TIMEOUT_MILLIS = 5000;
+
+    private WebDriver driver;
+    private WebDriverWait wait;
+    private DomWait domWait;
+    private JavaScriptUtil jsUtil;
+    private String objectApiName;
+
+    // Locators
+    private By saveButton = By.xpath("//button[@name='SaveEdit']");
+
+    public RecordFormFiller(WebDriver driver, String objectApiName) {
+        this.driver = driver;
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.domWait = new DomWait(driver, Duration.ofSeconds(15));
+        this.jsUtil = new JavaScriptUtil(driver);
+        this.objectApiName = objectApiName;
+    }
+
+    /**
+     * Fill every field in the map
+     * Waits once for the form to show all fields, then fills text fields in one script call
+     * and picklists in one asynchronous script call
+     */
+    public void fill(Map<String, String> values) {
+        Map<String, Map<String, Object>> fields = resolveFields(new ArrayList<>(values.keySet()));
+
+        ScriptBatch batch = jsUtil.batch();
+        List<Map<String, Object>> picklists = new ArrayList<>();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            Map<String, Object> field = fields.get(entry.getKey());
+            WebElement element = (WebElement) field.get("element");
+            switch ((String) field.get("kind")) {
+                case "picklist":
+                    Map<String, Object> pick = new HashMap<>();
+                    pick.put("field", entry.getKey());
+                    pick.put("element", element);
+                    pick.put("value", entry.getValue());
+                    picklists.add(pick);
+                    break;
+                case "checkbox":
+                    batch.custom(SET_CHECKBOX_BODY, element, entry.getValue());
+                    break;
+                default:
+                    batch.custom(SET_TEXT_BODY, element, entry.getValue());
+            }
+        }
+
+        batch.execute().assertSuccess();
+        if (!picklists.isEmpty()) {
+            selectPicklists(picklists);
+        }
+    }
+
+    /**
+     * Click Save and wait once for the form to close or show an error
+     */
+    public void save() {
+        domWait.clickable(saveButton).click();
+        jsUtil.waitForLightningIdle();
+
+        // Checked in the page so a missing error element does not cost an implicit wait
+        String outcome = wait.until(d -> (String) jsUtil.executeScript(SAVE_OUTCOME_SCRIPT));
+        if (outcome.startsWith("error")) {
+            throw new IllegalStateException("Saving " + objectApiName + " failed: " + outcome.substring("error: ".length()));
+        }
+    }
+
+    /**
+     * Poll until every field is on the page, then return element and kind per field
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<String, Object>> resolveFields(List<String> fieldNames) {
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        AtomicReference<Map<String, Object>> last = new AtomicReference<>();
+        try {
+            wait.until(d -> {
+                last.set((Map<String, Object>) js.executeScript(RESOLVE_FIELDS_SCRIPT, objectApiName, fieldNames));
+                return ((List<?>) last.get().get("missing")).isEmpty();
+            });
+        } catch (TimeoutException e) {
+            // No lookup returned before the wait ran out, e.g. the first one outlived the whole window
+            if (last.get() == null) {
+                throw new NoSuchElementException("The " + objectApiName + " form did not load within the wait; fields "
+                    + fieldNames + " were never looked up", e);
+            }
+            throw new NoSuchElementException("Fields not found on the " + objectApiName + " form: " + last.get().get("missing"), e);
+        }
+
+        Map<String, Map<String, Object>> fields = new LinkedHashMap<>();
+        ((Map<String, Object>) last.get().get("found")).forEach((name, field) -> fields.put(name, (Map<String, Object>) field));
+        return fields;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void selectPicklists(List<Map<String, Object>> picklists) {
+        Map<String, Object> results = (Map<String, Object>) ((JavascriptExecutor) driver)
+            .executeAsyncScript(SELECT_PICKLISTS_SCRIPT, picklists, PICKLIST_OPTION_TIMEOUT_MILLIS);
+
+        List<String> failures = new ArrayList<>();
+        results.forEach((field, error) -> {
+            if (error != null) {
+                failures.add(field + " (" + error + ")");
+            }
+        });
+        if (!failures.isEmpty()) {
+            throw new IllegalStateException("Could not select picklist values on the " + objectApiName + " form: " + failures);
+        }
+    }
+}
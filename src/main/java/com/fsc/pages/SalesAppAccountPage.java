@@ -3,20 +3,24 @@ package com.fsc.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.Keys;
 
+import com.fsc.driver.DriverContext;
+import com.fsc.metrics.PagePerformance;
+import com.fsc.utils.ElementCache;
 import com.fsc.utils.JavaScriptUtil;
+import com.fsc.utils.StepRetry;
 
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 
 public class SalesAppAccountPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private ElementCache elements;
     private JavaScriptUtil jsUtil;
     private Actions actionsUtil;
 
@@ -25,88 +29,106 @@ public class SalesAppAccountPage {
     private By newButton = By.xpath("//a[@title='New']");
     private By businessRadioButton = By.xpath("(//span[@class='slds-radio--faux'])[3]");
     private By nextButton =By.xpath("//button[@class='slds-button slds-button_neutral slds-button slds-button_brand uiButton']");
-    private By nameField=By.xpath("//input[@name='Name']");
-    private By typeField=By.xpath("(//button[@class='slds-combobox__input slds-input_faux fix-slds-input_faux slds-combobox__input-value'])[2]");
-    private By customerDirectOption=By.xpath("//lightning-base-combobox-item[@data-value='Customer - Direct']");
-    private By industryField=By.xpath("(//button[@class='slds-combobox__input slds-input_faux fix-slds-input_faux slds-combobox__input-value'])[3]");
-    private By technologyOption=By.xpath("//lightning-base-combobox-item[@data-value='Technology']");
-    private By phoneField=By.xpath("//input[@name='Phone']");
-    private By saveButton=By.xpath("//button[@name='SaveEdit']");
     private By searchBar=By.xpath("//input[@name='Account-search-input']");
     private By listViewButton=By.xpath("//button[@title='Select a List View: Accounts']");
     private By allAccountOption=By.xpath("//*[text()='All Accounts']");
     private By firstRecord=By.xpath("//span[@data-cell-type='lstOutputLookup'][1]//a");
     private String createdAccountName;
 
+    /**
+     * Create the page for the driver bound to the current test thread
+     */
+    public SalesAppAccountPage() {
+        this(DriverContext.getDriver());
+    }
+
     public SalesAppAccountPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.elements = new ElementCache(driver, Duration.ofSeconds(15));
         jsUtil = new JavaScriptUtil(driver);
         actionsUtil = new Actions(driver);
     }
 
     public void navigateToAccountTab(){
         // Click Accounts tab
-        WebElement accountsTabelement = wait.until(ExpectedConditions.elementToBeClickable(accountsTab));
-        jsUtil.clickElement(accountsTabelement);
+        elements.clickable(accountsTab);
+        PagePerformance.Step perf = jsUtil.startPerformanceStep("account-tab");
+        StepRetry.run("account-tab", () -> elements.onClickable(accountsTab, jsUtil::clickElement),
+            () -> elements.invalidate(accountsTab));
+        jsUtil.waitForLightningIdle();
+        perf.finish();
+        elements.invalidate();
     }
     public void searchAccount(){
-        // Select "All Account" List view
-        WebElement accountsTabelement = wait.until(ExpectedConditions.elementToBeClickable(listViewButton));
-        accountsTabelement.click();
-        WebElement allAccountElement = wait.until(ExpectedConditions.elementToBeClickable(allAccountOption));
-        jsUtil.clickElement(allAccountElement);
-        
+        searchAccount("Berardo");
+    }
+
+    /**
+     * Search the All Accounts list view and open the first match
+     */
+    public void searchAccount(String accountName){
+        // Select "All Account" List view; Escape closes a half-open dropdown before a retry
+        StepRetry.run("list-view", () -> {
+            elements.onClickable(listViewButton, WebElement::click);
+            elements.onClickable(allAccountOption, jsUtil::clickElement);
+        }, () -> {
+            actionsUtil.sendKeys(Keys.ESCAPE).perform();
+            elements.invalidate();
+        });
+        jsUtil.waitForLightningIdle();
+
         // Enter the account name in the search bar
-        WebElement searchBarElement = wait.until(ExpectedConditions.visibilityOfElementLocated(searchBar));
-        searchBarElement.sendKeys("Berardo" + Keys.ENTER);
+        PagePerformance.Step search = jsUtil.startPerformanceStep("account-search");
+        StepRetry.run("account-search", () -> elements.onVisible(searchBar, element -> {
+            element.clear();
+            element.sendKeys(accountName + Keys.ENTER);
+        }), () -> elements.invalidate(searchBar));
 
-        // Wait for spinner to disappear before clicking
-        wait.until(ExpectedConditions.invisibilityOfElementLocated(By.cssSelector("lightning-spinner")));
+        // Wait for the search request to finish and the list to re-render before clicking
+        jsUtil.waitForLightningIdle();
+        search.finish();
+        elements.invalidate(firstRecord);
 
         // Go to the first record - use JavaScript click to avoid spinner interference
-        WebElement firstRecordLink = wait.until(ExpectedConditions.elementToBeClickable(firstRecord));
-        jsUtil.clickElement(firstRecordLink);
+        elements.clickable(firstRecord);
+        PagePerformance.Step record = jsUtil.startPerformanceStep("account-record");
+        StepRetry.run("account-record", () -> elements.onClickable(firstRecord, jsUtil::clickElement),
+            () -> elements.invalidate(firstRecord));
+        jsUtil.waitForLightningIdle();
+        record.finish();
     
     }
 
     public void createAccount() {
-
-        // Click "New" button
-        WebElement newButtonElement = wait.until(ExpectedConditions.visibilityOfElementLocated(newButton));
-        newButtonElement.click();
-
-        // Select Business Account Type
-        WebElement businessRadioButtonElement = wait.until(ExpectedConditions.visibilityOfElementLocated(businessRadioButton));
-        businessRadioButtonElement.click();
-        WebElement nextButtonElement = wait.until(ExpectedConditions.visibilityOfElementLocated(nextButton));
-        nextButtonElement.click();
-        // Fill in Account Name
-        WebElement nameFieldElement = wait.until(ExpectedConditions.visibilityOfElementLocated(nameField));
         createdAccountName = "Test Account " + System.currentTimeMillis();
-        nameFieldElement.sendKeys(createdAccountName);
-
-        // Select Account Type
-        WebElement typeFieldElement = wait.until(ExpectedConditions.visibilityOfElementLocated(typeField));
-        typeFieldElement.click();
-
-        WebElement customerDirectElement = wait.until(ExpectedConditions.elementToBeClickable(customerDirectOption));
-        jsUtil.clickElement(customerDirectElement);
 
-        // Select Industry
-        WebElement industryElement = wait.until(ExpectedConditions.elementToBeClickable(industryField));
-        industryElement.click();
+        // Field API name -> value
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("Name", createdAccountName);
+        fields.put("Type", "Customer - Direct");
+        fields.put("Industry", "Technology");
+        fields.put("Phone", "0412345678");
+        createAccount(fields);
+    }
 
-        WebElement technologyElement = wait.until(ExpectedConditions.elementToBeClickable(technologyOption));
-        jsUtil.clickElement(technologyElement);
+    /**
+     * Create a Business Account with any number of fields, keyed by field API name
+     */
+    public void createAccount(Map<String, String> fields) {
 
-        // Fill in Phone
-        WebElement phoneFieldElement = wait.until(ExpectedConditions.visibilityOfElementLocated(phoneField));
-        phoneFieldElement.sendKeys("0412345678");
+        // Click "New" button
+        elements.onVisible(newButton, WebElement::click);
 
-        // Click "Save button"
-        WebElement saveButtonElement = wait.until(ExpectedConditions.visibilityOfElementLocated(saveButton));
-        saveButtonElement.click();
+        // Select Business Account Type
+        elements.onVisible(businessRadioButton, WebElement::click);
+        elements.onVisible(nextButton, WebElement::click);
+
+        // Fill every field, then save with a single completion check
+        RecordFormFiller form = new RecordFormFiller(driver, "Account");
+        form.fill(fields);
+        form.save();
+        elements.invalidate();
+        createdAccountName = fields.get("Name");
     }
 
     public String getCreatedAccountName(){
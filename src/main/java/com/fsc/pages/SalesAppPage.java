@@ -3,10 +3,14 @@ package com.fsc.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import com.fsc.driver.DriverContext;
+import com.fsc.metrics.PagePerformance;
+import com.fsc.utils.ElementCache;
 import com.fsc.utils.JavaScriptUtil;
+import com.fsc.utils.StepRetry;
+import com.fsc.utils.TestMetrics;
 
 import java.time.Duration;
 
@@ -14,6 +18,7 @@ import java.time.Duration;
 public class SalesAppPage {
     private WebDriver driver;
     private WebDriverWait wait;
+    private ElementCache elements;
 
     
     // Locators 
@@ -21,26 +26,43 @@ public class SalesAppPage {
     private By searchBar = By.xpath("//input[@placeholder='Search apps and items...']");
     private By salesAppLink = By.xpath("//a[@data-label='Sales']");
 
+    /**
+     * Create the page for the driver bound to the current test thread
+     */
+    public SalesAppPage() {
+        this(DriverContext.getDriver());
+    }
+
     public SalesAppPage(WebDriver driver) {
         this.driver = driver;
         this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.elements = new ElementCache(driver, Duration.ofSeconds(15));
     }
 
     public void navigateToSalesApp() {
         // Click App Launcher
-        WebElement appLauncher = wait.until(ExpectedConditions.elementToBeClickable(appLauncherButton));
-        appLauncher.click();
+        StepRetry.run("app-launcher", () -> elements.onClickable(appLauncherButton, WebElement::click),
+            () -> elements.invalidate(appLauncherButton));
 
         // Wait for search bar and type "Sales"
-        WebElement searchBarElement = wait.until(ExpectedConditions.visibilityOfElementLocated(searchBar));
-        searchBarElement.sendKeys("Sales");
+        StepRetry.run("app-search", () -> elements.onVisible(searchBar, element -> {
+            element.clear();
+            element.sendKeys("Sales");
+        }), () -> elements.invalidate(searchBar));
 
         // Wait for Sales app to appear and click it
-        WebElement salesApp = wait.until(ExpectedConditions.elementToBeClickable(salesAppLink));
+        elements.clickable(salesAppLink);
         JavaScriptUtil jsUtil = new JavaScriptUtil(driver);
-        jsUtil.clickElement(salesApp);
+        long start = System.currentTimeMillis();
+        PagePerformance.Step perf = jsUtil.startPerformanceStep("sales-app");
+        StepRetry.run("sales-app", () -> elements.onClickable(salesAppLink, jsUtil::clickElement),
+            () -> elements.invalidate(salesAppLink));
 
-        // Wait for navigation to complete
+        // Wait for navigation to complete and the app to finish loading
         wait.until(driver -> driver.getCurrentUrl().contains("lightning"));
+        jsUtil.waitForLightningIdle();
+        TestMetrics.recordMillis("Sales app load", System.currentTimeMillis() - start);
+        perf.finish();
+        elements.invalidate();
     }
 }
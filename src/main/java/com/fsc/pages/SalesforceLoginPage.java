@@ -3,8 +3,10 @@ package com.fsc.pages;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.fsc.driver.DriverContext;
+import com.fsc.utils.ElementCache;
+import com.fsc.utils.TestMetrics;
 
 import java.time.Duration;
 
@@ -13,7 +15,7 @@ import java.time.Duration;
  */
 public class SalesforceLoginPage {
     private WebDriver driver;
-    private WebDriverWait wait;
+    private ElementCache elements;
 
     // Locators
     private By usernameField = By.id("username");
@@ -21,30 +23,44 @@ public class SalesforceLoginPage {
     private By loginButton = By.id("Login");
     private By errorMessage = By.id("error");
 
+    /**
+     * Create the page for the driver bound to the current test thread
+     */
+    public SalesforceLoginPage() {
+        this(DriverContext.getDriver());
+    }
+
     public SalesforceLoginPage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        this.elements = new ElementCache(driver, Duration.ofSeconds(15));
     }
 
     public void navigateToLogin(String url) {
+        long start = System.currentTimeMillis();
         driver.get(url);
+        // Shows the effect of network.block.* on page load
+        TestMetrics.recordMillis("Login page load", System.currentTimeMillis() - start);
+        elements.invalidate();
     }
 
     public void enterUsername(String username) {
-        WebElement usernameElement = wait.until(ExpectedConditions.visibilityOfElementLocated(usernameField));
-        usernameElement.clear();
-        usernameElement.sendKeys(username);
+        elements.onVisible(usernameField, element -> {
+            element.clear();
+            element.sendKeys(username);
+        });
     }
 
     public void enterPassword(String password) {
-        WebElement passwordElement = wait.until(ExpectedConditions.visibilityOfElementLocated(passwordField));
-        passwordElement.clear();
-        passwordElement.sendKeys(password);
+        elements.onVisible(passwordField, element -> {
+            element.clear();
+            element.sendKeys(password);
+        });
     }
 
     public void clickLoginButton() {
-        WebElement loginBtn = wait.until(ExpectedConditions.elementToBeClickable(loginButton));
-        loginBtn.click();
+        elements.onClickable(loginButton, WebElement::click);
+        // Submitting loads a new page
+        elements.invalidate();
     }
 
     public void login(String username, String password) {
@@ -55,13 +71,13 @@ public class SalesforceLoginPage {
 
     public boolean isErrorMessageDisplayed() {
         try {
-            return wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessage)).isDisplayed();
+            return elements.visible(errorMessage).isDisplayed();
         } catch (Exception e) {
             return false;
         }
     }
 
     public String getErrorMessage() {
-        return wait.until(ExpectedConditions.visibilityOfElementLocated(errorMessage)).getText();
+        return elements.visible(errorMessage).getText();
     }
 }
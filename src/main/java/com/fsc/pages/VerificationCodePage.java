@@ -0,0 +1,73 @@
+package com.fsc.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import com.fsc.driver.DriverContext;
+
+import java.time.Duration;
+
+/**
+ * Page Object Model for the Salesforce "Verify Your Identity" page shown after the password step
+ */
+public class VerificationCodePage {
+    private WebDriver driver;
+    private WebDriverWait wait;
+
+    // Locators
+    private By codeField = By.id("emc");
+    private By verifyButton = By.id("save");
+
+    /**
+     * Create the page for the driver bound to the current test thread
+     */
+    public VerificationCodePage() {
+        this(DriverContext.getDriver());
+    }
+
+    public VerificationCodePage(WebDriver driver) {
+        this.driver = driver;
+        this.wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+    }
+
+    /**
+     * Wait until the login either reaches Lightning or stops on the verification page
+     * @return true if a verification code is required
+     */
+    public boolean isVerificationRequired() {
+        wait.until(ExpectedConditions.or(
+            ExpectedConditions.visibilityOfElementLocated(codeField),
+            d -> isLoggedIn(d.getCurrentUrl())));
+        // Decided from the URL; probing for the field with findElements would wait out any implicit wait
+        return !isLoggedIn(driver.getCurrentUrl());
+    }
+
+    private static boolean isLoggedIn(String url) {
+        String page = url.split("[?#]")[0];
+        return page.contains("lightning") || page.contains("home");
+    }
+
+    public void enterCode(String code) {
+        WebElement codeElement = wait.until(ExpectedConditions.visibilityOfElementLocated(codeField));
+        codeElement.clear();
+        codeElement.sendKeys(code);
+        wait.until(ExpectedConditions.elementToBeClickable(verifyButton)).click();
+    }
+
+    /**
+     * Wait for the verification page to go away
+     * @throws TimeoutException with a clear message if it is still displayed after the timeout
+     */
+    public void waitUntilGone(Duration timeout) {
+        try {
+            new WebDriverWait(driver, timeout).until(ExpectedConditions.invisibilityOfElementLocated(codeField));
+        } catch (TimeoutException e) {
+            throw new TimeoutException("Verification page still displayed after " + timeout.getSeconds()
+                + " seconds. Current URL: " + driver.getCurrentUrl(), e);
+        }
+    }
+}
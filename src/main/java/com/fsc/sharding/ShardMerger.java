@@ -0,0 +1,151 @@
+package com.fsc.sharding;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.configuration.Theme;
+import com.fsc.utils.ConfigReader;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the output of all shards once every agent has finished
+ * Copy each agent's test-output into one directory (sub-directories are fine), then run:
+ * mvn -q compile exec:java -Dexec.mainClass=com.fsc.sharding.ShardMerger -Dexec.args=test-output
+ *
+ * Writes extent-reports/TestReport_merged.html, shards/merged.json with the wall-clock time of
+ * every shard, and the combined durations file for planning the next run.
+ */
+public class ShardMerger {
+    private static final Json JSON = new Json();
+
+    public static void main(String[] args) throws IOException {
+        Path root = Paths.get(args.length > 0 ? args[0] : "test-output");
+        if (!Files.isDirectory(root)) {
+            throw new IllegalArgumentException("No shard output found at " + root.toAbsolutePath());
+        }
+
+        List<Path> results = find(root, name -> name.matches("shard-\\d+-of-\\d+\\.json"));
+        List<Path> archives = find(root, name -> name.startsWith("TestReport_") && name.endsWith(".json"));
+
+        Map<String, Long> recorded = new TreeMap<>();
+        List<Map<String, Object>> shards = new ArrayList<>();
+        TreeSet<Integer> seen = new TreeSet<>();
+        int expected = 0;
+        for (Path file : results) {
+            Map<String, Object> shard = readShard(file, recorded);
+            shards.add(shard);
+            seen.add(((Number) shard.get("index")).intValue());
+            expected = Math.max(expected, ((Number) shard.get("total")).intValue());
+        }
+        for (int i = 0; i < expected; i++) {
+            if (!seen.contains(i)) {
+                System.out.println("WARNING: no results for shard " + i + " of " + expected);
+            }
+        }
+
+        // Durations for the next plan
+        Path durationsFile = Paths.get(ConfigReader.getShardDurationsFile());
+        TestDurations.write(durationsFile, TestDurations.merge(TestDurations.read(durationsFile), recorded));
+
+        long makespan = shards.stream().mapToLong(s -> ((Number) s.get("wallClockMs")).longValue()).max().orElse(0);
+        long totalWork = shards.stream().mapToLong(s -> ((Number) s.get("wallClockMs")).longValue()).sum();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("shards", shards);
+        summary.put("tests", recorded.size());
+        summary.put("makespanMs", makespan);
+        summary.put("totalShardMs", totalWork);
+        Path summaryFile = root.resolve("shards").resolve("merged.json");
+        Files.createDirectories(summaryFile.getParent());
+        Files.writeString(summaryFile, JSON.toJson(summary));
+
+        Path report = mergeReports(root, archives);
+
+        System.out.println("Merged " + shards.size() + " shard(s), " + recorded.size() + " tests");
+        for (Map<String, Object> shard : shards) {
+            System.out.println("  shard " + shard.get("index") + ": " + shard.get("tests") + " tests, "
+                + shard.get("failed") + " failed, " + shard.get("wallClockMs") + " ms");
+        }
+        System.out.println("Slowest shard " + makespan + " ms, total " + totalWork + " ms");
+        System.out.println("Durations written to " + durationsFile);
+        if (report != null) {
+            System.out.println("Merged Extent report: " + report);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> readShard(Path file, Map<String, Long> recorded) throws IOException {
+        Map<String, Object> json = JSON.toType(Files.readString(file), Json.MAP_TYPE);
+        Map<String, Object> tests = (Map<String, Object>) json.getOrDefault("tests", Map.of());
+        int failed = 0;
+        for (Map.Entry<String, Object> test : tests.entrySet()) {
+            Map<String, Object> entry = (Map<String, Object>) test.getValue();
+            if ("SKIP".equals(entry.get("status"))) {
+                continue;
+            }
+            recorded.put(test.getKey(), ((Number) entry.get("durationMs")).longValue());
+            if ("FAIL".equals(entry.get("status"))) {
+                failed++;
+            }
+        }
+
+        Map<String, Object> shard = new LinkedHashMap<>();
+        shard.put("index", json.get("index"));
+        shard.put("total", json.get("total"));
+        shard.put("tests", tests.size());
+        shard.put("failed", failed);
+        shard.put("wallClockMs", json.get("wallClockMs"));
+        return shard;
+    }
+
+    /**
+     * Rebuild one HTML report from the JSON archives every shard wrote next to its own report
+     */
+    private static Path mergeReports(Path root, List<Path> archives) {
+        if (archives.isEmpty()) {
+            System.out.println("No Extent JSON archives found; run the shards with shard.total > 1 to produce them");
+            return null;
+        }
+        Path reportsDir = root.resolve("extent-reports");
+        Path report = reportsDir.resolve("TestReport_merged.html");
+
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(report.toString());
+        sparkReporter.config().setDocumentTitle("Salesforce Automation Test Report");
+        sparkReporter.config().setReportName("FSC Selenium Test Results (" + archives.size() + " shard reports)");
+        sparkReporter.config().setTheme(Theme.STANDARD);
+        sparkReporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
+
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        for (Path archive : archives) {
+            try {
+                extent.createDomainFromJsonArchive(archive.toString());
+            } catch (IOException e) {
+                System.err.println("Skipping unreadable report archive " + archive + ": " + e.getMessage());
+            }
+        }
+        extent.flush();
+        return report;
+    }
+
+    private static List<Path> find(Path root, Predicate<String> name) throws IOException {
+        try (Stream<Path> walk = Files.walk(root)) {
+            return walk.filter(Files::isRegularFile)
+                .filter(file -> name.test(file.getFileName().toString()))
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.fsc.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits tests into shards of similar total duration (longest processing time first)
+ * Every agent computes the same plan from the same durations, so no coordination is needed:
+ * units are taken longest first (ties by name) and each goes to the shard with the least work so far.
+ */
+public class ShardPlanner {
+
+    /**
+     * One shard of the plan: the units it runs and their estimated total duration
+     */
+    public static class Shard {
+        private final int index;
+        private final List<String> units = new ArrayList<>();
+        private long estimatedMillis;
+
+        Shard(int index) {
+            this.index = index;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public List<String> getUnits() {
+            return units;
+        }
+
+        public long getEstimatedMillis() {
+            return estimatedMillis;
+        }
+    }
+
+    /**
+     * Assign every unit to one of shardCount shards
+     * @param durations estimated milliseconds per unit (a test method, or a class whose methods depend on each other)
+     */
+    public static List<Shard> plan(Map<String, Long> durations, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i));
+        }
+
+        List<Map.Entry<String, Long>> units = new ArrayList<>(durations.entrySet());
+        units.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+
+        Comparator<Shard> leastLoaded = Comparator.comparingLong(Shard::getEstimatedMillis).thenComparingInt(Shard::getIndex);
+        for (Map.Entry<String, Long> unit : units) {
+            Shard target = shards.stream().min(leastLoaded).orElseThrow();
+            target.units.add(unit.getKey());
+            target.estimatedMillis += unit.getValue();
+        }
+        return shards;
+    }
+}
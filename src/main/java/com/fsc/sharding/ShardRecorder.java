@@ -0,0 +1,87 @@
+package com.fsc.sharding;
+
+import com.fsc.utils.ConfigReader;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the outcome and duration of every test this JVM runs
+ * save() writes test-output/shards/shard-&lt;index&gt;-of-&lt;total&gt;.json; ShardMerger folds the shards' durations
+ * into the durations file once all of them have finished, so every shard of a run plans from the same file.
+ */
+public class ShardRecorder {
+    private static final Json JSON = new Json();
+    private static ShardRecorder instance;
+
+    private final int index;
+    private final int total;
+    private final Path resultFile;
+    private final long startedAt = System.currentTimeMillis();
+    private final Map<String, Long> durations = new ConcurrentHashMap<>();
+    private final Map<String, String> statuses = new ConcurrentHashMap<>();
+
+    ShardRecorder(int index, int total, Path resultFile) {
+        this.index = index;
+        this.total = total;
+        this.resultFile = resultFile;
+    }
+
+    public static synchronized ShardRecorder getInstance() {
+        if (instance == null) {
+            int index = ConfigReader.getShardIndex();
+            int total = ConfigReader.getShardTotal();
+            instance = new ShardRecorder(index, total, Paths.get(System.getProperty("user.dir"), "test-output", "shards", resultFileName(index, total)));
+        }
+        return instance;
+    }
+
+    static String resultFileName(int index, int total) {
+        return "shard-" + index + "-of-" + total + ".json";
+    }
+
+    /**
+     * Add one invocation of a test; data-driven tests add up all their invocations
+     * @param status PASS, FAIL or SKIP; a test that failed in any invocation stays FAIL
+     */
+    public void record(String testId, String status, long millis) {
+        // A skipped test did not run; its near-zero time would make the next plan underestimate it
+        if (!"SKIP".equals(status)) {
+            durations.merge(testId, millis, Long::sum);
+        }
+        statuses.merge(testId, status, (old, now) -> "FAIL".equals(old) || "FAIL".equals(now) ? "FAIL" : now);
+    }
+
+    /**
+     * Write this shard's results so far (safe to call repeatedly)
+     */
+    public synchronized void save() {
+        Map<String, Object> tests = new TreeMap<>();
+        statuses.forEach((test, status) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("status", status);
+            entry.put("durationMs", durations.getOrDefault(test, 0L));
+            tests.put(test, entry);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("index", index);
+        result.put("total", total);
+        result.put("startedAt", startedAt);
+        result.put("wallClockMs", System.currentTimeMillis() - startedAt);
+        result.put("tests", tests);
+        try {
+            Files.createDirectories(resultFile.getParent());
+            Files.writeString(resultFile, JSON.toJson(result));
+        } catch (IOException e) {
+            System.err.println("Failed to write shard results to " + resultFile + ": " + e.getMessage());
+        }
+    }
+}
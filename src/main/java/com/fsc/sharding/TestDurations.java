@@ -0,0 +1,100 @@
+package com.fsc.sharding;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-test durations from earlier runs, keyed by "class#method"
+ * Stored as JSON so CI can cache the file between runs or commit it
+ */
+public class TestDurations {
+    private static final Json JSON = new Json();
+
+    private final Map<String, Long> millis;
+    private final long fallbackMillis;
+
+    public TestDurations(Map<String, Long> millis, long defaultMillis) {
+        this.millis = new TreeMap<>(millis);
+        this.fallbackMillis = millis.isEmpty() ? defaultMillis : median(millis.values());
+    }
+
+    /**
+     * Durations from the file, or none if it does not exist yet
+     */
+    public static TestDurations load(Path file, long defaultMillis) {
+        return new TestDurations(read(file), defaultMillis);
+    }
+
+    /**
+     * Recorded duration, or the median of all known tests for a test that has never run
+     */
+    public long estimate(String testId) {
+        return millis.getOrDefault(testId, fallbackMillis);
+    }
+
+    public boolean isKnown(String testId) {
+        return millis.containsKey(testId);
+    }
+
+    public Map<String, Long> asMap() {
+        return Collections.unmodifiableMap(millis);
+    }
+
+    /**
+     * Fold this run's durations into earlier ones
+     * Averaging with the previous value keeps one slow run (a cold org, a retry) from skewing the next plan
+     */
+    public static Map<String, Long> merge(Map<String, Long> previous, Map<String, Long> recorded) {
+        Map<String, Long> merged = new TreeMap<>(previous);
+        recorded.forEach((test, duration) -> merged.merge(test, duration, (old, now) -> (old + now) / 2));
+        return merged;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Long> read(Path file) {
+        Map<String, Long> durations = new TreeMap<>();
+        if (!Files.isRegularFile(file)) {
+            return durations;
+        }
+        try {
+            Map<String, Object> json = JSON.toType(Files.readString(file), Json.MAP_TYPE);
+            Object tests = json.get("tests");
+            if (tests instanceof Map) {
+                ((Map<String, Object>) tests).forEach((test, value) -> {
+                    if (value instanceof Number) {
+                        durations.put(test, ((Number) value).longValue());
+                    }
+                });
+            }
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Ignoring unreadable test durations file " + file + ": " + e.getMessage());
+        }
+        return durations;
+    }
+
+    public static void write(Path file, Map<String, Long> durations) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            Files.writeString(file, JSON.toJson(Map.of("tests", new TreeMap<>(durations))));
+        } catch (IOException e) {
+            System.err.println("Failed to write test durations to " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static long median(Iterable<Long> values) {
+        List<Long> sorted = new ArrayList<>();
+        values.forEach(sorted::add);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+}
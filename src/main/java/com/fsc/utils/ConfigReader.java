@@ -1,66 +1,329 @@
 package com.fsc.utils;
 
-import java.io.FileInputStream;
-import java.io.IOException;
-import java.util.Properties;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Utility class to read configuration from config.properties file
+ * Values come from the FrameworkConfig snapshot, so environment variables and -D properties override the file
  */
 public class ConfigReader {
-    private static Properties properties;
-    private static final String CONFIG_FILE_PATH = "src/test/resources/config.properties";
-
-    static {
-        try {
-            properties = new Properties();
-            FileInputStream fileInputStream = new FileInputStream(CONFIG_FILE_PATH);
-            properties.load(fileInputStream);
-            fileInputStream.close();
-        } catch (IOException e) {
-            e.printStackTrace();
-            throw new RuntimeException("Failed to load config.properties file: " + e.getMessage());
-        }
-    }
+    private static final FrameworkConfig config = FrameworkConfig.get();
 
     public static String getSalesforceUrl() {
-        return properties.getProperty("salesforce.url");
+        return config.getSalesforceUrl();
     }
 
     public static String getSalesforceSandboxUrl() {
-        return properties.getProperty("salesforce.sandbox.url");
+        return config.getSalesforceSandboxUrl();
     }
 
     public static String getUsername() {
-        return properties.getProperty("salesforce.username");
+        return config.getUsername();
     }
 
     public static String getPassword() {
-        return properties.getProperty("salesforce.password");
+        return config.getPassword();
     }
 
     public static String getBrowser() {
-        return properties.getProperty("browser");
+        return config.getBrowser();
     }
 
     public static boolean isHeadless() {
-        return Boolean.parseBoolean(properties.getProperty("headless"));
+        return config.isHeadless();
     }
 
     public static int getImplicitWait() {
-        return Integer.parseInt(properties.getProperty("implicit.wait"));
+        return config.getImplicitWait();
     }
 
     public static int getExplicitWait() {
-        return Integer.parseInt(properties.getProperty("explicit.wait"));
+        return config.getExplicitWait();
     }
 
     public static int getPageLoadTimeout() {
-        return Integer.parseInt(properties.getProperty("page.load.timeout"));
+        return config.getPageLoadTimeout();
+    }
+
+    public static int getLightningIdleQuietMillis() {
+        return config.getLightningIdleQuietMillis();
+    }
+
+    public static int getLightningIdleTimeout() {
+        return config.getLightningIdleTimeout();
+    }
+
+    public static boolean isCommandMetricsEnabled() {
+        return config.isCommandMetricsEnabled();
+    }
+
+    public static String getScreenshotFormat() {
+        return config.getScreenshotFormat();
+    }
+
+    public static int getScreenshotMaxWidth() {
+        return config.getScreenshotMaxWidth();
+    }
+
+    public static int getScreenshotJpegQuality() {
+        return config.getScreenshotJpegQuality();
+    }
+
+    public static int getScreenshotStoreMaxMb() {
+        return config.getScreenshotStoreMaxMb();
+    }
+
+    public static int getScreenshotWriterThreads() {
+        return config.getScreenshotWriterThreads();
+    }
+
+    public static int getScreenshotWriterQueue() {
+        return config.getScreenshotWriterQueue();
+    }
+
+    public static int getReportFlushEveryTests() {
+        return config.getReportFlushEveryTests();
+    }
+
+    public static int getReportFlushEverySeconds() {
+        return config.getReportFlushEverySeconds();
+    }
+
+    public static boolean isReportShardPerTest() {
+        return config.isReportShardPerTest();
+    }
+
+    public static int getReportShardMaxTests() {
+        return config.getReportShardMaxTests();
+    }
+
+    public static int getScriptTimeout() {
+        return config.getScriptTimeout();
+    }
+
+    public static String getParallelMode() {
+        return config.getParallelMode();
+    }
+
+    public static int getThreadCount() {
+        return config.getThreadCount();
+    }
+
+    public static int getDriverPoolSize() {
+        return config.getDriverPoolSize();
+    }
+
+    public static int getDriverMaxLeases() {
+        return config.getDriverMaxLeases();
+    }
+
+    public static boolean isSessionReuseEnabled() {
+        return config.isSessionReuseEnabled();
+    }
+
+    public static int getSessionSnapshotTtlMinutes() {
+        return config.getSessionSnapshotTtlMinutes();
+    }
+
+    public static String getVerificationProvider() {
+        return config.getVerificationProvider();
+    }
+
+    public static int getVerificationTimeout() {
+        return config.getVerificationTimeout();
+    }
+
+    public static String getVerificationEnvName() {
+        return config.getVerificationEnvName();
+    }
+
+    public static String getVerificationFile() {
+        return config.getVerificationFile();
+    }
+
+    public static int getVerificationSocketPort() {
+        return config.getVerificationSocketPort();
+    }
+
+    public static String getChromeDriverPath() {
+        return config.getChromeDriverPath();
+    }
+
+    public static String getDriverCacheDir() {
+        return config.getDriverCacheDir();
+    }
+
+    public static boolean isDriverOffline() {
+        return config.isDriverOffline();
+    }
+
+    public static boolean isProfileTemplateEnabled() {
+        return config.isProfileTemplateEnabled();
+    }
+
+    public static String getProfileTemplateDir() {
+        return config.getProfileTemplateDir();
+    }
+
+    public static List<String> getProfileTemplateUrls() {
+        return config.getProfileTemplateUrls();
+    }
+
+    public static int getProfileTemplateMaxAgeHours() {
+        return config.getProfileTemplateMaxAgeHours();
+    }
+
+    public static boolean isGridExecution() {
+        return config.isGridExecution();
+    }
+
+    public static URL getGridUrl() {
+        return config.getGridUrl();
+    }
+
+    public static int getGridSessionRetries() {
+        return config.getGridSessionRetries();
+    }
+
+    public static int getGridSessionBackoffMillis() {
+        return config.getGridSessionBackoffMillis();
+    }
+
+    public static String getGridBrowserVersion() {
+        return config.getGridBrowserVersion();
+    }
+
+    public static String getGridPlatform() {
+        return config.getGridPlatform();
+    }
+
+    public static int getShardIndex() {
+        return config.getShardIndex();
+    }
+
+    public static int getShardTotal() {
+        return config.getShardTotal();
+    }
+
+    public static String getShardDurationsFile() {
+        return config.getShardDurationsFile();
+    }
+
+    public static int getShardDefaultDurationMillis() {
+        return config.getShardDefaultDurationMillis();
+    }
+
+    public static boolean isNetworkBlockEnabled() {
+        return config.isNetworkBlockEnabled();
+    }
+
+    public static boolean isNetworkBlockReportOnly() {
+        return config.isNetworkBlockReportOnly();
+    }
+
+    public static List<String> getNetworkBlockPatterns() {
+        return config.getNetworkBlockPatterns();
+    }
+
+    public static List<String> getNetworkAllowPatterns() {
+        return config.getNetworkAllowPatterns();
+    }
+
+    public static String getApiLoginUrl() {
+        return config.getApiLoginUrl();
+    }
+
+    public static String getApiClientId() {
+        return config.getApiClientId();
+    }
+
+    public static String getApiClientSecret() {
+        return config.getApiClientSecret();
+    }
+
+    public static String getApiSecurityToken() {
+        return config.getApiSecurityToken();
+    }
+
+    public static String getApiVersion() {
+        return config.getApiVersion();
+    }
+
+    public static int getApiTimeout() {
+        return config.getApiTimeout();
+    }
+
+    public static int getApiBatchSize() {
+        return config.getApiBatchSize();
+    }
+
+    public static int getApiConcurrency() {
+        return config.getApiConcurrency();
+    }
+
+    public static boolean isPerfCaptureEnabled() {
+        return config.isPerfCaptureEnabled();
+    }
+
+    public static boolean isPerfBudgetFailing() {
+        return config.isPerfBudgetFailing();
+    }
+
+    public static Map<String, Map<String, Long>> getPerfBudgets() {
+        return config.getPerfBudgets();
+    }
+
+    public static int getRetryStepMax() {
+        return config.getRetryStepMax();
+    }
+
+    public static int getRetryTestBudget() {
+        return config.getRetryTestBudget();
+    }
+
+    public static int getRetryBackoffMillis() {
+        return config.getRetryBackoffMillis();
+    }
+
+    public static int getLoadUsers() {
+        return config.getLoadUsers();
+    }
+
+    public static int getLoadRampUpSeconds() {
+        return config.getLoadRampUpSeconds();
+    }
+
+    public static int getLoadSteadySeconds() {
+        return config.getLoadSteadySeconds();
+    }
+
+    public static int getLoadRampDownSeconds() {
+        return config.getLoadRampDownSeconds();
+    }
+
+    public static int getLoadThinkMinMillis() {
+        return config.getLoadThinkMinMillis();
+    }
+
+    public static int getLoadThinkMaxMillis() {
+        return config.getLoadThinkMaxMillis();
+    }
+
+    public static String getLoadSearchAccount() {
+        return config.getLoadSearchAccount();
+    }
+
+    /**
+     * The whole configuration snapshot
+     */
+    public static FrameworkConfig getConfig() {
+        return config;
     }
 
     // Generic method to get any property
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return config.getProperty(key);
     }
 }
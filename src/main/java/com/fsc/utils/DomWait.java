@@ -0,0 +1,187 @@
+package com.fsc.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedCondition;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Push-based waits that run inside the browser
+ * A MutationObserver re-checks the condition on every DOM change and the call returns the moment it holds,
+ * so there is one round-trip per wait instead of a findElement every 500 ms
+ *
+ * Drop-in replacement for the common ExpectedConditions:
+ *   wait.until(ExpectedConditions.visibilityOfElementLocated(by))   ->  domWait.visible(by)
+ *   wait.until(ExpectedConditions.elementToBeClickable(by))         ->  domWait.clickable(by)
+ *   wait.until(ExpectedConditions.invisibilityOfElementLocated(by)) ->  domWait.gone(by)
+ */
+public class DomWait {
+    private static final String WAIT_SCRIPT =
+        "var using = arguments[0], value = arguments[1], condition = arguments[2], text = arguments[3]," +
+        "    timeoutMs = arguments[4], done = arguments[arguments.length - 1];" +
+        "function find() {" +
+        "  if (using === 'xpath') {" +
+        "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+        "  }" +
+        "  if (using === 'shadow') { return window.__fscShadowQuery(value, null, true); }" +
+        "  return document.querySelector(value);" +
+        "}" +
+        "function visible(el) {" +
+        "  if (!el || !el.isConnected) { return false; }" +
+        "  var rect = el.getBoundingClientRect();" +
+        "  if (rect.width === 0 && rect.height === 0) { return false; }" +
+        "  var style = window.getComputedStyle(el);" +
+        "  return style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';" +
+        "}" +
+        "function check() {" +
+        "  var el = find();" +
+        "  switch (condition) {" +
+        "    case 'visible': return visible(el) ? el : null;" +
+        "    case 'clickable': return visible(el) && !el.disabled ? el : null;" +
+        "    case 'text': return visible(el) && (el.textContent || '').indexOf(text) >= 0 ? el : null;" +
+        "    case 'gone': return visible(el) ? null : true;" +
+        "  }" +
+        "}" +
+        "var finished = false, observer, timer, interval;" +
+        "function finish(result) {" +
+        "  if (finished) { return; }" +
+        "  finished = true;" +
+        "  if (observer) { observer.disconnect(); }" +
+        "  clearTimeout(timer);" +
+        "  clearInterval(interval);" +
+        "  done(result === null ? { found: false } : { found: true, element: result === true ? null : result });" +
+        "}" +
+        "var initial = check();" +
+        "if (initial !== null) { finish(initial); return; }" +
+        "observer = new MutationObserver(function () { var r = check(); if (r !== null) { finish(r); } });" +
+        "observer.observe(document, { subtree: true, childList: true, attributes: true, characterData: true });" +
+        // Layout-only changes (CSS transitions, resize) and changes inside shadow roots do not reach the
+        // observer, so re-check occasionally too
+        "interval = setInterval(function () { var r = check(); if (r !== null) { finish(r); } }, 250);" +
+        "timer = setTimeout(function () { finish(null); }, timeoutMs);";
+
+    // Navigation kills the in-page script; retry a few times on the new page before falling back to polling
+    private static final int MAX_SCRIPT_RESTARTS = 3;
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public DomWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Wait for the element to be present and visible
+     */
+    public WebElement visible(By by) {
+        return (WebElement) await(by, "visible", null, ExpectedConditions.visibilityOfElementLocated(by));
+    }
+
+    /**
+     * Wait for the element to be visible and enabled
+     */
+    public WebElement clickable(By by) {
+        return (WebElement) await(by, "clickable", null, ExpectedConditions.elementToBeClickable(by));
+    }
+
+    /**
+     * Wait for the element to be visible and contain the text
+     */
+    public WebElement textPresent(By by, String text) {
+        return (WebElement) await(by, "text", text, d -> {
+            WebElement element = ExpectedConditions.visibilityOfElementLocated(by).apply(d);
+            return element != null && element.getText().contains(text) ? element : null;
+        });
+    }
+
+    /**
+     * Wait for the element to be removed or hidden
+     */
+    public boolean gone(By by) {
+        await(by, "gone", null, ExpectedConditions.invisibilityOfElementLocated(by));
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object await(By by, String condition, String text, ExpectedCondition<?> fallback) {
+        String[] locator = toScriptLocator(by);
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+
+        if (locator != null) {
+            for (int attempt = 0; attempt <= MAX_SCRIPT_RESTARTS; attempt++) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    break;
+                }
+                try {
+                    // Shadow paths need the deep query on the page; the install is skipped where it is already defined
+                    String script = "shadow".equals(locator[0]) ? ShadowBy.INSTALL_SCRIPT + WAIT_SCRIPT : WAIT_SCRIPT;
+                    Map<String, Object> result = (Map<String, Object>) ((JavascriptExecutor) driver)
+                        .executeAsyncScript(script, locator[0], locator[1], condition, text, remaining);
+                    if (!Boolean.TRUE.equals(result.get("found"))) {
+                        throw timeoutFor(by, condition);
+                    }
+                    return result.get("element");
+                } catch (TimeoutException e) {
+                    throw e;
+                } catch (WebDriverException e) {
+                    // Usually "document unloaded while waiting for result" after a navigation
+                    System.out.println("In-page wait interrupted (" + firstLine(e) + "), restarting");
+                }
+            }
+        }
+
+        // Locator not expressible in JavaScript, or the page kept navigating: poll like WebDriverWait
+        long remaining = Math.max(0, deadline - System.currentTimeMillis());
+        try {
+            return new WebDriverWait(driver, Duration.ofMillis(remaining))
+                .ignoring(StaleElementReferenceException.class)
+                .until(fallback);
+        } catch (TimeoutException e) {
+            throw timeoutFor(by, condition);
+        }
+    }
+
+    /**
+     * Translate a locator to [using, value] for document.evaluate/querySelector/the shadow query, or null if not possible
+     * Selenium already maps id, name and className locators to CSS selectors
+     */
+    private static String[] toScriptLocator(By by) {
+        if (by instanceof ShadowBy) {
+            return new String[]{"shadow", ((ShadowBy) by).getPath()};
+        }
+        if (!(by instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+        String using = parameters.using();
+        if ("xpath".equals(using)) {
+            return new String[]{"xpath", String.valueOf(parameters.value())};
+        }
+        if ("css selector".equals(using)) {
+            return new String[]{"css", String.valueOf(parameters.value())};
+        }
+        return null;
+    }
+
+    private TimeoutException timeoutFor(By by, String condition) {
+        return new TimeoutException("Expected condition failed: waiting for " + by + " to be " + condition
+            + " (tried for " + timeout.getSeconds() + " second(s))");
+    }
+
+    private static String firstLine(WebDriverException e) {
+        String message = String.valueOf(e.getMessage());
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+}
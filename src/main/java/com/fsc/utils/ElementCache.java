@@ -0,0 +1,164 @@
+package com.fsc.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Remembers the elements a page object has already located, keyed by locator
+ * A cached element is reused while it is still attached, visible (and enabled, for clickable lookups);
+ * otherwise the locator is resolved again through DomWait
+ *
+ * Lightning keeps previously visited pages in the DOM but hidden, so the visibility check also catches
+ * handles left over from an earlier page. The cache also remembers the page it was filled on (URL plus a
+ * marker set on the document) and drops every element as soon as a lookup finds the page has changed;
+ * invalidate() after an action that navigates still saves that check.
+ */
+public class ElementCache {
+    // URL plus an id that lives as long as the document, so a reload of the same URL is a new page too
+    private static final String PAGE_KEY =
+        "(window.__fscDocumentId || (window.__fscDocumentId = Date.now() + '-' + Math.random())) + ' ' + location.href";
+
+    // One round-trip that checks a cached handle; throws StaleElementReferenceException if it was detached
+    private static final String USABLE_SCRIPT =
+        "var el = arguments[0], clickable = arguments[1];" +
+        "if (" + PAGE_KEY + " !== arguments[2]) { return 'navigated'; }" +
+        "if (!el.isConnected) { return false; }" +
+        "var rect = el.getBoundingClientRect();" +
+        "if (rect.width === 0 && rect.height === 0) { return false; }" +
+        "var style = window.getComputedStyle(el);" +
+        "if (style.visibility === 'hidden' || style.display === 'none') { return false; }" +
+        "return !clickable || !el.disabled;";
+
+    private final JavascriptExecutor js;
+    private final DomWait wait;
+    private final Map<By, WebElement> elements = new HashMap<>();
+    // Page the cached elements were located on
+    private String page;
+    private int hits;
+    private int misses;
+    private int stale;
+
+    public ElementCache(WebDriver driver, Duration timeout) {
+        this.js = (JavascriptExecutor) driver;
+        this.wait = new DomWait(driver, timeout);
+    }
+
+    /**
+     * Cached element if it is still visible, otherwise wait for it like DomWait.visible()
+     */
+    public WebElement visible(By by) {
+        return lookup(by, false);
+    }
+
+    /**
+     * Cached element if it is still visible and enabled, otherwise wait for it like DomWait.clickable()
+     */
+    public WebElement clickable(By by) {
+        return lookup(by, true);
+    }
+
+    /**
+     * Run an action on the visible element, locating it again once if it goes stale in between
+     */
+    public void onVisible(By by, Consumer<WebElement> action) {
+        run(by, false, action);
+    }
+
+    /**
+     * Run an action on the clickable element, locating it again once if it goes stale in between
+     */
+    public void onClickable(By by, Consumer<WebElement> action) {
+        run(by, true, action);
+    }
+
+    /**
+     * Forget one element, e.g. a list row that is re-rendered by a search
+     */
+    public void invalidate(By by) {
+        elements.remove(by);
+    }
+
+    /**
+     * Forget every element; call after a navigation
+     */
+    public void invalidate() {
+        elements.clear();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    public int getStale() {
+        return stale;
+    }
+
+    private void run(By by, boolean clickable, Consumer<WebElement> action) {
+        try {
+            action.accept(lookup(by, clickable));
+        } catch (StaleElementReferenceException e) {
+            // Re-rendered between the check and the action
+            countStale(by);
+            action.accept(lookup(by, clickable));
+        }
+    }
+
+    private WebElement lookup(By by, boolean clickable) {
+        WebElement cached = elements.get(by);
+        if (cached != null) {
+            try {
+                Object usable = js.executeScript(USABLE_SCRIPT, cached, clickable, page);
+                if (Boolean.TRUE.equals(usable)) {
+                    hits++;
+                    TestMetrics.increment("Element cache hits");
+                    return cached;
+                }
+                if ("navigated".equals(usable)) {
+                    dropPage();
+                }
+            } catch (StaleElementReferenceException e) {
+                // Detached; fall through and resolve again
+            }
+            if (elements.containsKey(by)) {
+                countStale(by);
+            }
+        }
+
+        misses++;
+        TestMetrics.increment("Element cache misses");
+        // The element about to be located belongs to the current page; anything cached from another one goes
+        String current = (String) js.executeScript("return " + PAGE_KEY + ";");
+        if (!current.equals(page)) {
+            if (!elements.isEmpty()) {
+                dropPage();
+            }
+            page = current;
+        }
+        WebElement element = clickable ? wait.clickable(by) : wait.visible(by);
+        elements.put(by, element);
+        return element;
+    }
+
+    private void dropPage() {
+        elements.clear();
+        TestMetrics.increment("Element cache page changes");
+    }
+
+    private void countStale(By by) {
+        elements.remove(by);
+        stale++;
+        TestMetrics.increment("Element cache stale");
+    }
+}
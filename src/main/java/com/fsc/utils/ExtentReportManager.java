@@ -1,88 +1,377 @@
 package com.fsc.utils;
 
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.aventstack.extentreports.reporter.JsonFormatter;
 import com.aventstack.extentreports.reporter.configuration.Theme;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Manages Extent Reports lifecycle
  * Creates HTML test reports with screenshots
+ *
+ * Reports are flushed incrementally (every report.flush.every.tests tests or report.flush.every.seconds)
+ * and on JVM shutdown, so an aborted run still leaves a report behind. With report.shard.per.test each
+ * TestNG &lt;test&gt; gets its own report file, and report.shard.max.tests starts a new part once a report
+ * holds that many tests; finished reports are released from memory and listed in an index page.
+ *
+ * ExtentReports is not thread-safe: creating nodes, logging to them and flushing one report all lock
+ * that report, so parallel tests go through log() instead of calling the ExtentTest directly.
  */
 public class ExtentReportManager {
-    private static ExtentReports extent;
+    private static final String DEFAULT_SHARD = "suite";
+
+    private static String timestamp;
+    private static String reportsDir;
     private static String reportPath;
+    private static final Map<String, Shard> openShards = new LinkedHashMap<>();
+    private static final List<Shard> retiringShards = new ArrayList<>();
+    private static final List<Shard> allShards = new ArrayList<>();
+    private static final Map<ExtentTest, Shard> testShards = new IdentityHashMap<>();
+    private static final Map<String, String> systemInfo = new LinkedHashMap<>();
+    private static int finishedSinceFlush;
+    private static long lastFlushMillis;
+
+    /**
+     * One report file and the tests written to it; its monitor guards every change to extent
+     */
+    private static class Shard {
+        private final String name;
+        private final int part;
+        private final String path;
+        private ExtentReports extent;
+        private int running;
+        private int passed;
+        private int failed;
+        private int skipped;
+        private int total;
+
+        Shard(String name, int part, String path, ExtentReports extent) {
+            this.name = name;
+            this.part = part;
+            this.path = path;
+            this.extent = extent;
+        }
+    }
 
     /**
      * Initialize Extent Reports
-     * Call this once before all tests
+     * Call this once before all tests (safe to call from several threads)
      */
-    public static ExtentReports createInstance() {
-        if (extent == null) {
+    public static synchronized ExtentReports createInstance() {
+        initialize();
+        return openShard(DEFAULT_SHARD).extent;
+    }
+
+    /**
+     * Prepare the report directory and system information without creating a report file yet
+     */
+    public static synchronized void initialize() {
+        if (timestamp == null) {
             // Create reports directory
-            String reportsDir = System.getProperty("user.dir") + "/test-output/extent-reports";
+            reportsDir = System.getProperty("user.dir") + "/test-output/extent-reports";
             File directory = new File(reportsDir);
             if (!directory.exists()) {
                 directory.mkdirs();
             }
 
-            // Generate report filename with timestamp
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            reportPath = reportsDir + "/TestReport_" + timestamp + ".html";
+            // Report filenames share the run timestamp
+            timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
+            lastFlushMillis = System.currentTimeMillis();
 
-            // Create Spark reporter (HTML report)
-            ExtentSparkReporter sparkReporter = new ExtentSparkReporter(reportPath);
+            // Add system information
+            systemInfo.put("Application", "Salesforce");
+            systemInfo.put("Environment", ConfigReader.getSalesforceUrl());
+            systemInfo.put("Browser", ConfigReader.getBrowser());
+            systemInfo.put("Execution", ConfigReader.isGridExecution() ? "grid " + ConfigReader.getGridUrl() : "local");
+            systemInfo.put("Headless Mode", String.valueOf(ConfigReader.isHeadless()));
+            systemInfo.put("OS", System.getProperty("os.name"));
+            systemInfo.put("Java Version", System.getProperty("java.version"));
+            String overrides = ConfigReader.getConfig().getOverridesSummary();
+            if (!overrides.isEmpty()) {
+                systemInfo.put("Config Overrides", overrides);
+            }
 
-            // Configure report
-            sparkReporter.config().setDocumentTitle("Salesforce Automation Test Report");
-            sparkReporter.config().setReportName("FSC Selenium Test Results");
-            sparkReporter.config().setTheme(Theme.STANDARD);
-            sparkReporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
+            // Write whatever has been collected if the JVM is stopped mid-suite
+            Runtime.getRuntime().addShutdownHook(new Thread(ExtentReportManager::flush, "extent-report-flush"));
+        }
+    }
+
+    /**
+     * Get ExtentReports instance
+     */
+    public static synchronized ExtentReports getInstance() {
+        return createInstance();
+    }
 
-            // Initialize ExtentReports
-            extent = new ExtentReports();
-            extent.attachReporter(sparkReporter);
+    /**
+     * Create a test node (synchronized so parallel tests can start at the same time)
+     */
+    public static synchronized ExtentTest createTest(String name) {
+        return createTest(DEFAULT_SHARD, name);
+    }
 
-            // Add system information
-            extent.setSystemInfo("Application", "Salesforce");
-            extent.setSystemInfo("Environment", ConfigReader.getSalesforceUrl());
-            extent.setSystemInfo("Browser", ConfigReader.getBrowser());
-            extent.setSystemInfo("Headless Mode", String.valueOf(ConfigReader.isHeadless()));
-            extent.setSystemInfo("OS", System.getProperty("os.name"));
-            extent.setSystemInfo("Java Version", System.getProperty("java.version"));
+    /**
+     * Create a test node in the report of a TestNG &lt;test&gt; (one shared report unless report.shard.per.test)
+     */
+    public static synchronized ExtentTest createTest(String testNgTest, String name) {
+        initialize();
+        Shard shard = openShard(shardKey(testNgTest));
+        int maxTests = ConfigReader.getReportShardMaxTests();
+        if (maxTests > 0 && shard.total >= maxTests) {
+            // Start the next part; the full one is written out once its running tests finish
+            openShards.remove(shard.name);
+            retire(shard);
+            shard = openShard(shard.name);
         }
 
-        return extent;
+        ExtentTest test;
+        synchronized (shard) {
+            test = shard.extent.createTest(name);
+        }
+        shard.running++;
+        shard.total++;
+        testShards.put(test, shard);
+        return test;
     }
 
     /**
-     * Get ExtentReports instance
+     * Log to a test node while holding its report's lock, so a parallel flush never sees it half-written
+     */
+    public static void log(ExtentTest test, Consumer<ExtentTest> entry) {
+        Shard shard;
+        synchronized (ExtentReportManager.class) {
+            shard = testShards.get(test);
+        }
+        if (shard == null) {
+            // Not created here or already finished; nothing else writes to it
+            entry.accept(test);
+            return;
+        }
+        synchronized (shard) {
+            entry.accept(test);
+        }
+    }
+
+    /**
+     * Record that a test node is complete; flushes when the configured number of tests or seconds has passed
+     */
+    public static synchronized void testFinished(ExtentTest test, Status status) {
+        Shard shard = testShards.remove(test);
+        if (shard == null) {
+            return;
+        }
+        shard.running--;
+        if (status == Status.PASS) {
+            shard.passed++;
+        } else if (status == Status.FAIL) {
+            shard.failed++;
+        } else if (status == Status.SKIP) {
+            shard.skipped++;
+        }
+        if (retiringShards.contains(shard) && shard.running == 0) {
+            release(shard);
+        }
+
+        finishedSinceFlush++;
+        long secondsSinceFlush = (System.currentTimeMillis() - lastFlushMillis) / 1000;
+        if (finishedSinceFlush >= ConfigReader.getReportFlushEveryTests()
+                || secondsSinceFlush >= ConfigReader.getReportFlushEverySeconds()) {
+            flush();
+        }
+    }
+
+    /**
+     * Write and release the report of a finished TestNG &lt;test&gt; (only when reports are sharded)
      */
-    public static ExtentReports getInstance() {
-        if (extent == null) {
-            createInstance();
+    public static synchronized void finishShard(String testNgTest) {
+        if (!ConfigReader.isReportShardPerTest()) {
+            return;
+        }
+        Shard shard = openShards.remove(shardKey(testNgTest));
+        if (shard != null) {
+            retire(shard);
+        }
+    }
+
+    /**
+     * Add system information to every report, including ones created later
+     */
+    public static synchronized void setSystemInfo(String name, String value) {
+        systemInfo.put(name, value);
+        for (Shard shard : openShards.values()) {
+            synchronized (shard) {
+                shard.extent.setSystemInfo(name, value);
+            }
         }
-        return extent;
     }
 
     /**
      * Flush report (write to file)
-     * Call this after all tests complete
+     * Safe to call at any time; called periodically, after all tests complete and on shutdown
+     */
+    public static synchronized void flush() {
+        for (Shard shard : openShards.values()) {
+            flush(shard);
+        }
+        for (Shard shard : retiringShards) {
+            flush(shard);
+        }
+        finishedSinceFlush = 0;
+        lastFlushMillis = System.currentTimeMillis();
+
+        if (allShards.size() > 1) {
+            writeIndex();
+        }
+        if (reportPath != null) {
+            System.out.println("Extent Report generated: " + (allShards.size() > 1 ? indexPath() : reportPath));
+        }
+    }
+
+    /**
+     * Path of a file as seen from the report, so the report folder can be moved together with test-output
+     */
+    public static synchronized String relativeToReport(Path file) {
+        if (reportsDir == null) {
+            return file.toAbsolutePath().toString();
+        }
+        return Paths.get(reportsDir).toAbsolutePath().relativize(file.toAbsolutePath()).toString().replace('\\', '/');
+    }
+
+    /**
+     * Get report path (the index page when there is more than one report file)
+     */
+    public static synchronized String getReportPath() {
+        return allShards.size() > 1 ? indexPath() : reportPath;
+    }
+
+    private static String shardKey(String testNgTest) {
+        return ConfigReader.isReportShardPerTest() && testNgTest != null ? testNgTest : DEFAULT_SHARD;
+    }
+
+    private static Shard openShard(String name) {
+        Shard shard = openShards.get(name);
+        if (shard != null) {
+            return shard;
+        }
+
+        int part = 1 + (int) allShards.stream().filter(s -> s.name.equals(name)).count();
+        String fileName = "TestReport_" + timestamp + shardSuffix()
+            + (DEFAULT_SHARD.equals(name) ? "" : "_" + name.replaceAll("[^A-Za-z0-9._-]", "_"))
+            + (part > 1 ? "_part" + part : "") + ".html";
+        String path = reportsDir + "/" + fileName;
+
+        // Create Spark reporter (HTML report)
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(path);
+
+        // Configure report
+        sparkReporter.config().setDocumentTitle("Salesforce Automation Test Report");
+        sparkReporter.config().setReportName("FSC Selenium Test Results" + (DEFAULT_SHARD.equals(name) ? "" : " - " + name)
+            + (part > 1 ? " (part " + part + ")" : ""));
+        sparkReporter.config().setTheme(Theme.STANDARD);
+        sparkReporter.config().setTimeStampFormat("MMM dd, yyyy HH:mm:ss");
+
+        // Initialize ExtentReports
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        if (ConfigReader.getShardTotal() > 1) {
+            // ShardMerger rebuilds one report from every shard's JSON archive
+            extent.attachReporter(new JsonFormatter(path.replace(".html", ".json")));
+        }
+        systemInfo.forEach(extent::setSystemInfo);
+
+        shard = new Shard(name, part, path, extent);
+        openShards.put(name, shard);
+        allShards.add(shard);
+        if (reportPath == null) {
+            reportPath = path;
+        }
+        return shard;
+    }
+
+    private static void flush(Shard shard) {
+        synchronized (shard) {
+            shard.extent.flush();
+        }
+    }
+
+    private static void retire(Shard shard) {
+        if (shard.running == 0) {
+            release(shard);
+        } else {
+            retiringShards.add(shard);
+        }
+    }
+
+    /**
+     * Write the report one last time and drop it, so its tests no longer take up memory
      */
-    public static void flush() {
-        if (extent != null) {
-            extent.flush();
-            System.out.println("Extent Report generated: " + reportPath);
+    private static void release(Shard shard) {
+        synchronized (shard) {
+            shard.extent.flush();
+            shard.extent = null;
+        }
+        retiringShards.remove(shard);
+        if (allShards.size() > 1) {
+            writeIndex();
         }
     }
 
+    private static String indexPath() {
+        return reportsDir + "/TestReport_" + timestamp + shardSuffix() + "_index.html";
+    }
+
+    // Reports from different CI shards must not overwrite each other when their outputs are collected
+    private static String shardSuffix() {
+        int total = ConfigReader.getShardTotal();
+        return total > 1 ? "_shard" + (ConfigReader.getShardIndex() + 1) + "of" + total : "";
+    }
+
     /**
-     * Get report path
+     * Lightweight page linking every report file with its counts
      */
-    public static String getReportPath() {
-        return reportPath;
+    private static void writeIndex() {
+        StringBuilder html = new StringBuilder()
+            .append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Salesforce Automation Test Report</title>")
+            .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse}")
+            .append("td,th{border:1px solid #ccc;padding:4px 10px;text-align:left}.fail{color:#c00}</style></head><body>")
+            .append("<h1>FSC Selenium Test Results</h1><p>Run ").append(timestamp).append("</p>")
+            .append("<table><tr><th>Report</th><th>Tests</th><th>Passed</th><th>Failed</th><th>Skipped</th><th>State</th></tr>");
+        for (Shard shard : allShards) {
+            String file = Paths.get(shard.path).getFileName().toString();
+            html.append("<tr><td><a href=\"").append(file).append("\">").append(escape(shard.name))
+                .append(shard.part > 1 ? " (part " + shard.part + ")" : "").append("</a></td>")
+                .append("<td>").append(shard.total).append("</td>")
+                .append("<td>").append(shard.passed).append("</td>")
+                .append("<td class=\"").append(shard.failed > 0 ? "fail" : "").append("\">").append(shard.failed).append("</td>")
+                .append("<td>").append(shard.skipped).append("</td>")
+                .append("<td>").append(shard.extent == null ? "complete" : "running").append("</td></tr>");
+        }
+        html.append("</table></body></html>");
+
+        try {
+            Files.writeString(Paths.get(indexPath()), html);
+        } catch (IOException e) {
+            System.err.println("Failed to write report index: " + e.getMessage());
+        }
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
     }
 }
@@ -0,0 +1,805 @@
+package com.fsc.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Typed configuration, parsed and validated once and never changed afterwards
+ *
+ * Sources are layered, each overriding the ones before it:
+ * built-in defaults, config.properties on the classpath, the config file
+ * (src/test/resources/config.properties, or -Dconfig.file / FSC_CONFIG_FILE),
+ * environment variables (FSC_THREAD_COUNT sets thread.count) and -D system properties (-Dthread.count=4).
+ * Every invalid value is reported in one IllegalStateException, so a bad CI setting fails the run up front.
+ */
+public final class FrameworkConfig {
+    public static final String ENV_PREFIX = "FSC_";
+    private static final String DEFAULT_FILE = "src/test/resources/config.properties";
+    private static final String CLASSPATH_FILE = "config.properties";
+
+    private static final Set<String> PARALLEL_MODES = Set.of("none", "methods", "classes", "tests", "instances");
+    private static final Set<String> VERIFICATION_PROVIDERS = Set.of("manual", "env", "file", "socket");
+    private static final Set<String> EXECUTION_MODES = Set.of("local", "grid");
+    // The JDK has no WebP encoder, so webp is rejected rather than quietly written as jpg
+    private static final Set<String> SCREENSHOT_FORMATS = Set.of("png", "jpg", "jpeg");
+    private static final Set<String> PERF_BUDGET_MODES = Set.of("warn", "fail");
+    private static final Set<String> PERF_METRICS = Set.of("duration", "ept", "fcp", "lcp", "longtasks", "requests", "transfer.kb");
+    private static final String PERF_BUDGET_PREFIX = "perf.budget.";
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("browser", "chrome");
+        DEFAULTS.put("headless", "false");
+        DEFAULTS.put("implicit.wait", "0");
+        DEFAULTS.put("explicit.wait", "20");
+        DEFAULTS.put("page.load.timeout", "60");
+        DEFAULTS.put("script.timeout", "60");
+        DEFAULTS.put("lightning.idle.quiet.ms", "300");
+        DEFAULTS.put("lightning.idle.timeout", "15");
+        DEFAULTS.put("metrics.commands", "true");
+        DEFAULTS.put("screenshot.format", "png");
+        DEFAULTS.put("screenshot.max.width", "0");
+        DEFAULTS.put("screenshot.jpeg.quality", "80");
+        DEFAULTS.put("screenshot.store.max.mb", "500");
+        DEFAULTS.put("screenshot.writer.threads", "2");
+        DEFAULTS.put("screenshot.writer.queue", "32");
+        DEFAULTS.put("report.flush.every.tests", "25");
+        DEFAULTS.put("report.flush.every.seconds", "60");
+        DEFAULTS.put("report.shard.per.test", "false");
+        // Bounded by default so a long suite never holds every test in one in-memory report
+        DEFAULTS.put("report.shard.max.tests", "500");
+        DEFAULTS.put("parallel.mode", "methods");
+        DEFAULTS.put("thread.count", "1");
+        DEFAULTS.put("driver.pool.max.leases", "20");
+        DEFAULTS.put("session.reuse", "true");
+        DEFAULTS.put("session.snapshot.ttl.minutes", "30");
+        DEFAULTS.put("verification.provider", "manual");
+        DEFAULTS.put("verification.timeout", "120");
+        DEFAULTS.put("verification.env.name", "SF_VERIFICATION_CODE");
+        DEFAULTS.put("verification.file", "test-output/verification-code.txt");
+        DEFAULTS.put("verification.socket.port", "5899");
+        DEFAULTS.put("webdriver.cache.dir", System.getProperty("user.home") + "/.cache/fsc-selenium/drivers");
+        DEFAULTS.put("webdriver.offline", "false");
+        DEFAULTS.put("profile.template.enabled", "false");
+        DEFAULTS.put("profile.template.dir", System.getProperty("user.home") + "/.cache/fsc-selenium/profile-template");
+        DEFAULTS.put("profile.template.urls", "");
+        DEFAULTS.put("profile.template.max.age.hours", "24");
+        DEFAULTS.put("execution.mode", "local");
+        DEFAULTS.put("grid.url", "http://localhost:4444");
+        DEFAULTS.put("grid.session.retries", "3");
+        DEFAULTS.put("grid.session.backoff.ms", "2000");
+        DEFAULTS.put("shard.index", "0");
+        DEFAULTS.put("shard.total", "1");
+        DEFAULTS.put("shard.durations.file", "test-output/test-durations.json");
+        DEFAULTS.put("shard.default.duration.ms", "60000");
+        DEFAULTS.put("network.block.enabled", "false");
+        DEFAULTS.put("network.block.report.only", "false");
+        // Fonts, images and analytics; Lightning renders and behaves the same without them
+        DEFAULTS.put("network.block.patterns", String.join(",",
+            "*.woff", "*.woff2", "*.ttf", "*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.ico",
+            "*google-analytics.com*", "*googletagmanager.com*", "*doubleclick.net*", "*nr-data.net*",
+            "*InstrumentationBeacon*"));
+        DEFAULTS.put("network.allow.patterns", "");
+        DEFAULTS.put("api.version", "59.0");
+        DEFAULTS.put("api.timeout", "30");
+        DEFAULTS.put("api.batch.size", "200");
+        DEFAULTS.put("api.concurrency", "4");
+        DEFAULTS.put("perf.capture", "true");
+        DEFAULTS.put("perf.budget.mode", "warn");
+        DEFAULTS.put("retry.step.max", "2");
+        DEFAULTS.put("retry.test.budget", "3");
+        DEFAULTS.put("retry.backoff.ms", "500");
+        DEFAULTS.put("load.users", "5");
+        DEFAULTS.put("load.ramp.up.seconds", "30");
+        DEFAULTS.put("load.steady.seconds", "120");
+        DEFAULTS.put("load.ramp.down.seconds", "15");
+        DEFAULTS.put("load.think.min.ms", "1000");
+        DEFAULTS.put("load.think.max.ms", "3000");
+        DEFAULTS.put("load.search.account", "Berardo");
+    }
+
+    // Keys that may be set with -D even though they have no default
+    private static final Set<String> OPTIONAL_KEYS = Set.of("salesforce.url", "salesforce.sandbox.url",
+        "salesforce.username", "salesforce.password", "driver.pool.size", "webdriver.chrome.driver.path",
+        "grid.browser.version", "grid.platform", "api.login.url", "api.client.id", "api.client.secret", "api.security.token");
+
+    private static class Holder {
+        private static final FrameworkConfig INSTANCE = load(System.getenv(), System.getProperties());
+    }
+
+    private final Map<String, String> values;
+    private final Map<String, String> sources;
+
+    private final String salesforceUrl;
+    private final String salesforceSandboxUrl;
+    private final String username;
+    private final String password;
+    private final String browser;
+    private final boolean headless;
+    private final int implicitWait;
+    private final int explicitWait;
+    private final int pageLoadTimeout;
+    private final int scriptTimeout;
+    private final int lightningIdleQuietMillis;
+    private final int lightningIdleTimeout;
+    private final boolean commandMetricsEnabled;
+    private final String screenshotFormat;
+    private final int screenshotMaxWidth;
+    private final int screenshotJpegQuality;
+    private final int screenshotStoreMaxMb;
+    private final int screenshotWriterThreads;
+    private final int screenshotWriterQueue;
+    private final int reportFlushEveryTests;
+    private final int reportFlushEverySeconds;
+    private final boolean reportShardPerTest;
+    private final int reportShardMaxTests;
+    private final String parallelMode;
+    private final int threadCount;
+    private final int driverPoolSize;
+    private final int driverMaxLeases;
+    private final boolean sessionReuseEnabled;
+    private final int sessionSnapshotTtlMinutes;
+    private final String verificationProvider;
+    private final int verificationTimeout;
+    private final String verificationEnvName;
+    private final String verificationFile;
+    private final int verificationSocketPort;
+    private final String chromeDriverPath;
+    private final String driverCacheDir;
+    private final boolean driverOffline;
+    private final boolean profileTemplateEnabled;
+    private final String profileTemplateDir;
+    private final List<String> profileTemplateUrls;
+    private final int profileTemplateMaxAgeHours;
+    private final String executionMode;
+    private final URL gridUrl;
+    private final int gridSessionRetries;
+    private final int gridSessionBackoffMillis;
+    private final String gridBrowserVersion;
+    private final String gridPlatform;
+    private final int shardIndex;
+    private final int shardTotal;
+    private final String shardDurationsFile;
+    private final int shardDefaultDurationMillis;
+    private final boolean networkBlockEnabled;
+    private final boolean networkBlockReportOnly;
+    private final List<String> networkBlockPatterns;
+    private final List<String> networkAllowPatterns;
+    private final String apiLoginUrl;
+    private final String apiClientId;
+    private final String apiClientSecret;
+    private final String apiSecurityToken;
+    private final String apiVersion;
+    private final int apiTimeout;
+    private final int apiBatchSize;
+    private final int apiConcurrency;
+    private final boolean perfCaptureEnabled;
+    private final String perfBudgetMode;
+    private final Map<String, Map<String, Long>> perfBudgets;
+    private final int retryStepMax;
+    private final int retryTestBudget;
+    private final int retryBackoffMillis;
+    private final int loadUsers;
+    private final int loadRampUpSeconds;
+    private final int loadSteadySeconds;
+    private final int loadRampDownSeconds;
+    private final int loadThinkMinMillis;
+    private final int loadThinkMaxMillis;
+    private final String loadSearchAccount;
+
+    private FrameworkConfig(Map<String, String> values, Map<String, String> sources) {
+        this.values = Collections.unmodifiableMap(values);
+        this.sources = Collections.unmodifiableMap(sources);
+
+        Parser p = new Parser(values);
+        salesforceUrl = p.string("salesforce.url");
+        salesforceSandboxUrl = p.string("salesforce.sandbox.url");
+        username = p.string("salesforce.username");
+        password = p.string("salesforce.password");
+        browser = p.string("browser");
+        headless = p.bool("headless");
+        implicitWait = p.integer("implicit.wait", 0, Integer.MAX_VALUE);
+        explicitWait = p.integer("explicit.wait", 1, Integer.MAX_VALUE);
+        pageLoadTimeout = p.integer("page.load.timeout", 1, Integer.MAX_VALUE);
+        scriptTimeout = p.integer("script.timeout", 1, Integer.MAX_VALUE);
+        lightningIdleQuietMillis = p.integer("lightning.idle.quiet.ms", 0, Integer.MAX_VALUE);
+        // The wait runs as an async script, which the driver would cut off at script.timeout
+        lightningIdleTimeout = p.integer("lightning.idle.timeout", 1, Math.max(1, scriptTimeout - 1));
+        commandMetricsEnabled = p.bool("metrics.commands");
+        screenshotFormat = p.oneOf("screenshot.format", SCREENSHOT_FORMATS);
+        screenshotMaxWidth = p.integer("screenshot.max.width", 0, Integer.MAX_VALUE);
+        screenshotJpegQuality = p.integer("screenshot.jpeg.quality", 1, 100);
+        screenshotStoreMaxMb = p.integer("screenshot.store.max.mb", 0, Integer.MAX_VALUE);
+        screenshotWriterThreads = p.integer("screenshot.writer.threads", 1, Integer.MAX_VALUE);
+        screenshotWriterQueue = p.integer("screenshot.writer.queue", 1, Integer.MAX_VALUE);
+        reportFlushEveryTests = p.integer("report.flush.every.tests", 1, Integer.MAX_VALUE);
+        reportFlushEverySeconds = p.integer("report.flush.every.seconds", 1, Integer.MAX_VALUE);
+        reportShardPerTest = p.bool("report.shard.per.test");
+        reportShardMaxTests = p.integer("report.shard.max.tests", 0, Integer.MAX_VALUE);
+        parallelMode = p.oneOf("parallel.mode", PARALLEL_MODES);
+        threadCount = p.integer("thread.count", 1, Integer.MAX_VALUE);
+        // Defaults to one browser per TestNG worker thread
+        driverPoolSize = values.containsKey("driver.pool.size")
+            ? p.integer("driver.pool.size", 1, Integer.MAX_VALUE) : threadCount;
+        driverMaxLeases = p.integer("driver.pool.max.leases", 1, Integer.MAX_VALUE);
+        sessionReuseEnabled = p.bool("session.reuse");
+        sessionSnapshotTtlMinutes = p.integer("session.snapshot.ttl.minutes", 1, Integer.MAX_VALUE);
+        verificationProvider = p.oneOf("verification.provider", VERIFICATION_PROVIDERS);
+        verificationTimeout = p.integer("verification.timeout", 1, Integer.MAX_VALUE);
+        verificationEnvName = p.string("verification.env.name");
+        verificationFile = p.string("verification.file");
+        verificationSocketPort = p.integer("verification.socket.port", 1, 65535);
+        chromeDriverPath = p.string("webdriver.chrome.driver.path");
+        driverCacheDir = p.string("webdriver.cache.dir");
+        driverOffline = p.bool("webdriver.offline");
+        profileTemplateEnabled = p.bool("profile.template.enabled");
+        profileTemplateDir = p.string("profile.template.dir");
+        profileTemplateUrls = p.list("profile.template.urls");
+        profileTemplateMaxAgeHours = p.integer("profile.template.max.age.hours", 1, Integer.MAX_VALUE);
+        executionMode = p.oneOf("execution.mode", EXECUTION_MODES);
+        gridUrl = p.url("grid.url");
+        gridSessionRetries = p.integer("grid.session.retries", 0, Integer.MAX_VALUE);
+        gridSessionBackoffMillis = p.integer("grid.session.backoff.ms", 0, Integer.MAX_VALUE);
+        gridBrowserVersion = p.string("grid.browser.version");
+        gridPlatform = p.string("grid.platform");
+        shardTotal = p.integer("shard.total", 1, Integer.MAX_VALUE);
+        shardIndex = p.integer("shard.index", 0, Math.max(0, shardTotal - 1));
+        shardDurationsFile = p.string("shard.durations.file");
+        shardDefaultDurationMillis = p.integer("shard.default.duration.ms", 1, Integer.MAX_VALUE);
+        networkBlockEnabled = p.bool("network.block.enabled");
+        networkBlockReportOnly = p.bool("network.block.report.only");
+        networkBlockPatterns = p.list("network.block.patterns");
+        networkAllowPatterns = p.list("network.allow.patterns");
+        apiLoginUrl = p.string("api.login.url");
+        apiClientId = p.string("api.client.id");
+        apiClientSecret = p.string("api.client.secret");
+        apiSecurityToken = p.string("api.security.token");
+        apiVersion = p.string("api.version");
+        apiTimeout = p.integer("api.timeout", 1, Integer.MAX_VALUE);
+        // sObject collection requests take at most 200 records
+        apiBatchSize = p.integer("api.batch.size", 1, 200);
+        apiConcurrency = p.integer("api.concurrency", 1, 25);
+        perfCaptureEnabled = p.bool("perf.capture");
+        perfBudgetMode = p.oneOf("perf.budget.mode", PERF_BUDGET_MODES);
+        perfBudgets = p.budgets(PERF_BUDGET_PREFIX, PERF_METRICS);
+        retryStepMax = p.integer("retry.step.max", 0, 10);
+        retryTestBudget = p.integer("retry.test.budget", 0, Integer.MAX_VALUE);
+        retryBackoffMillis = p.integer("retry.backoff.ms", 0, Integer.MAX_VALUE);
+        loadUsers = p.integer("load.users", 1, Integer.MAX_VALUE);
+        loadRampUpSeconds = p.integer("load.ramp.up.seconds", 0, Integer.MAX_VALUE);
+        loadSteadySeconds = p.integer("load.steady.seconds", 0, Integer.MAX_VALUE);
+        loadRampDownSeconds = p.integer("load.ramp.down.seconds", 0, Integer.MAX_VALUE);
+        loadThinkMinMillis = p.integer("load.think.min.ms", 0, Integer.MAX_VALUE);
+        loadThinkMaxMillis = p.integer("load.think.max.ms", loadThinkMinMillis, Integer.MAX_VALUE);
+        loadSearchAccount = p.string("load.search.account");
+
+        if (!p.problems.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration:\n  " + String.join("\n  ", p.problems));
+        }
+    }
+
+    /**
+     * Configuration of this JVM, loaded on first use
+     */
+    public static FrameworkConfig get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Build a configuration from explicit environment and system properties (tests use this to check layering)
+     */
+    public static FrameworkConfig load(Map<String, String> environment, Properties systemProperties) {
+        Map<String, String> values = new LinkedHashMap<>();
+        Map<String, String> sources = new LinkedHashMap<>();
+        DEFAULTS.forEach((key, value) -> put(values, sources, key, value, "default"));
+
+        try (InputStream in = FrameworkConfig.class.getClassLoader().getResourceAsStream(CLASSPATH_FILE)) {
+            if (in != null) {
+                Properties properties = new Properties();
+                properties.load(in);
+                properties.stringPropertyNames().forEach(key ->
+                    put(values, sources, key, properties.getProperty(key), "classpath:" + CLASSPATH_FILE));
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + CLASSPATH_FILE + " from the classpath: " + e.getMessage(), e);
+        }
+
+        String explicitFile = systemProperties.getProperty("config.file", environment.get(ENV_PREFIX + "CONFIG_FILE"));
+        Path file = Paths.get(explicitFile != null ? explicitFile : DEFAULT_FILE);
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                Properties properties = new Properties();
+                properties.load(reader);
+                properties.stringPropertyNames().forEach(key ->
+                    put(values, sources, key, properties.getProperty(key), file.toString()));
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to load config file " + file + ": " + e.getMessage(), e);
+            }
+        } else if (explicitFile != null) {
+            throw new IllegalStateException("Config file not found: " + file.toAbsolutePath());
+        } else if (!sources.containsValue("classpath:" + CLASSPATH_FILE)) {
+            System.out.println("No " + CLASSPATH_FILE + " found; using defaults, FSC_* environment variables and -D properties");
+        }
+
+        environment.forEach((name, value) -> {
+            if (name.startsWith(ENV_PREFIX) && name.length() > ENV_PREFIX.length()) {
+                put(values, sources, toKey(name), value, "env:" + name);
+            }
+        });
+
+        // Only keys the framework knows, so unrelated JVM properties (java.version, user.dir...) stay out
+        for (String key : systemProperties.stringPropertyNames()) {
+            if (values.containsKey(key) || OPTIONAL_KEYS.contains(key) || key.startsWith(PERF_BUDGET_PREFIX)) {
+                put(values, sources, key, systemProperties.getProperty(key), "-D" + key);
+            }
+        }
+
+        return new FrameworkConfig(values, sources);
+    }
+
+    /**
+     * Environment variable name for a key, e.g. thread.count becomes FSC_THREAD_COUNT
+     */
+    public static String toEnvironmentName(String key) {
+        return ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_');
+    }
+
+    private static String toKey(String environmentName) {
+        return environmentName.substring(ENV_PREFIX.length()).toLowerCase(Locale.ROOT).replace('_', '.');
+    }
+
+    private static void put(Map<String, String> values, Map<String, String> sources, String key, String value, String source) {
+        values.put(key, value.trim());
+        sources.put(key, source);
+    }
+
+    /**
+     * Parses values, collecting every problem instead of stopping at the first
+     */
+    private static class Parser {
+        private final Map<String, String> values;
+        private final List<String> problems = new ArrayList<>();
+
+        Parser(Map<String, String> values) {
+            this.values = values;
+        }
+
+        String string(String key) {
+            String value = values.get(key);
+            return value == null || value.isEmpty() ? null : value;
+        }
+
+        boolean bool(String key) {
+            String value = values.get(key);
+            if ("true".equalsIgnoreCase(value)) {
+                return true;
+            }
+            if (!"false".equalsIgnoreCase(value)) {
+                problems.add(key + "=" + value + " must be true or false");
+            }
+            return false;
+        }
+
+        int integer(String key, int min, int max) {
+            String value = values.get(key);
+            try {
+                int parsed = Integer.parseInt(value);
+                if (parsed < min || parsed > max) {
+                    problems.add(key + "=" + value + " must be " + (max == Integer.MAX_VALUE ? "at least " + min : "between " + min + " and " + max));
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                problems.add(key + "=" + value + " is not a number");
+                return min;
+            }
+        }
+
+        String oneOf(String key, Set<String> allowed) {
+            String value = values.get(key);
+            String normalized = value == null ? null : value.toLowerCase(Locale.ROOT);
+            if (!allowed.contains(normalized)) {
+                problems.add(key + "=" + value + " must be one of " + allowed.stream().sorted().collect(Collectors.joining(", ")));
+            }
+            return normalized;
+        }
+
+        URL url(String key) {
+            String value = values.get(key);
+            try {
+                return new URI(value).toURL();
+            } catch (URISyntaxException | MalformedURLException | IllegalArgumentException | NullPointerException e) {
+                problems.add(key + "=" + value + " is not a valid URL");
+                return null;
+            }
+        }
+
+        /**
+         * Budgets keyed by step then metric, from keys like perf.budget.account-search.duration=8000
+         */
+        Map<String, Map<String, Long>> budgets(String prefix, Set<String> metrics) {
+            Map<String, Map<String, Long>> budgets = new LinkedHashMap<>();
+            for (String key : values.keySet()) {
+                String rest = key.startsWith(prefix) ? key.substring(prefix.length()) : "";
+                int dot = rest.indexOf('.');
+                if (dot < 0) {
+                    continue;
+                }
+                String metric = rest.substring(dot + 1);
+                if (!metrics.contains(metric)) {
+                    problems.add(key + " has unknown metric '" + metric + "'; use one of "
+                        + metrics.stream().sorted().collect(Collectors.joining(", ")));
+                    continue;
+                }
+                budgets.computeIfAbsent(rest.substring(0, dot), k -> new LinkedHashMap<>())
+                    .put(metric, (long) integer(key, 0, Integer.MAX_VALUE));
+            }
+            return Collections.unmodifiableMap(budgets);
+        }
+
+        List<String> list(String key) {
+            String value = values.get(key);
+            if (value == null || value.isEmpty()) {
+                return List.of();
+            }
+            return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toUnmodifiableList());
+        }
+    }
+
+    /**
+     * Raw value after layering, or null
+     */
+    public String getProperty(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Where a key's value came from: default, classpath, the file path, env:FSC_... or -Dkey
+     */
+    public String getSource(String key) {
+        return sources.get(key);
+    }
+
+    /**
+     * Keys that were overridden from the environment or system properties, e.g. "thread.count (-Dthread.count)"
+     * Secrets are listed by name only
+     */
+    public String getOverridesSummary() {
+        return sources.entrySet().stream()
+            .filter(e -> e.getValue().startsWith("env:") || e.getValue().startsWith("-D"))
+            .map(e -> e.getKey() + " (" + e.getValue() + ")")
+            .collect(Collectors.joining(", "));
+    }
+
+    public String getSalesforceUrl() {
+        return salesforceUrl;
+    }
+
+    public String getSalesforceSandboxUrl() {
+        return salesforceSandboxUrl;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public String getBrowser() {
+        return browser;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public int getImplicitWait() {
+        return implicitWait;
+    }
+
+    public int getExplicitWait() {
+        return explicitWait;
+    }
+
+    public int getPageLoadTimeout() {
+        return pageLoadTimeout;
+    }
+
+    public int getScriptTimeout() {
+        return scriptTimeout;
+    }
+
+    public int getLightningIdleQuietMillis() {
+        return lightningIdleQuietMillis;
+    }
+
+    public int getLightningIdleTimeout() {
+        return lightningIdleTimeout;
+    }
+
+    public boolean isCommandMetricsEnabled() {
+        return commandMetricsEnabled;
+    }
+
+    public String getScreenshotFormat() {
+        return screenshotFormat;
+    }
+
+    public int getScreenshotMaxWidth() {
+        return screenshotMaxWidth;
+    }
+
+    public int getScreenshotJpegQuality() {
+        return screenshotJpegQuality;
+    }
+
+    public int getScreenshotStoreMaxMb() {
+        return screenshotStoreMaxMb;
+    }
+
+    public int getScreenshotWriterThreads() {
+        return screenshotWriterThreads;
+    }
+
+    public int getScreenshotWriterQueue() {
+        return screenshotWriterQueue;
+    }
+
+    public int getReportFlushEveryTests() {
+        return reportFlushEveryTests;
+    }
+
+    public int getReportFlushEverySeconds() {
+        return reportFlushEverySeconds;
+    }
+
+    public boolean isReportShardPerTest() {
+        return reportShardPerTest;
+    }
+
+    public int getReportShardMaxTests() {
+        return reportShardMaxTests;
+    }
+
+    public String getParallelMode() {
+        return parallelMode;
+    }
+
+    public int getThreadCount() {
+        return threadCount;
+    }
+
+    public int getDriverPoolSize() {
+        return driverPoolSize;
+    }
+
+    public int getDriverMaxLeases() {
+        return driverMaxLeases;
+    }
+
+    public boolean isSessionReuseEnabled() {
+        return sessionReuseEnabled;
+    }
+
+    public int getSessionSnapshotTtlMinutes() {
+        return sessionSnapshotTtlMinutes;
+    }
+
+    public String getVerificationProvider() {
+        return verificationProvider;
+    }
+
+    public int getVerificationTimeout() {
+        return verificationTimeout;
+    }
+
+    public String getVerificationEnvName() {
+        return verificationEnvName;
+    }
+
+    public String getVerificationFile() {
+        return verificationFile;
+    }
+
+    public int getVerificationSocketPort() {
+        return verificationSocketPort;
+    }
+
+    public String getChromeDriverPath() {
+        return chromeDriverPath;
+    }
+
+    public String getDriverCacheDir() {
+        return driverCacheDir;
+    }
+
+    public boolean isDriverOffline() {
+        return driverOffline;
+    }
+
+    public boolean isProfileTemplateEnabled() {
+        return profileTemplateEnabled;
+    }
+
+    public String getProfileTemplateDir() {
+        return profileTemplateDir;
+    }
+
+    public List<String> getProfileTemplateUrls() {
+        return profileTemplateUrls;
+    }
+
+    public int getProfileTemplateMaxAgeHours() {
+        return profileTemplateMaxAgeHours;
+    }
+
+    public String getExecutionMode() {
+        return executionMode;
+    }
+
+    public boolean isGridExecution() {
+        return "grid".equals(executionMode);
+    }
+
+    public URL getGridUrl() {
+        return gridUrl;
+    }
+
+    public int getGridSessionRetries() {
+        return gridSessionRetries;
+    }
+
+    public int getGridSessionBackoffMillis() {
+        return gridSessionBackoffMillis;
+    }
+
+    public String getGridBrowserVersion() {
+        return gridBrowserVersion;
+    }
+
+    public String getGridPlatform() {
+        return gridPlatform;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
+    public String getShardDurationsFile() {
+        return shardDurationsFile;
+    }
+
+    public int getShardDefaultDurationMillis() {
+        return shardDefaultDurationMillis;
+    }
+
+    public boolean isNetworkBlockEnabled() {
+        return networkBlockEnabled;
+    }
+
+    public boolean isNetworkBlockReportOnly() {
+        return networkBlockReportOnly;
+    }
+
+    public List<String> getNetworkBlockPatterns() {
+        return networkBlockPatterns;
+    }
+
+    public List<String> getNetworkAllowPatterns() {
+        return networkAllowPatterns;
+    }
+
+    public String getApiLoginUrl() {
+        return apiLoginUrl;
+    }
+
+    public String getApiClientId() {
+        return apiClientId;
+    }
+
+    public String getApiClientSecret() {
+        return apiClientSecret;
+    }
+
+    public String getApiSecurityToken() {
+        return apiSecurityToken;
+    }
+
+    public String getApiVersion() {
+        return apiVersion;
+    }
+
+    public int getApiTimeout() {
+        return apiTimeout;
+    }
+
+    public int getApiBatchSize() {
+        return apiBatchSize;
+    }
+
+    public int getApiConcurrency() {
+        return apiConcurrency;
+    }
+
+    public boolean isPerfCaptureEnabled() {
+        return perfCaptureEnabled;
+    }
+
+    public boolean isPerfBudgetFailing() {
+        return "fail".equals(perfBudgetMode);
+    }
+
+    /**
+     * Step name to metric to budget, e.g. {account-search={duration=8000, longtasks=500}}
+     */
+    public Map<String, Map<String, Long>> getPerfBudgets() {
+        return perfBudgets;
+    }
+
+    public int getRetryStepMax() {
+        return retryStepMax;
+    }
+
+    public int getRetryTestBudget() {
+        return retryTestBudget;
+    }
+
+    public int getRetryBackoffMillis() {
+        return retryBackoffMillis;
+    }
+
+    public int getLoadUsers() {
+        return loadUsers;
+    }
+
+    public int getLoadRampUpSeconds() {
+        return loadRampUpSeconds;
+    }
+
+    public int getLoadSteadySeconds() {
+        return loadSteadySeconds;
+    }
+
+    public int getLoadRampDownSeconds() {
+        return loadRampDownSeconds;
+    }
+
+    public int getLoadThinkMinMillis() {
+        return loadThinkMinMillis;
+    }
+
+    public int getLoadThinkMaxMillis() {
+        return loadThinkMaxMillis;
+    }
+
+    public String getLoadSearchAccount() {
+        return loadSearchAccount;
+    }
+}
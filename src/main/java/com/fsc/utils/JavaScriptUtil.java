@@ -1,5 +1,6 @@
 package com.fsc.utils;
 
+import com.fsc.metrics.PagePerformance;
 import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -8,9 +9,11 @@ import org.openqa.selenium.WebElement;
  * Utility class for JavaScript operations commonly needed in Salesforce testing
  */
 public class JavaScriptUtil {
+    private WebDriver driver;
     private JavascriptExecutor js;
 
     public JavaScriptUtil(WebDriver driver) {
+        this.driver = driver;
         this.js = (JavascriptExecutor) driver;
     }
 
@@ -62,11 +65,19 @@ public class JavaScriptUtil {
 
     /**
      * Access Shadow DOM element
+     * For elements several shadow levels deep use findInShadow(), which needs one round-trip in total
      */
     public WebElement getShadowRoot(WebElement shadowHost) {
         return (WebElement) js.executeScript("return arguments[0].shadowRoot", shadowHost);
     }
 
+    /**
+     * Find an element through nested shadow roots, e.g. "c-account-card >>> lightning-button >>> button"
+     */
+    public WebElement findInShadow(String path) {
+        return driver.findElement(ShadowBy.css(path));
+    }
+
     /**
      * Highlight element with red border (for debugging)
      */
@@ -106,6 +117,25 @@ public class JavaScriptUtil {
         js.executeScript("return document.readyState").equals("complete");
     }
 
+    /**
+     * Wait until the Lightning app has settled: no Aura/XHR/fetch requests in flight, no visible spinner
+     * and no DOM changes for the quiet window (lightning.idle.quiet.ms)
+     * Prefer this over polling isSpinnerPresent(), which misses spinners that appear late
+     * @return milliseconds spent waiting
+     */
+    public long waitForLightningIdle() {
+        return new LightningIdle(driver).await();
+    }
+
+    /**
+     * Start measuring a page step (Navigation/Resource Timing, paints, long tasks, EPT)
+     * Call finish() on the result once the page has settled, usually right after waitForLightningIdle()
+     * @param step name used in the report and in perf.budget.&lt;step&gt;.&lt;metric&gt; keys
+     */
+    public PagePerformance.Step startPerformanceStep(String step) {
+        return PagePerformance.start(driver, step);
+    }
+
     /**
      * Check if Lightning spinner is present
      */
@@ -159,6 +189,14 @@ public class JavaScriptUtil {
         }
     }
 
+    /**
+     * Start a batch of operations that run in a single round-trip
+     * Use this when a step chains several of the methods above
+     */
+    public ScriptBatch batch() {
+        return new ScriptBatch(js);
+    }
+
     /**
      * Execute custom JavaScript
      */
@@ -0,0 +1,163 @@
+package com.fsc.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Detects when the Lightning app has settled: no fetch/XHR (Aura actions) in flight,
+ * no visible spinner and no DOM mutations for a quiet window
+ *
+ * The instrumentation is registered for every new document when the driver supports CDP,
+ * so requests started during page load are counted too; otherwise it is injected on first use
+ */
+public class LightningIdle {
+    // Counts in-flight requests and remembers the last network or DOM activity; safe to run twice
+    static final String INSTRUMENTATION =
+        "(function () {" +
+        "  if (window.__fscIdle) { return; }" +
+        "  var state = window.__fscIdle = { inflight: 0, last: Date.now() };" +
+        // Streaming connections (EMP API, CometD) stay open for the whole session and never complete
+        "  function ignored(url) { return /\\/cometd\\/|\\/eventsource/i.test(String(url || '')); }" +
+        "  function start() { state.inflight++; state.last = Date.now(); }" +
+        "  function end() { state.inflight = Math.max(0, state.inflight - 1); state.last = Date.now(); }" +
+        "  if (window.fetch) {" +
+        "    var nativeFetch = window.fetch;" +
+        "    window.fetch = function (input) {" +
+        "      var url = input && input.url ? input.url : input;" +
+        "      if (ignored(url)) { return nativeFetch.apply(this, arguments); }" +
+        "      start();" +
+        "      return nativeFetch.apply(this, arguments).then(" +
+        "        function (r) { end(); return r; }," +
+        "        function (e) { end(); throw e; });" +
+        "    };" +
+        "  }" +
+        "  var open = XMLHttpRequest.prototype.open, send = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.open = function (method, url) {" +
+        "    this.__fscIgnored = ignored(url);" +
+        "    return open.apply(this, arguments);" +
+        "  };" +
+        "  XMLHttpRequest.prototype.send = function () {" +
+        "    if (!this.__fscIgnored) {" +
+        "      start();" +
+        "      this.addEventListener('loadend', end, { once: true });" +
+        "    }" +
+        "    return send.apply(this, arguments);" +
+        "  };" +
+        "  function observe() {" +
+        "    new MutationObserver(function () { state.last = Date.now(); })" +
+        "      .observe(document, { subtree: true, childList: true, attributes: true, characterData: true });" +
+        "  }" +
+        "  if (document.documentElement) { observe(); } else { document.addEventListener('DOMContentLoaded', observe); }" +
+        "})();";
+
+    // Resolves once the app has been idle for the quiet window, or with the busy state at the deadline
+    private static final String WAIT_SCRIPT = INSTRUMENTATION +
+        "var quietMs = arguments[0], timeoutMs = arguments[1], done = arguments[arguments.length - 1];" +
+        "var state = window.__fscIdle, started = Date.now();" +
+        "function spinnerVisible() {" +
+        "  var spinners = document.querySelectorAll('lightning-spinner, .slds-spinner');" +
+        "  for (var i = 0; i < spinners.length; i++) {" +
+        "    var r = spinners[i].getBoundingClientRect();" +
+        "    if (r.width > 0 && r.height > 0) { return true; }" +
+        "  }" +
+        "  return false;" +
+        "}" +
+        "(function check() {" +
+        "  var busy = state.inflight > 0 || spinnerVisible();" +
+        "  if (busy) { state.last = Math.max(state.last, Date.now()); }" +
+        "  if (document.readyState === 'complete' && !busy && Date.now() - state.last >= quietMs) {" +
+        "    done({ idle: true, waited: Date.now() - started });" +
+        "    return;" +
+        "  }" +
+        "  if (Date.now() - started >= timeoutMs) {" +
+        "    done({ idle: false, inflight: state.inflight, spinner: spinnerVisible(), quietFor: Date.now() - state.last });" +
+        "    return;" +
+        "  }" +
+        "  setTimeout(check, 50);" +
+        "})();";
+
+    // A navigation during the wait unloads the script; it is started again on the new page
+    private static final int MAX_SCRIPT_RESTARTS = 3;
+
+    private final JavascriptExecutor js;
+    private final Duration quietWindow;
+    private final Duration timeout;
+
+    public LightningIdle(WebDriver driver) {
+        this(driver, Duration.ofMillis(ConfigReader.getLightningIdleQuietMillis()),
+            Duration.ofSeconds(ConfigReader.getLightningIdleTimeout()));
+    }
+
+    public LightningIdle(WebDriver driver, Duration quietWindow, Duration timeout) {
+        this.js = (JavascriptExecutor) driver;
+        this.quietWindow = quietWindow;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Register the instrumentation for every document the browser loads from now on
+     * Without CDP the wait injects it on demand, which misses requests started before the first wait
+     */
+    public static void install(WebDriver driver) {
+        if (!(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            ((HasCdp) driver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument", Map.of("source", INSTRUMENTATION));
+        } catch (WebDriverException e) {
+            System.out.println("Could not register Lightning idle instrumentation: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Wait until no requests are in flight, no spinner is visible and the DOM has been quiet for the window
+     * @return milliseconds spent waiting
+     */
+    @SuppressWarnings("unchecked")
+    public long await() {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeout.toMillis();
+
+        for (int attempt = 0; attempt <= MAX_SCRIPT_RESTARTS; attempt++) {
+            long remaining = Math.max(0, deadline - System.currentTimeMillis());
+            Map<String, Object> result;
+            try {
+                result = (Map<String, Object>) js.executeAsyncScript(WAIT_SCRIPT, quietWindow.toMillis(), remaining);
+            } catch (WebDriverException e) {
+                // A script timeout or a broken script is not a navigation, and would fail again on a restart
+                if (e instanceof TimeoutException || e instanceof ScriptTimeoutException || !isNavigation(e)) {
+                    throw e;
+                }
+                System.out.println("Lightning idle wait interrupted by navigation, restarting");
+                continue;
+            }
+
+            long waited = System.currentTimeMillis() - start;
+            if (!Boolean.TRUE.equals(result.get("idle"))) {
+                throw new TimeoutException("Lightning app did not become idle within " + timeout.getSeconds()
+                    + " second(s): " + result.get("inflight") + " request(s) in flight, spinner visible: "
+                    + result.get("spinner") + ", quiet for " + result.get("quietFor") + " ms");
+            }
+            TestMetrics.addMillis("Lightning idle wait (total)", waited);
+            return waited;
+        }
+        throw new TimeoutException("Lightning app kept navigating for " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    /**
+     * ChromeDriver reports the page unloading under an async script as a JavascriptException,
+     * e.g. "document unloaded while waiting for result"
+     */
+    private static boolean isNavigation(WebDriverException e) {
+        String message = e.getMessage();
+        return message != null && (message.contains("document unloaded") || message.contains("target navigated")
+            || message.contains("frame detached"));
+    }
+}
@@ -0,0 +1,186 @@
+package com.fsc.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed screenshot directory: each distinct image is stored once as &lt;sha-256&gt;.&lt;ext&gt;
+ * under a two-character fan-out directory, however many tests capture it
+ *
+ * The store is kept under a size limit by deleting the least recently used images first.
+ * Images referenced by the current run are never evicted. A path only counts as a duplicate while its file
+ * exists or is being written, so an image whose write failed is written again the next time it is captured.
+ */
+public class ScreenshotStore {
+    private final Path root;
+    private final long maxBytes;
+    private final String variant;
+    private final Set<Path> usedThisRun = ConcurrentHashMap.newKeySet();
+    private final Set<Path> writing = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final AtomicLong bytesSaved = new AtomicLong();
+    private final AtomicInteger evicted = new AtomicInteger();
+
+    /**
+     * @param variant encoding settings; the same image encoded differently is stored separately
+     */
+    public ScreenshotStore(Path root, long maxBytes, String variant) {
+        this.root = root;
+        this.maxBytes = maxBytes;
+        this.variant = variant;
+    }
+
+    /**
+     * Path for the image, and whether it still has to be written
+     */
+    public static class Entry {
+        private final Path path;
+        private final boolean isNew;
+
+        Entry(Path path, boolean isNew) {
+            this.path = path;
+            this.isNew = isNew;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        /**
+         * False if the same image is already stored (or being written by another test)
+         * A new entry must be reported back with stored() or failed() once written
+         */
+        public boolean isNew() {
+            return isNew;
+        }
+    }
+
+    /**
+     * Address the captured bytes; an image that is already stored is only marked as recently used
+     */
+    public Entry locate(byte[] capturedBytes, String extension) {
+        String hash = sha256(capturedBytes);
+        Path path = root.resolve(hash.substring(0, 2)).resolve(hash + "." + extension);
+
+        usedThisRun.add(path);
+        if (Files.exists(path) || !writing.add(path)) {
+            duplicates.incrementAndGet();
+            bytesSaved.addAndGet(capturedBytes.length);
+            touch(path);
+            return new Entry(path, false);
+        }
+        return new Entry(path, true);
+    }
+
+    /**
+     * The file of a new entry is complete
+     */
+    public void stored(Path path) {
+        writing.remove(path);
+    }
+
+    /**
+     * The file of a new entry could not be written; the next capture of the image writes it again
+     */
+    public void failed(Path path) {
+        usedThisRun.remove(path);
+        writing.remove(path);
+    }
+
+    /**
+     * Delete least recently used images until the store fits the size limit
+     */
+    public synchronized void evict() {
+        // Paths whose file is gone (deleted outside the run) no longer need protecting
+        usedThisRun.removeIf(path -> !writing.contains(path) && !Files.exists(path));
+        if (maxBytes <= 0 || !Files.isDirectory(root)) {
+            return;
+        }
+        List<Path> files = new ArrayList<>();
+        long total = 0;
+        try (Stream<Path> walk = Files.walk(root)) {
+            // Files still being written end in .tmp
+            for (Path file : (Iterable<Path>) walk.filter(f -> Files.isRegularFile(f) && !f.toString().endsWith(".tmp"))::iterator) {
+                files.add(file);
+                total += Files.size(file);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not scan screenshot store " + root + ": " + e.getMessage());
+            return;
+        }
+        if (total <= maxBytes) {
+            return;
+        }
+
+        files.sort(Comparator.comparing(ScreenshotStore::lastModified));
+        for (Path file : files) {
+            if (total <= maxBytes) {
+                break;
+            }
+            if (usedThisRun.contains(file)) {
+                continue;
+            }
+            try {
+                long size = Files.size(file);
+                Files.delete(file);
+                usedThisRun.remove(file);
+                total -= size;
+                evicted.incrementAndGet();
+            } catch (IOException e) {
+                System.out.println("Could not evict screenshot " + file + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Summary for the Extent report, e.g. "5 duplicates (1.2 MB saved), 3 evicted"
+     */
+    public String getStatsSummary() {
+        return duplicates.get() + " duplicates (" + String.format("%.1f", bytesSaved.get() / 1_048_576.0)
+            + " MB saved), " + evicted.get() + " evicted";
+    }
+
+    private String sha256(byte[] bytes) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(variant.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Last-modified doubles as last-used time for eviction
+    private static void touch(Path file) {
+        try {
+            if (Files.exists(file)) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            }
+        } catch (IOException e) {
+            // Only affects eviction order
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.readAttributes(file, BasicFileAttributes.class).lastModifiedTime();
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
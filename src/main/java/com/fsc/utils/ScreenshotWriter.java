@@ -0,0 +1,213 @@
+package com.fsc.utils;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes screenshots on a small background pool so the test thread only pays for the capture itself
+ * The path is returned immediately; the file appears once the writer gets to it (call awaitPending()
+ * before anything reads the files, e.g. before the report is flushed)
+ *
+ * Files go into a ScreenshotStore, so an image that was already captured is linked, not written again.
+ * When the queue is full the submitting thread writes the screenshot itself, which bounds memory use
+ */
+public class ScreenshotWriter {
+    private static ScreenshotWriter instance;
+
+    // Check the store size after this many new files
+    private static final int EVICT_EVERY_WRITES = 20;
+
+    private final ScreenshotStore store;
+    private final String format;
+    private final int maxWidth;
+    private final float jpegQuality;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong writeMillis = new AtomicLong();
+
+    ScreenshotWriter(Path directory, long maxStoreBytes, String format, int maxWidth, float jpegQuality, int threads, int queueSize) {
+        this.store = new ScreenshotStore(directory, maxStoreBytes, format + ":" + maxWidth + ":" + jpegQuality);
+        this.format = format;
+        this.maxWidth = maxWidth;
+        this.jpegQuality = jpegQuality;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            runnable -> {
+                Thread thread = new Thread(runnable, "screenshot-writer-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static synchronized ScreenshotWriter getInstance() {
+        if (instance == null) {
+            // Validated as png, jpg or jpeg
+            instance = new ScreenshotWriter(
+                Paths.get(System.getProperty("user.dir"), "test-output", "screenshots"),
+                ConfigReader.getScreenshotStoreMaxMb() * 1_048_576L,
+                ConfigReader.getScreenshotFormat(),
+                ConfigReader.getScreenshotMaxWidth(),
+                ConfigReader.getScreenshotJpegQuality() / 100f,
+                ConfigReader.getScreenshotWriterThreads(),
+                ConfigReader.getScreenshotWriterQueue());
+            // Finish queued writes if the suite is aborted
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> instance.awaitPending(10), "screenshot-writer-shutdown"));
+        }
+        return instance;
+    }
+
+    /**
+     * Queue PNG bytes from getScreenshotAs(OutputType.BYTES) for writing
+     * Identical images share one file, so the returned path may already be in use by other tests
+     * @return the path the screenshot is (or will be) stored at
+     */
+    public Path submit(byte[] png) {
+        ScreenshotStore.Entry entry = store.locate(png, extension());
+        if (entry.isNew()) {
+            pending.incrementAndGet();
+            executor.execute(() -> write(png, entry.getPath()));
+        }
+        return entry.getPath();
+    }
+
+    /**
+     * Block until every queued screenshot is on disk, or the timeout passes
+     * @return true if nothing is left to write
+     */
+    public boolean awaitPending(long timeoutSeconds) {
+        boolean done = waitForWrites(timeoutSeconds);
+        store.evict();
+        return done;
+    }
+
+    private boolean waitForWrites(long timeoutSeconds) {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(timeoutSeconds);
+        while (pending.get() > 0) {
+            if (System.currentTimeMillis() > deadline) {
+                System.out.println("Screenshot writer still has " + pending.get() + " pending after " + timeoutSeconds + " s");
+                return false;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Summary for the Extent report, e.g. "12 written, 1.4 MB, 35 ms average, 5 duplicates (1.2 MB saved), 0 evicted"
+     */
+    public String getStatsSummary() {
+        int count = written.get();
+        return count + " written" + (failed.get() > 0 ? ", " + failed.get() + " FAILED" : "") + ", "
+            + String.format("%.1f", bytesWritten.get() / 1_048_576.0) + " MB, "
+            + (count == 0 ? 0 : writeMillis.get() / count) + " ms average encode and write, " + store.getStatsSummary();
+    }
+
+    private void write(byte[] png, Path target) {
+        long start = System.currentTimeMillis();
+        try {
+            byte[] bytes = "png".equals(format) && maxWidth <= 0 ? png : encode(png);
+            Files.createDirectories(target.getParent());
+            // The name claims the content, so a half-written file must never appear under it
+            Path partial = target.resolveSibling(target.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            store.stored(target);
+            if (written.incrementAndGet() % EVICT_EVERY_WRITES == 0) {
+                store.evict();
+            }
+            bytesWritten.addAndGet(bytes.length);
+            writeMillis.addAndGet(System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            // Counted in the report's screenshot summary; the test's link to it stays broken
+            store.failed(target);
+            failed.incrementAndGet();
+            System.out.println("WARNING: failed to write screenshot " + target + ": " + e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    /**
+     * Downscale to maxWidth and re-encode as PNG or JPEG
+     */
+    private byte[] encode(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            return png;
+        }
+        if (maxWidth > 0 && image.getWidth() > maxWidth) {
+            image = scale(image, maxWidth, Math.max(1, image.getHeight() * maxWidth / image.getWidth()));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if ("png".equals(format)) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+
+        // JPEG has no alpha channel
+        BufferedImage rgb = image.getType() == BufferedImage.TYPE_INT_RGB ? image : scale(image, image.getWidth(), image.getHeight());
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(stream);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(source, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    private String extension() {
+        return "png".equals(format) ? "png" : "jpg";
+    }
+}
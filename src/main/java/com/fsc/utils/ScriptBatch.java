@@ -0,0 +1,255 @@
+package com.fsc.utils;
+
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebElement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Queues several JavaScript operations and runs them in a single executeScript call
+ * Each queued operation costs nothing until execute() is called, which is one round-trip to the driver
+ *
+ * Example:
+ *   BatchResult result = jsUtil.batch()
+ *       .scrollIntoView(nameField)
+ *       .setValueAndTriggerChange(nameField, "Acme")
+ *       .click(saveButton)
+ *       .execute();
+ */
+public class ScriptBatch {
+    // Built-in operations; each receives the element and the operation's value
+    private static final String BUILT_INS =
+        "var ops = {" +
+        "  click: function (el) { el.click(); }," +
+        "  scrollIntoView: function (el) { el.scrollIntoView(true); }," +
+        "  setValue: function (el, v) { el.value = v; }," +
+        "  setValueAndTriggerChange: function (el, v) {" +
+        "    el.value = v;" +
+        "    el.dispatchEvent(new Event('input', { bubbles: true, composed: true }));" +
+        "    el.dispatchEvent(new Event('change', { bubbles: true, composed: true }));" +
+        "  }," +
+        "  highlight: function (el) { el.style.border = '3px solid red'; }," +
+        "  removeHighlight: function (el) { el.style.border = ''; }," +
+        "  dispatchEvent: function (el, v) { el.dispatchEvent(new Event(v, { bubbles: true })); }," +
+        "  getTextContent: function (el) { return el.textContent; }," +
+        "  isVisible: function (el) { return el.offsetWidth > 0 && el.offsetHeight > 0; }," +
+        "  removeReadOnly: function (el) { el.removeAttribute('readonly'); }" +
+        "};";
+
+    private static final String RUNNER =
+        "var queue = arguments[0], stopOnError = arguments[1], results = [];" +
+        "for (var i = 0; i < queue.length; i++) {" +
+        "  var op = queue[i];" +
+        "  try {" +
+        "    var fn = op.custom === undefined ? ops[op.type] : custom[op.custom];" +
+        "    var value = fn(op.element, op.value);" +
+        "    results.push({ ok: true, value: value === undefined ? null : value });" +
+        "  } catch (e) {" +
+        "    results.push({ ok: false, error: String(e && e.message ? e.message : e) });" +
+        "    if (stopOnError) { break; }" +
+        "  }" +
+        "}" +
+        "return results;";
+
+    private final JavascriptExecutor js;
+    private final List<Map<String, Object>> queue = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<String> customFunctions = new ArrayList<>();
+    private boolean stopOnError;
+
+    ScriptBatch(JavascriptExecutor js) {
+        this.js = js;
+    }
+
+    public ScriptBatch click(WebElement element) {
+        return add("click", element, null);
+    }
+
+    public ScriptBatch scrollIntoView(WebElement element) {
+        return add("scrollIntoView", element, null);
+    }
+
+    public ScriptBatch setValue(WebElement element, String value) {
+        return add("setValue", element, value);
+    }
+
+    /**
+     * Set value and fire input/change events (important for Lightning components)
+     */
+    public ScriptBatch setValueAndTriggerChange(WebElement element, String value) {
+        return add("setValueAndTriggerChange", element, value);
+    }
+
+    public ScriptBatch highlight(WebElement element) {
+        return add("highlight", element, null);
+    }
+
+    public ScriptBatch removeHighlight(WebElement element) {
+        return add("removeHighlight", element, null);
+    }
+
+    public ScriptBatch dispatchEvent(WebElement element, String eventType) {
+        return add("dispatchEvent", element, eventType);
+    }
+
+    public ScriptBatch getTextContent(WebElement element) {
+        return add("getTextContent", element, null);
+    }
+
+    public ScriptBatch isVisible(WebElement element) {
+        return add("isVisible", element, null);
+    }
+
+    public ScriptBatch removeReadOnly(WebElement element) {
+        return add("removeReadOnly", element, null);
+    }
+
+    /**
+     * Queue a custom function body; it can use the variables el and value and may return a result
+     * @param body   JavaScript function body, e.g. "return el.getAttribute(value);"
+     * @param element Element passed as el (may be null)
+     * @param value   Value passed as value (may be null)
+     */
+    public ScriptBatch custom(String body, WebElement element, Object value) {
+        Map<String, Object> op = operation(element, value);
+        op.put("custom", customFunctions.size());
+        customFunctions.add("function (el, value) {" + body + "}");
+        queue.add(op);
+        names.add("custom");
+        return this;
+    }
+
+    /**
+     * Stop at the first failing operation instead of running the rest of the queue
+     */
+    public ScriptBatch stopOnError() {
+        this.stopOnError = true;
+        return this;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    /**
+     * Run every queued operation in one executeScript call
+     */
+    @SuppressWarnings("unchecked")
+    public BatchResult execute() {
+        if (queue.isEmpty()) {
+            return new BatchResult(Collections.emptyList());
+        }
+        String script = BUILT_INS + "var custom = [" + String.join(",", customFunctions) + "];" + RUNNER;
+        List<Map<String, Object>> raw = (List<Map<String, Object>>) js.executeScript(script, queue, stopOnError);
+
+        List<OperationResult> results = new ArrayList<>();
+        for (int i = 0; i < queue.size(); i++) {
+            if (i < raw.size()) {
+                Map<String, Object> r = raw.get(i);
+                results.add(new OperationResult(names.get(i), Boolean.TRUE.equals(r.get("ok")), r.get("value"), (String) r.get("error")));
+            } else {
+                // Skipped after an earlier failure with stopOnError
+                results.add(new OperationResult(names.get(i), false, null, "not run"));
+            }
+        }
+        return new BatchResult(results);
+    }
+
+    private ScriptBatch add(String type, WebElement element, Object value) {
+        Map<String, Object> op = operation(element, value);
+        op.put("type", type);
+        queue.add(op);
+        names.add(type);
+        return this;
+    }
+
+    private static Map<String, Object> operation(WebElement element, Object value) {
+        // Null entries are left out; the script sees them as undefined
+        Map<String, Object> op = new HashMap<>();
+        if (element != null) {
+            op.put("element", element);
+        }
+        if (value != null) {
+            op.put("value", value);
+        }
+        return op;
+    }
+
+    /**
+     * Outcome of one queued operation
+     */
+    public static class OperationResult {
+        private final String name;
+        private final boolean success;
+        private final Object value;
+        private final String error;
+
+        OperationResult(String name, boolean success, Object value, String error) {
+            this.name = name;
+            this.success = success;
+            this.value = value;
+            this.error = error;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isSuccess() {
+            return success;
+        }
+
+        public Object getValue() {
+            return value;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            return name + (success ? " ok" : " failed: " + error);
+        }
+    }
+
+    /**
+     * Results of a batch, in the order the operations were queued
+     */
+    public static class BatchResult {
+        private final List<OperationResult> results;
+
+        BatchResult(List<OperationResult> results) {
+            this.results = Collections.unmodifiableList(results);
+        }
+
+        public List<OperationResult> getResults() {
+            return results;
+        }
+
+        public OperationResult get(int index) {
+            return results.get(index);
+        }
+
+        public boolean isSuccess() {
+            return results.stream().allMatch(OperationResult::isSuccess);
+        }
+
+        /**
+         * Throw if any operation failed, listing every failure
+         */
+        public BatchResult assertSuccess() {
+            if (!isSuccess()) {
+                throw new JavascriptException("Script batch failed: " + Arrays.toString(
+                    results.stream().filter(r -> !r.isSuccess()).toArray()));
+            }
+            return this;
+        }
+    }
+}
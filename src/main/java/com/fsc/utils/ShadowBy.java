@@ -0,0 +1,171 @@
+package com.fsc.utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Locator that pierces open shadow roots in one executeScript call
+ * The path is CSS selectors separated by shadow boundaries, e.g.
+ *   ShadowBy.css("c-account-card >>> lightning-button >>> button")
+ * finds a button inside the shadow root of a lightning-button inside the shadow root of c-account-card,
+ * where getShadowRoot() would take a round-trip and a lookup per level.
+ *
+ * The query function and its parsed paths are kept on the page (window.__fscShadowQuery), so a lookup
+ * only sends the call and the path; the function itself is sent again only when a new document does not
+ * have it yet. Closed shadow roots cannot be entered from script.
+ */
+public class ShadowBy extends By {
+    public static final String BOUNDARY = ">>>";
+
+    // Defines the query once per document; paths are split and their selectors validated once, then cached
+    static final String INSTALL_SCRIPT =
+        "if (!window.__fscShadowQuery) {" +
+        "  (function () {" +
+        "    var compiled = new Map();" +
+        "    function compile(path) {" +
+        "      var segments = compiled.get(path);" +
+        "      if (!segments) {" +
+        "        segments = path.split('" + BOUNDARY + "').map(function (s) { return s.trim(); });" +
+        "        var probe = document.createDocumentFragment();" +
+        "        segments.forEach(function (s) {" +
+        "          if (!s) { throw new SyntaxError('Empty segment in shadow path: ' + path); }" +
+        "          probe.querySelector(s);" +
+        "        });" +
+        "        compiled.set(path, segments);" +
+        "      }" +
+        "      return segments;" +
+        "    }" +
+        "    window.__fscShadowQuery = function (path, root, first) {" +
+        "      var segments = compile(path), roots = [root || document];" +
+        "      for (var i = 0; i < segments.length - 1; i++) {" +
+        "        var hosts = [];" +
+        "        roots.forEach(function (r) {" +
+        "          r.querySelectorAll(segments[i]).forEach(function (el) { if (el.shadowRoot) { hosts.push(el.shadowRoot); } });" +
+        "        });" +
+        "        roots = hosts;" +
+        "      }" +
+        "      var last = segments[segments.length - 1], found = [];" +
+        "      for (var r = 0; r < roots.length; r++) {" +
+        "        if (first) {" +
+        "          var el = roots[r].querySelector(last);" +
+        "          if (el) { return el; }" +
+        "        } else {" +
+        "          roots[r].querySelectorAll(last).forEach(function (el) { found.push(el); });" +
+        "        }" +
+        "      }" +
+        "      return first ? null : found;" +
+        "    };" +
+        "  })();" +
+        "}";
+
+    // Returned by FIND_SCRIPT on a page that has no query function yet
+    private static final String NOT_INSTALLED = "__fscShadowQuery missing";
+
+    private static final String CALL = "window.__fscShadowQuery(arguments[0], arguments[1], arguments[2])";
+    private static final String FIND_SCRIPT = "return window.__fscShadowQuery ? " + CALL + " : '" + NOT_INSTALLED + "';";
+    private static final String INSTALL_AND_FIND_SCRIPT = INSTALL_SCRIPT + "return " + CALL + ";";
+
+    private final String path;
+
+    private ShadowBy(String path) {
+        this.path = path;
+    }
+
+    /**
+     * Locator for a path like "host >>> inner-host >>> .target"
+     */
+    public static ShadowBy css(String path) {
+        List<String> segments = Arrays.stream(path.split(BOUNDARY, -1)).map(String::trim).collect(Collectors.toList());
+        if (segments.stream().anyMatch(String::isEmpty)) {
+            throw new IllegalArgumentException("Shadow path has an empty segment: '" + path + "'");
+        }
+        return new ShadowBy(String.join(" " + BOUNDARY + " ", segments));
+    }
+
+    /**
+     * Locator from one CSS selector per shadow level, outermost first
+     */
+    public static ShadowBy css(String first, String... inner) {
+        List<String> segments = new ArrayList<>();
+        segments.add(first);
+        segments.addAll(Arrays.asList(inner));
+        return css(String.join(" " + BOUNDARY + " ", segments));
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    @Override
+    public WebElement findElement(SearchContext context) {
+        Object element = query(context, true);
+        if (element == null) {
+            throw new NoSuchElementException("Cannot locate an element using " + this);
+        }
+        return (WebElement) element;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<WebElement> findElements(SearchContext context) {
+        Object elements = query(context, false);
+        return elements == null ? Collections.emptyList() : (List<WebElement>) elements;
+    }
+
+    private Object query(SearchContext context, boolean first) {
+        JavascriptExecutor js;
+        WebElement root = null;
+        if (context instanceof WebElement) {
+            root = (WebElement) context;
+            if (!(context instanceof WrapsDriver)) {
+                throw new IllegalArgumentException("Cannot run a shadow query from " + context.getClass().getName());
+            }
+            js = (JavascriptExecutor) ((WrapsDriver) context).getWrappedDriver();
+        } else if (context instanceof JavascriptExecutor) {
+            js = (JavascriptExecutor) context;
+        } else {
+            throw new IllegalArgumentException("Cannot run a shadow query from " + context.getClass().getName());
+        }
+
+        try {
+            Object result = js.executeScript(FIND_SCRIPT, path, root, first);
+            if (NOT_INSTALLED.equals(result)) {
+                // First lookup in this document
+                result = js.executeScript(INSTALL_AND_FIND_SCRIPT, path, root, first);
+            }
+            return result;
+        } catch (JavascriptException e) {
+            if (String.valueOf(e.getMessage()).contains("SyntaxError")) {
+                throw new InvalidSelectorException("Invalid CSS in " + this + ": " + e.getMessage());
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ShadowBy && path.equals(((ShadowBy) o).path);
+    }
+
+    @Override
+    public int hashCode() {
+        return path.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "By.shadow: " + path;
+    }
+}
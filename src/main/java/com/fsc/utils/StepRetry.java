@@ -0,0 +1,186 @@
+package com.fsc.utils;
+
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a failed page-object step in the same browser session instead of failing the whole test
+ * Stale elements and intercepted or not-yet-interactable clicks are retried up to retry.step.max times;
+ * timeouts only once, since a step that timed out has already waited its full window. Every test has a
+ * budget of retry.test.budget retries so a broken page fails quickly instead of retrying every step.
+ *
+ * A retry re-runs the whole action, so keep each step small enough to repeat: locate and click,
+ * or locate and type after clearing the field.
+ */
+public class StepRetry {
+    private static final ThreadLocal<TestState> testState = ThreadLocal.withInitial(TestState::new);
+    private static final AtomicInteger suiteRetries = new AtomicInteger();
+    private static final AtomicInteger suiteRecovered = new AtomicInteger();
+    private static final AtomicInteger suiteGaveUp = new AtomicInteger();
+    private static final AtomicLong suiteSavedMillis = new AtomicLong();
+    private static StepRetry instance;
+
+    private final int maxRetries;
+    private final int testBudget;
+    private final long backoffMillis;
+
+    /**
+     * Retries used by the test on the current thread and what they were for
+     */
+    private static class TestState {
+        private final long startMillis = System.currentTimeMillis();
+        private final Map<String, Integer> retriedSteps = new LinkedHashMap<>();
+        private int retries;
+    }
+
+    public StepRetry(int maxRetries, int testBudget, long backoffMillis) {
+        this.maxRetries = maxRetries;
+        this.testBudget = testBudget;
+        this.backoffMillis = backoffMillis;
+    }
+
+    /**
+     * Policy from retry.step.max, retry.test.budget and retry.backoff.ms
+     */
+    public static synchronized StepRetry getInstance() {
+        if (instance == null) {
+            instance = new StepRetry(ConfigReader.getRetryStepMax(), ConfigReader.getRetryTestBudget(),
+                ConfigReader.getRetryBackoffMillis());
+        }
+        return instance;
+    }
+
+    /**
+     * Start a new retry budget for the test on this thread; the time until a step is recovered counts as saved
+     */
+    public static void startTest() {
+        testState.set(new TestState());
+    }
+
+    /**
+     * Run the step with the configured policy
+     * beforeRetry puts the page back into a state where the step can run again, e.g. invalidating cached elements
+     */
+    public static void run(String step, Runnable action, Runnable beforeRetry) {
+        getInstance().call(step, () -> {
+            action.run();
+            return null;
+        }, beforeRetry);
+    }
+
+    /**
+     * Run the step, retrying it in place if it fails with a retryable exception while budget is left
+     */
+    public <T> T call(String step, Supplier<T> action, Runnable beforeRetry) {
+        TestState state = testState.get();
+        long firstFailure = 0;
+        int attempt = 0;
+        while (true) {
+            try {
+                T result = action.get();
+                if (attempt > 0) {
+                    // A TestNG re-run would have repeated everything from the test start to the first failure
+                    long saved = firstFailure - state.startMillis;
+                    suiteRecovered.incrementAndGet();
+                    suiteSavedMillis.addAndGet(saved);
+                    TestMetrics.addMillis("Re-run time saved by retries", saved);
+                }
+                return result;
+            } catch (RuntimeException e) {
+                if (!shouldRetry(e, attempt, state)) {
+                    if (attempt > 0) {
+                        suiteGaveUp.incrementAndGet();
+                        System.out.println("Step '" + step + "' still failing after " + attempt + " retries: " + e.getClass().getSimpleName());
+                    }
+                    throw e;
+                }
+                if (attempt == 0) {
+                    firstFailure = System.currentTimeMillis();
+                }
+                attempt++;
+                state.retries++;
+                state.retriedSteps.merge(step, 1, Integer::sum);
+                suiteRetries.incrementAndGet();
+                TestMetrics.increment("Step retries");
+                TestMetrics.record("Retried steps", describe(state.retriedSteps));
+                System.out.println("Retrying step '" + step + "' (" + attempt + "/" + maxRetries + ") after "
+                    + e.getClass().getSimpleName());
+
+                pause(backoffMillis * attempt);
+                try {
+                    beforeRetry.run();
+                } catch (RuntimeException recoveryFailure) {
+                    e.addSuppressed(recoveryFailure);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stale elements, intercepted or not-yet-interactable clicks and timeouts, anywhere in the cause chain
+     */
+    public static boolean isRetryable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof StaleElementReferenceException || t instanceof ElementNotInteractableException
+                    || t instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean hasRetries() {
+        return suiteRetries.get() > 0;
+    }
+
+    public static String getStatsSummary() {
+        return suiteRetries.get() + " step retries, " + suiteRecovered.get() + " steps recovered, " + suiteGaveUp.get()
+            + " still failed; about " + suiteSavedMillis.get() / 1000 + " s of test re-runs avoided";
+    }
+
+    private boolean shouldRetry(RuntimeException e, int attempt, TestState state) {
+        if (!isRetryable(e) || state.retries >= testBudget) {
+            return false;
+        }
+        return attempt < (isTimeoutOnly(e) ? Math.min(1, maxRetries) : maxRetries);
+    }
+
+    /**
+     * A wait that simply ran out, without a stale element or intercepted click as the last cause
+     */
+    private static boolean isTimeoutOnly(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof StaleElementReferenceException || t instanceof ElementNotInteractableException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String describe(Map<String, Integer> retriedSteps) {
+        List<String> parts = new ArrayList<>();
+        retriedSteps.forEach((step, count) -> parts.add(step + " x" + count));
+        return String.join(", ", parts);
+    }
+
+    private static void pause(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.fsc.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects timings and counters recorded while a test runs on the current thread
+ * TestListener drains them into the test's Extent report node when the test finishes
+ */
+public class TestMetrics {
+    private static final ThreadLocal<Map<String, String>> values = ThreadLocal.withInitial(LinkedHashMap::new);
+
+    /**
+     * Record a named value for the current test (a later value with the same name replaces it)
+     */
+    public static void record(String name, String value) {
+        values.get().put(name, value);
+    }
+
+    /**
+     * Record a duration in milliseconds
+     */
+    public static void recordMillis(String name, long millis) {
+        record(name, millis + " ms");
+    }
+
+    /**
+     * Add a duration to a running total for the current test, e.g. time spent in repeated waits
+     */
+    public static void addMillis(String name, long millis) {
+        String previous = values.get().get(name);
+        long total = previous != null && previous.endsWith(" ms")
+            ? Long.parseLong(previous.substring(0, previous.length() - 3)) : 0;
+        recordMillis(name, total + millis);
+    }
+
+    /**
+     * Add one to a counter for the current test
+     */
+    public static void increment(String name) {
+        String previous = values.get().get(name);
+        record(name, String.valueOf(previous == null ? 1 : Long.parseLong(previous) + 1));
+    }
+
+    /**
+     * Return everything recorded on this thread and start over
+     */
+    public static Map<String, String> drain() {
+        Map<String, String> recorded = new LinkedHashMap<>(values.get());
+        values.get().clear();
+        return recorded;
+    }
+}
@@ -1,54 +1,50 @@
 package com.fsc.base;
 
-import com.fsc.utils.ConfigReader;
-import io.github.bonigarcia.wdm.WebDriverManager;
-import org.openqa.selenium.JavascriptExecutor;
+import com.fsc.driver.DriverContext;
+import com.fsc.driver.DriverPool;
+import com.fsc.metrics.CommandMetrics;
+import com.fsc.metrics.PagePerformance;
+import com.fsc.utils.StepRetry;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
 
-import java.time.Duration;
-
 public class BaseTest {
-    protected WebDriver driver;
 
     @BeforeMethod
     public void setUp() {
-        // WebDriverManager automatically handles ChromeDriver setup
-        WebDriverManager.chromedriver().setup();
-
-        // Chrome options for better Salesforce compatibility and stealth options
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-
-        // Anti-detection options
-        options.addArguments("--disable-blink-features=AutomationControlled");
-        options.setExperimentalOption("excludeSwitches",new String[]{"enable-automation"});
-        options.setExperimentalOption("useAutomationExtension",false);
-
-        // Add headless mode if configured
-        if (ConfigReader.isHeadless()) {
-            options.addArguments("--headless");
-        }
-
-        driver = new ChromeDriver(options);
-
-        // Hide webdriver flag
-        ((JavascriptExecutor) driver).executeScript("Object.defineProperty(navigator,'webdriver',{get: ()=> undefined})");
-
-        // Use timeouts from config.properties
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(ConfigReader.getImplicitWait()));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(ConfigReader.getPageLoadTimeout()));
+        // Command latencies and page timings are reported per test, starting here
+        CommandMetrics.startTest();
+        PagePerformance.startTest();
+        // Fresh step retry budget; the time until a step is recovered counts as re-run time saved
+        StepRetry.startTest();
+
+        // Lease a warm browser from the pool instead of launching a new Chrome per test
+        DriverContext.setDriver(DriverPool.getInstance().lease());
     }
 
     @AfterMethod
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+        if (DriverContext.hasDriver()) {
+            WebDriver driver = DriverContext.getDriver();
+            DriverContext.removeDriver();
+            // Resets cookies, storage and windows, then returns the browser to the pool
+            DriverPool.getInstance().release(driver);
+        }
+    }
+
+    @AfterSuite(alwaysRun = true)
+    public void shutDownDriverPool() {
+        if (DriverPool.hasInstance()) {
+            DriverPool.getInstance().shutdown();
         }
     }
+
+    /**
+     * Driver of the test running on the current thread
+     */
+    protected WebDriver getDriver() {
+        return DriverContext.getDriver();
+    }
 }
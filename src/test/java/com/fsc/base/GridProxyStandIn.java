@@ -0,0 +1,113 @@
+package com.fsc.base;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for a busy Selenium Grid in front of a standalone server
+ * The first rejectSessions new-session requests fail with the W3C error given; everything else is passed
+ * on to the upstream server, or fails as well when there is none.
+ */
+public class GridProxyStandIn {
+    private static final Json JSON = new Json();
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final URI upstream;
+    private final int rejectSessions;
+    private final int rejectStatus;
+    private final String rejectError;
+    private final AtomicInteger sessionRequests = new AtomicInteger();
+
+    /**
+     * @param upstream       standalone server to forward to, or null
+     * @param rejectSessions number of new-session requests to reject before forwarding them
+     * @param rejectStatus   HTTP status of a rejection, e.g. 500
+     * @param rejectError    W3C error code of a rejection, e.g. "session not created"
+     */
+    public GridProxyStandIn(URI upstream, int rejectSessions, int rejectStatus, String rejectError) throws IOException {
+        this.upstream = upstream;
+        this.rejectSessions = rejectSessions;
+        this.rejectStatus = rejectStatus;
+        this.rejectError = rejectError;
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    public String getUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * New-session requests received, rejected or not
+     */
+    public int getSessionRequests() {
+        return sessionRequests.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        boolean newSession = "POST".equals(exchange.getRequestMethod())
+            && exchange.getRequestURI().getPath().replaceAll("/+$", "").equals("/session");
+        if ((newSession && sessionRequests.incrementAndGet() <= rejectSessions) || upstream == null) {
+            reject(exchange);
+            return;
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(upstream.resolve(exchange.getRequestURI().toString()))
+            .timeout(Duration.ofSeconds(120))
+            .method(exchange.getRequestMethod(), body.length == 0
+                ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body));
+        String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+        if (contentType != null) {
+            request.header("Content-Type", contentType);
+        }
+        try {
+            HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            response.headers().firstValue("Content-Type").ifPresent(value -> exchange.getResponseHeaders().set("Content-Type", value));
+            send(exchange, response.statusCode(), response.body());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            send(exchange, 502, new byte[0]);
+        }
+    }
+
+    private void reject(HttpExchange exchange) throws IOException {
+        Map<String, Object> error = Map.of("error", rejectError, "message", "Rejected by the grid stand-in", "stacktrace", "");
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        send(exchange, rejectStatus, JSON.toJson(Map.of("value", error)).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
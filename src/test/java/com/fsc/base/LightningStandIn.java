@@ -0,0 +1,128 @@
+package com.fsc.base;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Lightning pages behind the Sales app flow
+ * App Launcher, Accounts list view with search, and Account record pages, with the markup the page objects
+ * look for. The list loads its rows with fetch like Aura does, and each list request takes at least
+ * latencyMillis so the idle waits have something to wait for.
+ */
+public class LightningStandIn extends LocalSalesforceStandIn {
+    private static final Json JSON = new Json();
+
+    private static final String HEADER =
+        "<div id='header'>" +
+        "<button title='App Launcher' onclick=\"document.getElementById('launcher').style.display='block'\">Apps</button>" +
+        "<a title='Accounts' href='/lightning/o/Account/list'>Accounts</a>" +
+        "</div>" +
+        "<div id='launcher' style='display:none'>" +
+        "<input placeholder='Search apps and items...' " +
+        "oninput=\"document.getElementById('apps').style.display=this.value?'block':'none'\">" +
+        "<div id='apps' style='display:none'><a data-label='Sales' href='/lightning/page/home?app=Sales'>Sales</a></div>" +
+        "</div>";
+
+    private static final String HOME_PAGE =
+        "<html><head><title>Home | Salesforce</title></head><body>" + HEADER + "<h1>Home</h1></body></html>";
+
+    private static final String LIST_PAGE =
+        "<html><head><title>Accounts | Salesforce</title></head><body>" + HEADER +
+        "<button title='Select a List View: Accounts' " +
+        "onclick=\"document.getElementById('views').style.display='block'\">Recently Viewed</button>" +
+        "<ul id='views' style='display:none'><li><a href='#' onclick=\"load('');return false\"><span>All Accounts</span></a></li></ul>" +
+        "<input name='Account-search-input' onkeydown=\"if (event.key === 'Enter') { load(this.value); }\">" +
+        "<table><tbody id='rows'></tbody></table>" +
+        "<script>" +
+        "function load(q) {" +
+        "  fetch('/lightning/api/accounts?q=' + encodeURIComponent(q)).then(function (r) { return r.json(); }).then(function (list) {" +
+        "    document.getElementById('rows').innerHTML = list.map(function (a) {" +
+        "      return \"<tr><th><span data-cell-type='lstOutputLookup'><a href='/lightning/r/Account/\" + a.id + \"/view'>\" + a.name + '</a></span></th></tr>';" +
+        "    }).join('');" +
+        "  });" +
+        "}" +
+        "</script></body></html>";
+
+    private static final String RECORD_PAGE =
+        "<html><head><title>%1$s | Salesforce</title></head><body>" + HEADER +
+        "<div class='entityNameTitle slds-line-height--reset'>Account</div>" +
+        "<slot><lightning-formatted-text>%1$s</lightning-formatted-text></slot>" +
+        "</body></html>";
+
+    private final long latencyMillis;
+    private final Map<String, String> accounts = new LinkedHashMap<>();
+    private final AtomicInteger listRequests = new AtomicInteger();
+
+    /**
+     * Stand-in with the given Account names; ids are assigned in order
+     */
+    public LightningStandIn(long latencyMillis, List<String> accountNames) throws IOException {
+        this.latencyMillis = latencyMillis;
+        for (String name : accountNames) {
+            accounts.put(String.format("001%015d", accounts.size() + 1), name);
+        }
+        addHandler("/lightning/page/", exchange -> sendPage(exchange, HOME_PAGE));
+        addHandler("/lightning/o/", exchange -> sendPage(exchange, LIST_PAGE));
+        addHandler("/lightning/r/", this::handleRecord);
+        addHandler("/lightning/api/accounts", this::handleAccounts);
+    }
+
+    /**
+     * List view and search requests served so far
+     */
+    public int getListRequests() {
+        return listRequests.get();
+    }
+
+    private void sendPage(HttpExchange exchange, String html) throws IOException {
+        if (!hasValidSession(exchange)) {
+            redirect(exchange, "/login?startURL=" + exchange.getRequestURI().getPath());
+            return;
+        }
+        sendHtml(exchange, 200, html);
+    }
+
+    private void handleRecord(HttpExchange exchange) throws IOException {
+        // /lightning/r/Account/<id>/view
+        String[] parts = exchange.getRequestURI().getPath().split("/");
+        String name = parts.length > 4 ? accounts.get(parts[4]) : null;
+        if (name == null) {
+            sendHtml(exchange, 404, "<html><body>Record not found</body></html>");
+            return;
+        }
+        sendPage(exchange, String.format(RECORD_PAGE, name));
+    }
+
+    private void handleAccounts(HttpExchange exchange) throws IOException {
+        if (!hasValidSession(exchange)) {
+            send(exchange, 401, "application/json", "[]");
+            return;
+        }
+        listRequests.incrementAndGet();
+        String query = exchange.getRequestURI().getRawQuery();
+        String search = query != null && query.startsWith("q=")
+            ? URLDecoder.decode(query.substring(2), StandardCharsets.UTF_8).toLowerCase(Locale.ROOT) : "";
+        List<Map<String, Object>> matches = new ArrayList<>();
+        accounts.forEach((id, name) -> {
+            if (name.toLowerCase(Locale.ROOT).contains(search)) {
+                matches.add(Map.of("id", id, "name", name));
+            }
+        });
+        try {
+            Thread.sleep(latencyMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        send(exchange, 200, "application/json", JSON.toJson(matches));
+    }
+}
@@ -0,0 +1,163 @@
+package com.fsc.base;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Salesforce login page and Lightning home page
+ * Lets framework features be tested offline against a real browser
+ */
+public class LocalSalesforceStandIn {
+    private static final String LOGIN_PAGE =
+        "<html><head><title>Login | Salesforce</title></head><body>" +
+        "<form method='post' action='/login'>" +
+        "<input id='username' name='username' type='email'>" +
+        "<input id='password' name='pw' type='password'>" +
+        "<input id='Login' type='submit' value='Log In'>" +
+        "</form>" +
+        "<div id='error' style='display:%s'>Please check your username and password.</div>" +
+        "</body></html>";
+
+    private static final String HOME_PAGE =
+        "<html><head><title>Home | Salesforce</title></head><body>" +
+        "<h1>Home</h1>" +
+        "<script>" +
+        "if (!localStorage.getItem('standin.user')) { localStorage.setItem('standin.user', 'login-' + Date.now()); }" +
+        "</script>" +
+        "</body></html>";
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger loginCount = new AtomicInteger();
+
+    public LocalSalesforceStandIn() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/login", this::handleLogin);
+        server.createContext("/lightning/", this::handleLightning);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Register an extra handler, e.g. for API endpoints
+     */
+    public void addHandler(String path, HttpHandler handler) {
+        server.createContext(path, handler);
+    }
+
+    public String getUrl(String path) {
+        return "http://localhost:" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * Number of successful logins through the login form
+     */
+    public int getLoginCount() {
+        return loginCount.get();
+    }
+
+    /**
+     * Invalidate every session, as if they timed out on the server
+     */
+    public void expireSessions() {
+        sessions.clear();
+    }
+
+    private void handleLogin(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            boolean failed = "error=1".equals(exchange.getRequestURI().getQuery());
+            sendHtml(exchange, 200, String.format(LOGIN_PAGE, failed ? "block" : "none"));
+            return;
+        }
+
+        Map<String, String> form = parseForm(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        String username = form.getOrDefault("username", "");
+        String password = form.getOrDefault("pw", "");
+        if (username.isEmpty() || password.isEmpty() || username.startsWith("invalid")) {
+            redirect(exchange, "/login?error=1");
+            return;
+        }
+
+        String sessionId = UUID.randomUUID().toString();
+        sessions.add(sessionId);
+        loginCount.incrementAndGet();
+        exchange.getResponseHeaders().add("Set-Cookie", "sid=" + sessionId + "; Path=/; HttpOnly");
+        redirect(exchange, "/lightning/page/home");
+    }
+
+    private void handleLightning(HttpExchange exchange) throws IOException {
+        if (!hasValidSession(exchange)) {
+            redirect(exchange, "/login?startURL=" + exchange.getRequestURI().getPath());
+            return;
+        }
+        sendHtml(exchange, 200, HOME_PAGE);
+    }
+
+    protected boolean hasValidSession(HttpExchange exchange) {
+        String cookieHeader = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookieHeader == null) {
+            return false;
+        }
+        for (String cookie : cookieHeader.split(";\\s*")) {
+            if (cookie.startsWith("sid=") && sessions.contains(cookie.substring(4))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    protected static void sendHtml(HttpExchange exchange, int status, String html) throws IOException {
+        send(exchange, status, "text/html; charset=utf-8", html);
+    }
+
+    protected static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    protected static void redirect(HttpExchange exchange, String location) throws IOException {
+        exchange.getResponseHeaders().set("Location", location);
+        exchange.sendResponseHeaders(302, -1);
+        exchange.close();
+    }
+
+    private static Map<String, String> parseForm(String body) {
+        Map<String, String> form = new HashMap<>();
+        for (String pair : body.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                form.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return form;
+    }
+}
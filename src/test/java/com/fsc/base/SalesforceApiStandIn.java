@@ -0,0 +1,189 @@
+package com.fsc.base;
+
+import com.sun.net.httpserver.HttpExchange;
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the Salesforce REST endpoints used by AccountFixtures
+ * OAuth password login, sObject collection create/delete and SOQL "WHERE Name = '...'" queries over in-memory Accounts.
+ * Each API request takes at least latencyMillis, so tests can see how many batches were in flight at once.
+ */
+public class SalesforceApiStandIn {
+    private static final Json JSON = new Json();
+
+    private final LocalSalesforceStandIn server;
+    private final long latencyMillis;
+    private final Map<String, Map<String, Object>> accounts = new ConcurrentHashMap<>();
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger idSequence = new AtomicInteger();
+    private final AtomicInteger logins = new AtomicInteger();
+    private final AtomicInteger collectionRequests = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    public SalesforceApiStandIn(LocalSalesforceStandIn server, long latencyMillis) {
+        this.server = server;
+        this.latencyMillis = latencyMillis;
+        server.addHandler("/services/oauth2/token", this::handleToken);
+        server.addHandler("/services/data/", this::handleData);
+    }
+
+    public String getLoginUrl() {
+        return server.getUrl("");
+    }
+
+    public Map<String, Map<String, Object>> getAccounts() {
+        return accounts;
+    }
+
+    public int getLoginCount() {
+        return logins.get();
+    }
+
+    /**
+     * Create and delete requests served so far
+     */
+    public int getCollectionRequests() {
+        return collectionRequests.get();
+    }
+
+    /**
+     * Most API requests that were being served at the same time
+     */
+    public int getMaxInFlight() {
+        return maxInFlight.get();
+    }
+
+    /**
+     * Invalidate every access token, as if the session timed out
+     */
+    public void expireTokens() {
+        tokens.clear();
+    }
+
+    private void handleToken(HttpExchange exchange) throws IOException {
+        Map<String, String> form = parseQuery(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        if (!"password".equals(form.get("grant_type")) || form.getOrDefault("client_id", "").isEmpty()
+                || form.getOrDefault("password", "").isEmpty()) {
+            sendJson(exchange, 400, Map.of("error", "invalid_grant", "error_description", "authentication failure"));
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        tokens.add(token);
+        logins.incrementAndGet();
+        sendJson(exchange, 200, Map.of("access_token", token, "instance_url", server.getUrl(""), "token_type", "Bearer"));
+    }
+
+    private void handleData(HttpExchange exchange) throws IOException {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization == null || !tokens.contains(authorization.replace("Bearer ", ""))) {
+            sendJson(exchange, 401, List.of(Map.of("errorCode", "INVALID_SESSION_ID", "message", "Session expired or invalid")));
+            return;
+        }
+
+        int now = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(now, Math::max);
+        try {
+            Thread.sleep(latencyMillis);
+            String path = exchange.getRequestURI().getPath();
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            if (path.endsWith("/composite/sobjects") && "POST".equals(exchange.getRequestMethod())) {
+                collectionRequests.incrementAndGet();
+                sendJson(exchange, 200, create(exchange));
+            } else if (path.endsWith("/composite/sobjects") && "DELETE".equals(exchange.getRequestMethod())) {
+                collectionRequests.incrementAndGet();
+                sendJson(exchange, 200, delete(query.getOrDefault("ids", "")));
+            } else if (path.endsWith("/query")) {
+                sendJson(exchange, 200, query(query.getOrDefault("q", "")));
+            } else {
+                sendJson(exchange, 404, List.of(Map.of("errorCode", "NOT_FOUND", "message", "The requested resource does not exist")));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> create(HttpExchange exchange) throws IOException {
+        Map<String, Object> body = JSON.toType(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8), Json.MAP_TYPE);
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Object item : (List<?>) body.get("records")) {
+            Map<String, Object> record = new LinkedHashMap<>((Map<String, Object>) item);
+            record.remove("attributes");
+            Object name = record.get("Name");
+            if (name == null || String.valueOf(name).isBlank()) {
+                results.add(failure(null, "REQUIRED_FIELD_MISSING", "Required fields are missing: [Name]"));
+                continue;
+            }
+            String id = String.format("001SI%013d", idSequence.incrementAndGet());
+            accounts.put(id, record);
+            results.add(Map.of("id", id, "success", true, "errors", List.of()));
+        }
+        return results;
+    }
+
+    private List<Map<String, Object>> delete(String ids) {
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String id : ids.split(",")) {
+            if (accounts.remove(id) != null) {
+                results.add(Map.of("id", id, "success", true, "errors", List.of()));
+            } else {
+                results.add(failure(id, "ENTITY_IS_DELETED", "entity is deleted"));
+            }
+        }
+        return results;
+    }
+
+    private Map<String, Object> query(String soql) {
+        int start = soql.indexOf("Name = '");
+        String name = start < 0 ? null : soql.substring(start + 8, soql.lastIndexOf('\'')).replace("\\'", "'");
+        List<Map<String, Object>> records = new ArrayList<>();
+        accounts.forEach((id, fields) -> {
+            if (name == null || name.equals(fields.get("Name"))) {
+                records.add(Map.of("attributes", Map.of("type", "Account"), "Id", id));
+            }
+        });
+        return Map.of("totalSize", records.size(), "done", true, "records", records);
+    }
+
+    private static Map<String, Object> failure(String id, String statusCode, String message) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("success", false);
+        result.put("errors", List.of(Map.of("statusCode", statusCode, "message", message, "fields", List.of())));
+        return result;
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, Object body) throws IOException {
+        LocalSalesforceStandIn.send(exchange, status, "application/json", JSON.toJson(body));
+    }
+
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (query == null) {
+            return values;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                values.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,26 @@
+package com.fsc.listeners;
+
+import com.fsc.utils.ConfigReader;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Applies parallel mode and thread count from config.properties to the suite
+ * Lets CI change the worker count without editing testng.xml (e.g. -Dthread.count=8 or FSC_THREAD_COUNT=8)
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(ConfigReader.getParallelMode());
+        int threadCount = ConfigReader.getThreadCount();
+
+        for (XmlSuite suite : suites) {
+            suite.setParallel(mode);
+            suite.setThreadCount(threadCount);
+            System.out.println("=== Suite " + suite.getName() + ": parallel=" + mode + ", threads=" + threadCount + " ===");
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.fsc.listeners;
+
+import com.fsc.sharding.ShardPlanner;
+import com.fsc.sharding.TestDurations;
+import com.fsc.utils.ConfigReader;
+import com.fsc.utils.ExtentReportManager;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Runs only this agent's share of the test methods when shard.total is greater than 1
+ * Shards are balanced on durations recorded by earlier runs, so every agent finishes at about the same time.
+ * A class whose methods depend on each other stays together on one shard.
+ */
+public class ShardInterceptor implements IMethodInterceptor {
+    // Loaded once per JVM so every <test> of the suite is planned from the same durations
+    private static TestDurations durations;
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        int total = ConfigReader.getShardTotal();
+        if (total <= 1) {
+            return methods;
+        }
+        int index = ConfigReader.getShardIndex();
+        TestDurations durations = getDurations();
+
+        Set<String> dependentClasses = new HashSet<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            if (method.getMethodsDependedUpon().length > 0 || method.getGroupsDependedUpon().length > 0) {
+                dependentClasses.add(method.getRealClass().getName());
+            }
+        }
+
+        Map<String, Long> unitMillis = new LinkedHashMap<>();
+        int unknown = 0;
+        for (IMethodInstance instance : methods) {
+            String testId = testId(instance.getMethod());
+            unitMillis.merge(unit(instance.getMethod(), dependentClasses), durations.estimate(testId), Long::sum);
+            if (!durations.isKnown(testId)) {
+                unknown++;
+            }
+        }
+
+        List<ShardPlanner.Shard> plan = ShardPlanner.plan(unitMillis, total);
+        Set<String> mine = new HashSet<>(plan.get(index).getUnits());
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance instance : methods) {
+            if (mine.contains(unit(instance.getMethod(), dependentClasses))) {
+                selected.add(instance);
+            }
+        }
+
+        long slowest = plan.stream().mapToLong(ShardPlanner.Shard::getEstimatedMillis).max().orElse(0);
+        String summary = "shard " + (index + 1) + " of " + total + ": " + selected.size() + " of " + methods.size()
+            + " methods, estimated " + plan.get(index).getEstimatedMillis() / 1000 + " s (slowest shard "
+            + slowest / 1000 + " s" + (unknown > 0 ? ", " + unknown + " without recorded duration" : "") + ")";
+        System.out.println("=== " + context.getName() + ": " + summary + " ===");
+        ExtentReportManager.setSystemInfo("Shard (" + context.getName() + ")", summary);
+        return selected;
+    }
+
+    private static synchronized TestDurations getDurations() {
+        if (durations == null) {
+            durations = TestDurations.load(Paths.get(ConfigReader.getShardDurationsFile()),
+                ConfigReader.getShardDefaultDurationMillis());
+        }
+        return durations;
+    }
+
+    /**
+     * Key used in the durations file, e.g. com.fsc.tests.SalesAppTest#testSearchAccount
+     */
+    public static String testId(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    private static String unit(ITestNGMethod method, Set<String> dependentClasses) {
+        String className = method.getRealClass().getName();
+        return dependentClasses.contains(className) ? className : testId(method);
+    }
+}
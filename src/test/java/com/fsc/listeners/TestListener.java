@@ -1,52 +1,125 @@
 package com.fsc.listeners;
 
-import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.markuputils.ExtentColor;
 import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.fsc.driver.DriverBinaryResolver;
+import com.fsc.driver.DriverContext;
+import com.fsc.driver.DriverPool;
+import com.fsc.driver.NetworkBlocker;
+import com.fsc.driver.ProfileTemplate;
+import com.fsc.driver.RemoteDriverFactory;
+import com.fsc.metrics.CommandMetrics;
+import com.fsc.metrics.LatencyHistogram;
+import com.fsc.metrics.PagePerformance;
+import com.fsc.metrics.PerformanceChart;
+import com.fsc.sharding.ShardRecorder;
+import com.fsc.utils.ConfigReader;
 import com.fsc.utils.ExtentReportManager;
+import com.fsc.utils.ScreenshotWriter;
+import com.fsc.utils.StepRetry;
+import com.fsc.utils.TestMetrics;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * TestNG Listener for Extent Reports
  * Automatically logs test results and captures screenshots on failure
  */
-public class TestListener implements ITestListener {
-    private static ExtentReports extent;
+public class TestListener implements ITestListener, IInvokedMethodListener {
     private static ThreadLocal<ExtentTest> extentTest = new ThreadLocal<>();
 
     @Override
     public void onStart(ITestContext context) {
         // Initialize Extent Reports once before all tests
-        extent = ExtentReportManager.createInstance();
+        ExtentReportManager.initialize();
         System.out.println("=== Test Suite Started: " + context.getName() + " ===");
     }
 
     @Override
     public void onFinish(ITestContext context) {
-        // Flush report after all tests complete
+        // Record driver resolution separately from browser launches
+        if (DriverBinaryResolver.getSummary() != null) {
+            ExtentReportManager.setSystemInfo("Driver Resolution", DriverBinaryResolver.getSummary());
+        }
+
+        // Record driver pool statistics (lease wait time, launches)
+        if (DriverPool.hasInstance()) {
+            ExtentReportManager.setSystemInfo("Driver Pool", DriverPool.getInstance().getStatsSummary());
+        }
+
+        // Session start and test timings per Selenium Grid node
+        if (RemoteDriverFactory.hasSessions()) {
+            ExtentReportManager.setSystemInfo("Grid Nodes", RemoteDriverFactory.getNodeSummary());
+        }
+
+        // Launch-to-interactive with and without the primed profile
+        if (ProfileTemplate.hasInstance()) {
+            ExtentReportManager.setSystemInfo("Profile Template", ProfileTemplate.getInstance().getStatsSummary());
+        }
+
+        // Requests dropped by the network blocklist
+        if (NetworkBlocker.hasBlocked()) {
+            ExtentReportManager.setSystemInfo("Network Blocking", NetworkBlocker.getStatsSummary());
+        }
+        NetworkBlocker.saveSizes();
+
+        // Flaky steps recovered in place instead of failing (and re-running) the whole test
+        if (StepRetry.hasRetries()) {
+            ExtentReportManager.setSystemInfo("Step Retry", StepRetry.getStatsSummary());
+        }
+
+        // Screenshots are written in the background; the report must not link files that are not there yet
+        ScreenshotWriter.getInstance().awaitPending(30);
+        ExtentReportManager.setSystemInfo("Screenshots", ScreenshotWriter.getInstance().getStatsSummary());
+
+        // Suite-wide command latencies and page timings for tooling
+        CommandMetrics.exportSuite(Paths.get(System.getProperty("user.dir"), "test-output", "metrics"));
+        PagePerformance.exportSuite(Paths.get(System.getProperty("user.dir"), "test-output", "metrics"));
+
+        // Outcome and duration of every test, for ShardMerger and the next shard plan
+        ShardRecorder.getInstance().save();
+
+        // Flush report after all tests complete (and release this <test>'s report when sharded)
+        ExtentReportManager.finishShard(context.getName());
         ExtentReportManager.flush();
         System.out.println("=== Test Suite Finished: " + context.getName() + " ===");
     }
 
+    /**
+     * With perf.budget.mode=fail, a test that passed but went over a performance budget is failed here,
+     * after the whole flow has run, so one slow step does not hide later functional failures
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult result) {
+        if (!method.isTestMethod() || result.getStatus() != ITestResult.SUCCESS || !ConfigReader.isPerfBudgetFailing()) {
+            return;
+        }
+        List<String> violations = PagePerformance.getTestViolations();
+        if (!violations.isEmpty()) {
+            result.setStatus(ITestResult.FAILURE);
+            result.setThrowable(new AssertionError("Performance budget exceeded: " + String.join("; ", violations)));
+        }
+    }
+
     @Override
     public void onTestStart(ITestResult result) {
         // Create ExtentTest for this test method
-        ExtentTest test = extent.createTest(result.getMethod().getMethodName());
+        ExtentTest test = ExtentReportManager.createTest(result.getTestContext().getName(), result.getMethod().getMethodName());
         extentTest.set(test);
 
         System.out.println(">>> Test Started: " + result.getMethod().getMethodName());
@@ -55,8 +128,11 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSuccess(ITestResult result) {
         // Mark test as passed
-        extentTest.get().log(Status.PASS,
-            MarkupHelper.createLabel("Test PASSED: " + result.getMethod().getMethodName(), ExtentColor.GREEN));
+        report(t -> t.log(Status.PASS,
+            MarkupHelper.createLabel("Test PASSED: " + result.getMethod().getMethodName(), ExtentColor.GREEN)));
+        logMetrics();
+        recordDuration(result, "PASS");
+        ExtentReportManager.testFinished(extentTest.get(), Status.PASS);
 
         System.out.println("✓ Test Passed: " + result.getMethod().getMethodName());
     }
@@ -64,26 +140,27 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestFailure(ITestResult result) {
         // Mark test as failed
-        extentTest.get().log(Status.FAIL,
-            MarkupHelper.createLabel("Test FAILED: " + result.getMethod().getMethodName(), ExtentColor.RED));
+        report(t -> t.log(Status.FAIL,
+            MarkupHelper.createLabel("Test FAILED: " + result.getMethod().getMethodName(), ExtentColor.RED)));
 
         // Log the exception
-        extentTest.get().fail(result.getThrowable());
+        report(t -> t.fail(result.getThrowable()));
 
-        // Take screenshot if driver is available
+        // Take screenshot if this thread still has a driver
         try {
-            Object testClass = result.getInstance();
-            WebDriver driver = (WebDriver) testClass.getClass().getField("driver").get(testClass);
-
-            if (driver != null) {
+            if (DriverContext.hasDriver()) {
+                WebDriver driver = DriverContext.getDriver();
                 String screenshotPath = captureScreenshot(driver, result.getMethod().getMethodName());
                 if (screenshotPath != null) {
-                    extentTest.get().addScreenCaptureFromPath(screenshotPath, "Failure Screenshot");
+                    report(t -> t.addScreenCaptureFromPath(screenshotPath, "Failure Screenshot"));
                 }
             }
         } catch (Exception e) {
-            extentTest.get().log(Status.WARNING, "Could not capture screenshot: " + e.getMessage());
+            report(t -> t.log(Status.WARNING, "Could not capture screenshot: " + e.getMessage()));
         }
+        logMetrics();
+        recordDuration(result, "FAIL");
+        ExtentReportManager.testFinished(extentTest.get(), Status.FAIL);
 
         System.out.println("✗ Test Failed: " + result.getMethod().getMethodName());
     }
@@ -91,47 +168,120 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSkipped(ITestResult result) {
         // Mark test as skipped
-        extentTest.get().log(Status.SKIP,
-            MarkupHelper.createLabel("Test SKIPPED: " + result.getMethod().getMethodName(), ExtentColor.YELLOW));
+        report(t -> t.log(Status.SKIP,
+            MarkupHelper.createLabel("Test SKIPPED: " + result.getMethod().getMethodName(), ExtentColor.YELLOW)));
 
         if (result.getThrowable() != null) {
-            extentTest.get().skip(result.getThrowable());
+            report(t -> t.skip(result.getThrowable()));
         }
+        logMetrics();
+        recordDuration(result, "SKIP");
+        ExtentReportManager.testFinished(extentTest.get(), Status.SKIP);
 
         System.out.println("⊘ Test Skipped: " + result.getMethod().getMethodName());
     }
 
+    private void recordDuration(ITestResult result, String status) {
+        ShardRecorder.getInstance().record(ShardInterceptor.testId(result.getMethod()), status,
+            result.getEndMillis() - result.getStartMillis());
+    }
+
     /**
-     * Capture screenshot and save to file
+     * Write to this thread's test node under its report's lock
      */
-    private String captureScreenshot(WebDriver driver, String testName) {
-        try {
-            // Create screenshots directory
-            String screenshotsDir = System.getProperty("user.dir") + "/test-output/screenshots";
-            File directory = new File(screenshotsDir);
-            if (!directory.exists()) {
-                directory.mkdirs();
-            }
+    private void report(Consumer<ExtentTest> entry) {
+        ExtentReportManager.log(extentTest.get(), entry);
+    }
 
-            // Generate filename with timestamp
-            String timestamp = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss").format(new Date());
-            String fileName = testName + "_" + timestamp + ".png";
-            String filePath = screenshotsDir + "/" + fileName;
+    /**
+     * Add timings and counters recorded during the test as a table, then the command latencies
+     */
+    private void logMetrics() {
+        NetworkBlocker blocker = DriverContext.hasDriver() ? NetworkBlocker.of(DriverContext.getDriver()) : null;
+        if (blocker != null) {
+            blocker.drainTestCounts().forEach(TestMetrics::record);
+        }
+
+        Map<String, String> metrics = TestMetrics.drain();
+        if (!metrics.isEmpty()) {
+            String[][] rows = new String[metrics.size()][];
+            int i = 0;
+            for (Map.Entry<String, String> entry : metrics.entrySet()) {
+                rows[i++] = new String[]{entry.getKey(), entry.getValue()};
+            }
+            report(t -> t.info(MarkupHelper.createTable(rows)));
+        }
 
-            // Take screenshot
-            TakesScreenshot ts = (TakesScreenshot) driver;
-            File source = ts.getScreenshotAs(OutputType.FILE);
+        List<PagePerformance.PageTiming> timings = PagePerformance.finishTest();
+        if (!timings.isEmpty()) {
+            report(t -> t.info(MarkupHelper.createTable(pageTimingRows(timings))));
+            report(t -> t.info(PerformanceChart.render(timings)));
+            for (PagePerformance.PageTiming timing : timings) {
+                timing.getViolations().forEach(violation -> report(t -> t.warning("Performance budget: " + violation)));
+            }
+        }
 
-            // Copy to destination
-            Path destination = Paths.get(filePath);
-            Files.copy(source.toPath(), destination);
+        CommandMetrics.Snapshot commands = CommandMetrics.finishTest();
+        if (!commands.isEmpty()) {
+            report(t -> t.info(MarkupHelper.createTable(latencyRows("Command", commands.getCommands()))));
+            if (!commands.getSteps().isEmpty()) {
+                report(t -> t.info(MarkupHelper.createTable(latencyRows("Page method", commands.getSteps()))));
+            }
+        }
+    }
 
-            System.out.println("Screenshot saved: " + filePath);
-            return filePath;
+    /**
+     * Header plus one row per histogram, in milliseconds
+     */
+    private String[][] latencyRows(String label, Map<String, LatencyHistogram> histograms) {
+        String[][] rows = new String[histograms.size() + 1][];
+        rows[0] = new String[]{label, "Calls", "Total ms", "p50 ms", "p95 ms", "Max ms"};
+        int i = 1;
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            rows[i++] = new String[]{entry.getKey(), String.valueOf(h.getCount()), format(h.getTotalMillis()),
+                format(h.getPercentileMillis(50)), format(h.getPercentileMillis(95)), format(h.getMaxMillis())};
+        }
+        return rows;
+    }
 
-        } catch (IOException e) {
-            System.err.println("Failed to capture screenshot: " + e.getMessage());
-            return null;
+    /**
+     * Header plus one row per page step; metrics a step did not report are left empty
+     */
+    private String[][] pageTimingRows(List<PagePerformance.PageTiming> timings) {
+        String[] metrics = {"duration", "ept", "fcp", "lcp", "longtasks", "requests", "transfer.kb"};
+        String[][] rows = new String[timings.size() + 1][];
+        rows[0] = new String[]{"Page step", "Duration", "EPT", "FCP", "LCP", "Long tasks", "Requests", "Transferred", "Slowest resources"};
+        int i = 1;
+        for (PagePerformance.PageTiming timing : timings) {
+            String[] row = new String[metrics.length + 2];
+            row[0] = timing.getStep();
+            for (int m = 0; m < metrics.length; m++) {
+                Double value = timing.get(metrics[m]);
+                row[m + 1] = value == null ? "" : PagePerformance.format(metrics[m], value);
+            }
+            row[metrics.length + 1] = String.join("<br>", timing.getSlowestResources());
+            rows[i++] = row;
         }
+        return rows;
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.1f", millis);
+    }
+
+    /**
+     * Capture the screenshot as bytes and hand it to the background writer
+     * Only the capture blocks the test thread; encoding and disk I/O happen on the writer pool
+     * @return path for the report, relative to the report directory
+     */
+    private String captureScreenshot(WebDriver driver, String testName) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+
+        // Stored by content hash; tests that fail on the same page share one file
+        Path screenshot = ScreenshotWriter.getInstance().submit(png);
+
+        System.out.println("Screenshot for " + testName + ": " + screenshot);
+        return ExtentReportManager.relativeToReport(screenshot);
     }
 }
@@ -0,0 +1,119 @@
+package com.fsc.tests;
+
+import com.fsc.base.LocalSalesforceStandIn;
+import com.fsc.base.SalesforceApiStandIn;
+import com.fsc.data.AccountFixtures;
+import com.fsc.data.SalesforceApiClient;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies API seeding and teardown of Accounts against a local stand-in for the Salesforce REST API
+ */
+public class AccountFixturesTest {
+    private LocalSalesforceStandIn server;
+    private SalesforceApiStandIn api;
+
+    @BeforeClass
+    public void startStandIn() throws IOException {
+        server = new LocalSalesforceStandIn();
+        api = new SalesforceApiStandIn(server, 100);
+        server.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStandIn() {
+        server.stop();
+    }
+
+    @BeforeMethod
+    public void clearAccounts() {
+        api.getAccounts().clear();
+    }
+
+    @Test(description = "Records are created in batches of the configured size, several batches at a time, and deleted again")
+    public void testCreatesAndDeletesInConcurrentBatches() {
+        AccountFixtures fixtures = new AccountFixtures(newClient(), 50, 3);
+        int requestsBefore = api.getCollectionRequests();
+
+        List<String> ids = fixtures.createAccounts(fixtures.uniqueName("Bulk"), 220);
+
+        Assert.assertEquals(ids.size(), 220);
+        Assert.assertEquals(api.getAccounts().size(), 220);
+        Assert.assertEquals(api.getCollectionRequests() - requestsBefore, 5, "220 records in batches of 50");
+        Assert.assertEquals(api.getAccounts().get(ids.get(0)).get("Name"), fixtures.uniqueName("Bulk") + " 1");
+        Assert.assertEquals(api.getAccounts().get(ids.get(219)).get("Name"), fixtures.uniqueName("Bulk") + " 220");
+        Assert.assertTrue(api.getMaxInFlight() > 1 && api.getMaxInFlight() <= 3,
+            "Expected 2 or 3 batches in flight, saw " + api.getMaxInFlight());
+
+        Assert.assertEquals(fixtures.deleteAll(), 220);
+        Assert.assertTrue(api.getAccounts().isEmpty(), "Accounts left behind: " + api.getAccounts().keySet());
+    }
+
+    @Test(description = "Records that failed are reported; the ones that were created are still cleaned up")
+    public void testPartialFailureIsReportedAndCleanedUp() {
+        AccountFixtures fixtures = new AccountFixtures(newClient(), 200, 2);
+        List<Map<String, Object>> accounts = new ArrayList<>();
+        accounts.add(account("Valid 1"));
+        accounts.add(account(""));
+        accounts.add(account("Valid 2"));
+
+        try {
+            fixtures.createAccounts(accounts);
+            Assert.fail("Expected the missing Name to be reported");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(e.getMessage().contains("1 of 3") && e.getMessage().contains("REQUIRED_FIELD_MISSING"), e.getMessage());
+        }
+        Assert.assertEquals(fixtures.getCreatedIds().size(), 2);
+
+        fixtures.close();
+        Assert.assertTrue(api.getAccounts().isEmpty(), "Accounts left behind: " + api.getAccounts().keySet());
+    }
+
+    @Test(description = "Records created elsewhere, e.g. through the UI, can be adopted for cleanup by name")
+    public void testAdoptsRecordsByName() {
+        AccountFixtures seeding = new AccountFixtures(newClient(), 200, 1);
+        String name = seeding.uniqueName("O'Brien");
+        seeding.createAccount(name);
+
+        AccountFixtures cleanup = new AccountFixtures(newClient(), 200, 1);
+        Assert.assertEquals(cleanup.adoptByName(name), 1);
+        Assert.assertEquals(cleanup.deleteAll(), 1);
+        Assert.assertTrue(api.getAccounts().isEmpty());
+    }
+
+    @Test(description = "An expired access token is renewed once and the request repeated")
+    public void testRenewsExpiredToken() {
+        SalesforceApiClient client = newClient();
+        AccountFixtures fixtures = new AccountFixtures(client, 200, 1);
+        fixtures.createAccount(fixtures.uniqueName("Before expiry"));
+        int loginsBefore = api.getLoginCount();
+
+        api.expireTokens();
+        fixtures.createAccount(fixtures.uniqueName("After expiry"));
+
+        Assert.assertEquals(api.getLoginCount(), loginsBefore + 1);
+        Assert.assertEquals(fixtures.deleteAll(), 2);
+    }
+
+    private SalesforceApiClient newClient() {
+        return new SalesforceApiClient(api.getLoginUrl(), "client-id", "client-secret", "user@example.com", "password",
+            "59.0", Duration.ofSeconds(10));
+    }
+
+    private static Map<String, Object> account(String name) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("Name", name);
+        return fields;
+    }
+}
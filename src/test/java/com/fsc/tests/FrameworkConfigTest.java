@@ -0,0 +1,124 @@
+package com.fsc.tests;
+
+import com.fsc.utils.FrameworkConfig;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Verifies the layering and validation of FrameworkConfig without touching the real config file
+ */
+public class FrameworkConfigTest {
+
+    @Test(description = "Environment variables override the file and -D properties override both")
+    public void testOverrideOrder() throws IOException {
+        Properties system = systemProperties("thread.count=2\nexplicit.wait=15\nscript.timeout=30\n");
+        system.setProperty("script.timeout", "45");
+
+        FrameworkConfig config = FrameworkConfig.load(
+            Map.of("FSC_EXPLICIT_WAIT", "25", "FSC_SCRIPT_TIMEOUT", "35"), system);
+
+        Assert.assertEquals(config.getThreadCount(), 2);
+        Assert.assertEquals(config.getExplicitWait(), 25);
+        Assert.assertEquals(config.getScriptTimeout(), 45);
+        Assert.assertEquals(config.getSource("explicit.wait"), "env:FSC_EXPLICIT_WAIT");
+        Assert.assertEquals(config.getSource("script.timeout"), "-Dscript.timeout");
+    }
+
+    @Test(description = "Unrelated system properties are not copied into the configuration")
+    public void testIgnoresUnknownSystemProperties() throws IOException {
+        Properties system = systemProperties("thread.count=1\n");
+        system.setProperty("java.io.tmpdir", "/tmp");
+        system.setProperty("salesforce.url", "https://example.my.salesforce.com");
+
+        FrameworkConfig config = FrameworkConfig.load(Map.of(), system);
+
+        Assert.assertNull(config.getProperty("java.io.tmpdir"));
+        Assert.assertEquals(config.getSalesforceUrl(), "https://example.my.salesforce.com");
+    }
+
+    @Test(description = "The driver pool follows thread.count unless it is set itself")
+    public void testDriverPoolSizeDefaultsToThreadCount() throws IOException {
+        FrameworkConfig config = FrameworkConfig.load(Map.of("FSC_THREAD_COUNT", "6"), systemProperties(""));
+        Assert.assertEquals(config.getDriverPoolSize(), 6);
+
+        config = FrameworkConfig.load(Map.of("FSC_THREAD_COUNT", "6", "FSC_DRIVER_POOL_SIZE", "3"), systemProperties(""));
+        Assert.assertEquals(config.getDriverPoolSize(), 3);
+    }
+
+    @Test(description = "Every invalid value is reported in one error")
+    public void testReportsAllProblems() throws IOException {
+        Properties system = systemProperties("thread.count=0\nheadless=yes\nparallel.mode=sometimes\nexplicit.wait=ten\nscreenshot.format=webp\n");
+
+        IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+            () -> FrameworkConfig.load(Map.of(), system));
+
+        Assert.assertTrue(error.getMessage().contains("thread.count=0 must be at least 1"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("headless=yes must be true or false"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("parallel.mode=sometimes"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("explicit.wait=ten is not a number"), error.getMessage());
+        // No encoder for it in the JDK, so it must not pass validation and be written as something else
+        Assert.assertTrue(error.getMessage().contains("screenshot.format=webp must be one of jpeg, jpg, png"), error.getMessage());
+    }
+
+    @Test(description = "The Lightning idle wait must end before the driver cuts off its async script")
+    public void testIdleTimeoutBelowScriptTimeout() throws IOException {
+        IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+            () -> FrameworkConfig.load(Map.of(), systemProperties("script.timeout=20\nlightning.idle.timeout=20\n")));
+        Assert.assertTrue(error.getMessage().contains("lightning.idle.timeout=20 must be between 1 and 19"), error.getMessage());
+
+        FrameworkConfig config = FrameworkConfig.load(Map.of(), systemProperties("script.timeout=20\nlightning.idle.timeout=19\n"));
+        Assert.assertEquals(config.getLightningIdleTimeout(), 19);
+    }
+
+    @Test(description = "An explicitly requested config file must exist")
+    public void testMissingExplicitFileFails() {
+        Properties system = new Properties();
+        system.setProperty("config.file", "does-not-exist/config.properties");
+
+        Assert.assertThrows(IllegalStateException.class, () -> FrameworkConfig.load(Map.of(), system));
+    }
+
+    @Test(description = "Comma-separated lists are trimmed and empty entries dropped")
+    public void testParsesLists() throws IOException {
+        FrameworkConfig config = FrameworkConfig.load(
+            Map.of("FSC_NETWORK_BLOCK_PATTERNS", " *.woff2, ,*google-analytics.com* "), systemProperties(""));
+
+        Assert.assertEquals(config.getNetworkBlockPatterns(), List.of("*.woff2", "*google-analytics.com*"));
+        Assert.assertEquals(config.getNetworkAllowPatterns(), List.of());
+    }
+
+    @Test(description = "Performance budgets are grouped by step, and -D can add budgets the file does not have")
+    public void testParsesPerformanceBudgets() throws IOException {
+        Properties system = systemProperties("perf.budget.account-search.duration=8000\nperf.budget.account-search.transfer.kb=900\n");
+        system.setProperty("perf.budget.sales-app.longtasks", "500");
+
+        FrameworkConfig config = FrameworkConfig.load(Map.of(), system);
+
+        Assert.assertEquals(config.getPerfBudgets(), Map.of(
+            "account-search", Map.of("duration", 8000L, "transfer.kb", 900L),
+            "sales-app", Map.of("longtasks", 500L)));
+        Assert.assertFalse(config.isPerfBudgetFailing());
+
+        IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+            () -> FrameworkConfig.load(Map.of(), systemProperties("perf.budget.sales-app.speed=1\n")));
+        Assert.assertTrue(error.getMessage().contains("unknown metric 'speed'"), error.getMessage());
+    }
+
+    /**
+     * System properties pointing at a temporary config file with the given content
+     */
+    private Properties systemProperties(String fileContent) throws IOException {
+        Path file = Files.createTempFile("fsc-config", ".properties");
+        Files.writeString(file, fileContent);
+        Properties system = new Properties();
+        system.setProperty("config.file", file.toString());
+        return system;
+    }
+}
@@ -0,0 +1,135 @@
+package com.fsc.tests;
+
+import com.fsc.auth.SessionManager;
+import com.fsc.base.LightningStandIn;
+import com.fsc.driver.DriverFactory;
+import com.fsc.load.LoadProfile;
+import com.fsc.load.LoadReport;
+import com.fsc.load.LoadResults;
+import com.fsc.load.LoadRunner;
+import com.fsc.load.SalesAccountFlow;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+/**
+ * Verifies the load profile schedule, the result statistics and a short run of the Sales app flow
+ * against a local Lightning stand-in
+ */
+public class LoadRunnerTest {
+    private LightningStandIn standIn;
+
+    @BeforeClass
+    public void startStandIn() throws IOException {
+        List<String> names = new ArrayList<>();
+        for (int i = 1; i <= 40; i++) {
+            names.add("Account " + i);
+        }
+        // Not first in All Accounts, so clicking before the search has re-rendered the list opens the wrong record
+        names.add("Berardo Holdings");
+        standIn = new LightningStandIn(150, names);
+        standIn.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStandIn() {
+        standIn.stop();
+    }
+
+    @Test(description = "Users start evenly over the ramp-up and stop one by one over the ramp-down")
+    public void testProfileSchedulesUsers() {
+        LoadProfile profile = new LoadProfile(4, Duration.ofSeconds(8), Duration.ofSeconds(10), Duration.ofSeconds(4),
+            Duration.ofMillis(500), Duration.ofMillis(1500));
+
+        Assert.assertEquals(profile.startOffsetMillis(0), 0);
+        Assert.assertEquals(profile.startOffsetMillis(3), 6000);
+        Assert.assertEquals(profile.stopOffsetMillis(0), 22_000);
+        Assert.assertEquals(profile.stopOffsetMillis(3), 19_000);
+        Assert.assertEquals(profile.getTotalMillis(), 22_000);
+        Assert.assertEquals(profile.plannedUsersAt(1000), 1);
+        Assert.assertEquals(profile.plannedUsersAt(profile.steadyStartMillis()), 4);
+        Assert.assertEquals(profile.plannedUsersAt(21_500), 1);
+
+        Random random = new Random(1);
+        for (int i = 0; i < 100; i++) {
+            long think = profile.thinkTimeMillis(random);
+            Assert.assertTrue(think >= 500 && think <= 1500, "Think time out of range: " + think);
+        }
+        Assert.expectThrows(IllegalArgumentException.class, () -> new LoadProfile(1, Duration.ZERO, Duration.ZERO, Duration.ZERO,
+            Duration.ofMillis(2000), Duration.ofMillis(1000)));
+    }
+
+    @Test(description = "Percentiles, errors and steady-state throughput are computed from the raw samples")
+    public void testSummarizesSamples() {
+        LoadProfile profile = new LoadProfile(2, Duration.ofSeconds(10), Duration.ofSeconds(60), Duration.ZERO,
+            Duration.ZERO, Duration.ZERO);
+        LoadResults results = new LoadResults(profile);
+        results.userStarted(0);
+        results.userStarted(5000);
+        for (int i = 1; i <= 100; i++) {
+            // One sample during the ramp-up, the rest in the steady phase
+            results.record("search", i == 1 ? 2000 : 10_000 + i * 100, i * 10L, null);
+        }
+        results.record("search", 30_000, 5000, new IllegalStateException("List view did not load\nstack details"));
+        results.userStopped(70_000);
+        results.userStopped(70_000);
+        results.finish(70_000);
+
+        LoadResults.StepSummary search = results.summarize().get(0);
+        Assert.assertEquals(search.getCount(), 101);
+        Assert.assertEquals(search.getErrors(), 1);
+        Assert.assertEquals(search.percentile(50), 500);
+        Assert.assertEquals(search.percentile(95), 950);
+        Assert.assertEquals(search.percentile(99), 990);
+        Assert.assertEquals(search.getMax(), 1000, "The failed sample must not count towards latency");
+        Assert.assertEquals(search.getSteadyThroughput(), 99.0, 0.01);
+        Assert.assertEquals(search.getErrorKinds(), Map.of("IllegalStateException: List view did not load", 1));
+        Assert.assertEquals(results.getPeakUsers(), 2);
+
+        List<int[]> timeline = results.timeline();
+        Assert.assertEquals(timeline.size(), 70);
+        Assert.assertEquals(timeline.get(2)[0], 1);
+        Assert.assertEquals(timeline.get(30)[0], 2);
+        Assert.assertEquals(timeline.get(30)[2], 1);
+    }
+
+    @Test(description = "Concurrent virtual users run the Sales app flow and log in through the UI only once")
+    public void testRunsConcurrentUsers() throws IOException {
+        LoadProfile profile = new LoadProfile(3, Duration.ofSeconds(3), Duration.ofSeconds(10), Duration.ofSeconds(3),
+            Duration.ofMillis(100), Duration.ofMillis(300));
+        SessionManager sessions = new SessionManager(true, Duration.ofMinutes(30), url -> url.contains("/lightning/"));
+        int loginsBefore = standIn.getLoginCount();
+
+        LoadResults results = new LoadRunner(profile, DriverFactory::createDriver, () -> new SalesAccountFlow(sessions,
+            standIn.getUrl("/login"), "load@example.com", "secret", "Berardo")).run();
+
+        Map<String, LoadResults.StepSummary> steps = results.summarize().stream()
+            .collect(Collectors.toMap(LoadResults.StepSummary::getStep, summary -> summary));
+        Assert.assertEquals(results.getPeakUsers(), 3);
+        Assert.assertEquals(results.getErrorCount(), 0, "Failed steps: " + steps.values().stream()
+            .map(LoadResults.StepSummary::getErrorKinds).collect(Collectors.toList()));
+        for (String step : List.of("login", "sales-app", "account-tab", "account-search")) {
+            Assert.assertTrue(steps.containsKey(step), "No samples for " + step + ": " + steps.keySet());
+        }
+        Assert.assertEquals(steps.get("login").getCount(), 3);
+        Assert.assertTrue(steps.get("account-search").getCount() >= 3, "Every user should search at least once");
+        Assert.assertTrue(steps.get("account-search").percentile(50) >= 150, "Search should include the list request latency");
+        Assert.assertEquals(standIn.getLoginCount(), loginsBefore + 1, "Users after the first should reuse its session");
+
+        Path directory = Files.createTempDirectory("load-report");
+        Path report = LoadReport.write(results, directory);
+        Assert.assertTrue(Files.readString(report).contains("account-search"));
+        Assert.assertTrue(Files.exists(Path.of(report.toString().replace(".html", ".json"))));
+    }
+}
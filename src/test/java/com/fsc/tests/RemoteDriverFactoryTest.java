@@ -0,0 +1,137 @@
+package com.fsc.tests;
+
+import com.fsc.base.GridProxyStandIn;
+import com.fsc.driver.RemoteDriverFactory;
+import com.fsc.utils.ConfigReader;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/**
+ * Verifies grid session creation, retry with backoff and node resolution
+ * Tests that need a browser run against the standalone server at grid.url (e.g. docker run -p 4444:4444
+ * selenium/standalone-chrome) and are skipped when it is not running; a local stand-in in front of it
+ * plays a busy grid.
+ */
+public class RemoteDriverFactoryTest {
+    private static final long BACKOFF_MILLIS = 200;
+
+    private URI standalone;
+    private boolean standaloneReady;
+    private GridProxyStandIn grid;
+
+    @BeforeClass
+    public void findStandalone() throws Exception {
+        standalone = ConfigReader.getGridUrl().toURI();
+        try {
+            HttpResponse<String> status = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build().send(
+                HttpRequest.newBuilder(standalone.resolve("/status")).timeout(Duration.ofSeconds(5)).build(),
+                HttpResponse.BodyHandlers.ofString());
+            standaloneReady = status.statusCode() == 200 && status.body().replace(" ", "").contains("\"ready\":true");
+        } catch (IOException e) {
+            standaloneReady = false;
+        }
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopGrid() {
+        if (grid != null) {
+            grid.stop();
+            grid = null;
+        }
+    }
+
+    @Test(description = "A session on the standalone server is attributed to the node that runs it")
+    public void testResolvesNode() {
+        requireStandalone();
+        RemoteDriverFactory.RemoteSession session = RemoteDriverFactory.createSession(toUrl(standalone.toString()), options(), 0, 0);
+        try {
+            Assert.assertTrue(session.getNode().matches("[^:/\\s]+(:\\d+)?"), "Node: " + session.getNode());
+            Assert.assertTrue(RemoteDriverFactory.getNodeSummary().contains(session.getNode() + ": "),
+                RemoteDriverFactory.getNodeSummary());
+
+            session.getDriver().get("data:text/html,<title>grid</title>");
+            Assert.assertEquals(session.getDriver().getTitle(), "grid");
+        } finally {
+            session.getDriver().quit();
+        }
+    }
+
+    @Test(description = "A busy grid is retried with a doubling backoff until it accepts the session")
+    public void testRetriesBusyGrid() throws IOException {
+        requireStandalone();
+        grid = new GridProxyStandIn(standalone, 2, 500, "session not created");
+        grid.start();
+
+        long start = System.currentTimeMillis();
+        RemoteDriverFactory.RemoteSession session = RemoteDriverFactory.createSession(toUrl(grid.getUrl()), options(), 3, BACKOFF_MILLIS);
+        long elapsed = System.currentTimeMillis() - start;
+        try {
+            Assert.assertEquals(grid.getSessionRequests(), 3);
+            Assert.assertTrue(elapsed >= BACKOFF_MILLIS * 3, "Waited " + elapsed + " ms for backoffs of 200 and 400 ms");
+            // Resolved through the grid's GraphQL endpoint, so it is the node behind the stand-in
+            Assert.assertFalse(session.getNode().endsWith(":" + URI.create(grid.getUrl()).getPort()), "Node: " + session.getNode());
+            Assert.assertTrue(session.getNode().matches("[^:/\\s]+(:\\d+)?"), "Node: " + session.getNode());
+        } finally {
+            session.getDriver().quit();
+        }
+    }
+
+    @Test(description = "Session creation gives up after the configured number of retries")
+    public void testGivesUpAfterRetries() throws IOException {
+        grid = new GridProxyStandIn(null, Integer.MAX_VALUE, 500, "session not created");
+        grid.start();
+
+        long start = System.currentTimeMillis();
+        WebDriverException error = Assert.expectThrows(WebDriverException.class,
+            () -> RemoteDriverFactory.createSession(toUrl(grid.getUrl()), options(), 2, BACKOFF_MILLIS));
+        long elapsed = System.currentTimeMillis() - start;
+
+        Assert.assertEquals(grid.getSessionRequests(), 3);
+        Assert.assertTrue(error.getMessage().contains("after 3 attempts"), error.getMessage());
+        Assert.assertTrue(elapsed >= BACKOFF_MILLIS * 3, "Waited " + elapsed + " ms for backoffs of 200 and 400 ms");
+    }
+
+    @Test(description = "Capabilities the grid rejects as invalid are not retried")
+    public void testDoesNotRetryInvalidCapabilities() throws IOException {
+        grid = new GridProxyStandIn(null, Integer.MAX_VALUE, 400, "invalid argument");
+        grid.start();
+
+        WebDriverException error = Assert.expectThrows(WebDriverException.class,
+            () -> RemoteDriverFactory.createSession(toUrl(grid.getUrl()), options(), 3, BACKOFF_MILLIS));
+        Assert.assertEquals(grid.getSessionRequests(), 1);
+        Assert.assertFalse(error.getMessage().contains("attempts"), error.getMessage());
+    }
+
+    private void requireStandalone() {
+        if (!standaloneReady) {
+            throw new SkipException("No ready Selenium standalone server at " + standalone);
+        }
+    }
+
+    private static ChromeOptions options() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--headless=new", "--no-sandbox", "--disable-dev-shm-usage");
+        return options;
+    }
+
+    private static URL toUrl(String url) {
+        try {
+            return URI.create(url).toURL();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(url, e);
+        }
+    }
+}
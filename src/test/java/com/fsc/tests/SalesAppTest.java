@@ -3,13 +3,20 @@ package com.fsc.tests;
 import com.fsc.base.BaseTest;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import com.fsc.auth.LoginVerification;
+import com.fsc.auth.SessionManager;
+import com.fsc.data.AccountFixtures;
+import com.fsc.data.SalesforceApiClient;
 import com.fsc.pages.SalesforceLoginPage;
 import com.fsc.pages.SalesAppPage;
 import com.fsc.pages.SalesAppAccountPage;
@@ -18,22 +25,42 @@ import com.fsc.utils.ConfigReader;
 import java.time.Duration;
 
 public class SalesAppTest extends BaseTest{
-    private SalesforceLoginPage loginPage;
-    private SalesAppPage salesAppPage;
-    private SalesAppAccountPage salesAppAccountPage;
-    private WebDriverWait wait;
     
     // Locators - Multiple strategies for App Launcher
     private By appHeader = By.xpath("//h1[contains(@class, 'appName')]/span[@title='Sales']");
     private By accountName =By.xpath("//div[@class='entityNameTitle slds-line-height--reset']/following-sibling::slot/lightning-formatted-text");
 
+    private AccountFixtures fixtures;
+    private String searchAccountName = "Berardo";
+
+    @BeforeClass
+    public void seedAccounts(){
+        // Seed the searched Account through the API when a connected app is configured; otherwise rely on the org's "Berardo"
+        if (!SalesforceApiClient.isConfigured()) {
+            System.out.println("api.client.id is not set; searching for the existing 'Berardo' Account");
+            return;
+        }
+        fixtures = AccountFixtures.fromConfig();
+        searchAccountName = fixtures.uniqueName("Berardo");
+        fixtures.createAccount(searchAccountName);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void deleteAccounts(){
+        if (fixtures != null) {
+            fixtures.close();
+        }
+    }
+
     @BeforeMethod
     public void login(){
-        // Initialize page objects and wait
-        wait = new WebDriverWait(driver, Duration.ofSeconds(15));
-        loginPage = new SalesforceLoginPage(driver);
-        salesAppPage = new SalesAppPage(driver);
-        salesAppAccountPage = new SalesAppAccountPage(driver);
+        // Log in through the UI once per suite; later tests reuse the captured session
+        SessionManager.getInstance().login(getDriver(), this::loginThroughUi);
+    }
+
+    private void loginThroughUi(WebDriver driver){
+        WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(15));
+        SalesforceLoginPage loginPage = new SalesforceLoginPage(driver);
 
         // Login
         loginPage.navigateToLogin(ConfigReader.getSalesforceUrl());
@@ -41,20 +68,12 @@ public class SalesAppTest extends BaseTest{
         String password = ConfigReader.getPassword();
         loginPage.login(username, password);
 
-        // Pause for MANUAL verification code entry
-        System.out.println("=== MANUAL ACTION REQUIRED ===");
-        System.out.println("Please enter the verification code from your email");
-        System.out.println("You have 40 seconds...");
-        try {
-            Thread.sleep(40000);  // 40 seconds to enter code manually
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-        System.out.println("Continuing test...");
+        // Enter the verification code as soon as it is available instead of a fixed pause
+        LoginVerification.fromConfig().complete(driver);
 
         // Wait for login to complete
-        wait.until(driver -> {
-            String url = driver.getCurrentUrl();
+        wait.until(d -> {
+            String url = d.getCurrentUrl();
             return url.contains("lightning") || url.contains("home");
         });
     }
@@ -109,23 +128,25 @@ public class SalesAppTest extends BaseTest{
     // }
     @Test(priority = 3, description = "Test account search")
     public void testAccountSearch(){
-        
-        
+        WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(15));
+        SalesAppPage salesAppPage = new SalesAppPage();
+        SalesAppAccountPage salesAppAccountPage = new SalesAppAccountPage();
+
         salesAppPage.navigateToSalesApp();
         salesAppAccountPage.navigateToAccountTab();
-        salesAppAccountPage.searchAccount();
+        salesAppAccountPage.searchAccount(searchAccountName);
 
 
         // Verify you're on the Account detail page
-        String currentUrl = driver.getCurrentUrl();
+        String currentUrl = getDriver().getCurrentUrl();
         Assert.assertTrue(currentUrl.contains("Account"),
             "Failed - URL does not contain 'Account'. Current URL: " + currentUrl);
 
-        // Verify Account Name contains Berardo
+        // Verify Account Name is the searched Account
         WebElement accountNameElement = wait.until(ExpectedConditions.visibilityOfElementLocated(accountName));
         String accountNameText = accountNameElement.getText();
         
-        Assert.assertEquals(accountNameText, "Berardo",
+        Assert.assertEquals(accountNameText, searchAccountName,
             "Failed - Account Name is not correct. Actual text: " + accountNameText);
     }
 }
@@ -0,0 +1,114 @@
+package com.fsc.tests;
+
+import com.fsc.base.BaseTest;
+import com.fsc.utils.JavaScriptUtil;
+import com.fsc.utils.ScriptBatch;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Verifies that queued operations run in the page in one call and their results come back per operation
+ */
+public class ScriptBatchTest extends BaseTest {
+    // Two inputs, a status line and a node the batch detaches; the name input logs its events on the body
+    private static final String PAGE =
+        "<html><body><input id=\"name\"><input id=\"phone\"><p id=\"status\">Ready</p><div id=\"gone\">Temp</div><script>" +
+        "['input', 'change'].forEach(function (type) {" +
+        "  document.getElementById('name').addEventListener(type, function () {" +
+        "    document.body.setAttribute('data-events', (document.body.getAttribute('data-events') || '') + type + ' ');" +
+        "  });" +
+        "});" +
+        "</script></body></html>";
+
+    // Fails inside the page once the node has been detached by an earlier operation
+    private static final String REMOVE_FROM_PARENT = "el.parentNode.removeChild(el);";
+
+    @Test(description = "Built-in and custom operations change the page and return their values in queue order")
+    public void testRunsOperationsInPage() {
+        openPage();
+        WebElement name = getDriver().findElement(By.id("name"));
+        WebElement phone = getDriver().findElement(By.id("phone"));
+        WebElement status = getDriver().findElement(By.id("status"));
+
+        ScriptBatch batch = new JavaScriptUtil(getDriver()).batch()
+            .scrollIntoView(name)
+            .setValueAndTriggerChange(name, "Acme")
+            .setValue(phone, "555-0100")
+            .getTextContent(status)
+            .isVisible(name)
+            .custom("return el.getAttribute(value);", name, "id");
+        Assert.assertEquals(batch.size(), 6);
+
+        ScriptBatch.BatchResult result = batch.execute().assertSuccess();
+        Assert.assertEquals(result.getResults().size(), 6);
+        Assert.assertEquals(result.get(1).getName(), "setValueAndTriggerChange");
+        Assert.assertNull(result.get(1).getValue());
+        Assert.assertEquals(result.get(3).getValue(), "Ready");
+        Assert.assertEquals(result.get(4).getValue(), true);
+        Assert.assertEquals(result.get(5).getName(), "custom");
+        Assert.assertEquals(result.get(5).getValue(), "name");
+
+        Assert.assertEquals(name.getDomProperty("value"), "Acme");
+        Assert.assertEquals(phone.getDomProperty("value"), "555-0100");
+        Assert.assertEquals(getDriver().findElement(By.tagName("body")).getAttribute("data-events"), "input change ");
+    }
+
+    @Test(description = "An operation on a detached node is reported without hiding the others")
+    public void testReportsFailedOperation() {
+        openPage();
+        WebElement gone = getDriver().findElement(By.id("gone"));
+        WebElement status = getDriver().findElement(By.id("status"));
+
+        ScriptBatch.BatchResult result = new JavaScriptUtil(getDriver()).batch()
+            .custom("el.remove();", gone, null)
+            .custom(REMOVE_FROM_PARENT, gone, null)
+            .getTextContent(status)
+            .execute();
+
+        Assert.assertFalse(result.isSuccess());
+        Assert.assertTrue(result.get(0).isSuccess());
+        Assert.assertFalse(result.get(1).isSuccess());
+        Assert.assertTrue(result.get(1).getError().contains("null"), result.get(1).getError());
+        Assert.assertTrue(result.get(2).isSuccess(), "Later operations still run");
+        Assert.assertEquals(result.get(2).getValue(), "Ready");
+        Assert.assertTrue(getDriver().findElements(By.id("gone")).isEmpty());
+
+        JavascriptException error = Assert.expectThrows(JavascriptException.class, result::assertSuccess);
+        Assert.assertTrue(error.getMessage().contains("custom failed: "), error.getMessage());
+    }
+
+    @Test(description = "With stopOnError the operations after a failure do not run in the page")
+    public void testStopsOnError() {
+        openPage();
+        WebElement gone = getDriver().findElement(By.id("gone"));
+        WebElement phone = getDriver().findElement(By.id("phone"));
+
+        ScriptBatch.BatchResult result = new JavaScriptUtil(getDriver()).batch()
+            .stopOnError()
+            .custom("el.remove();", gone, null)
+            .custom(REMOVE_FROM_PARENT, gone, null)
+            .setValue(phone, "555-0100")
+            .execute();
+
+        Assert.assertTrue(result.get(0).isSuccess());
+        Assert.assertFalse(result.get(1).isSuccess());
+        Assert.assertFalse(result.get(2).isSuccess());
+        Assert.assertEquals(result.get(2).getError(), "not run");
+        Assert.assertEquals(phone.getDomProperty("value"), "");
+    }
+
+    @Test(description = "An empty batch returns no results")
+    public void testEmptyBatch() {
+        Assert.assertTrue(new JavaScriptUtil(getDriver()).batch().execute().getResults().isEmpty());
+    }
+
+    private void openPage() {
+        getDriver().get("data:text/html;charset=utf-8," + URLEncoder.encode(PAGE, StandardCharsets.UTF_8).replace("+", "%20"));
+    }
+}
@@ -0,0 +1,89 @@
+package com.fsc.tests;
+
+import com.fsc.auth.SessionManager;
+import com.fsc.base.BaseTest;
+import com.fsc.base.LocalSalesforceStandIn;
+import com.fsc.driver.DriverFactory;
+import com.fsc.pages.SalesforceLoginPage;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Verifies login-once session reuse against a local stand-in login page
+ */
+public class SessionSnapshotTest extends BaseTest {
+    private LocalSalesforceStandIn standIn;
+
+    @BeforeClass
+    public void startStandIn() throws IOException {
+        standIn = new LocalSalesforceStandIn();
+        standIn.start();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStandIn() {
+        standIn.stop();
+    }
+
+    @Test(description = "A second browser is logged in from the snapshot without using the login form")
+    public void testSnapshotRestoresSessionInNewBrowser() {
+        SessionManager manager = newManager();
+        int loginsBefore = standIn.getLoginCount();
+
+        manager.login(getDriver(), this::loginThroughUi);
+        Object storedUser = ((JavascriptExecutor) getDriver()).executeScript("return localStorage.getItem('standin.user')");
+
+        WebDriver secondDriver = DriverFactory.createDriver();
+        try {
+            manager.login(secondDriver, this::loginThroughUi);
+
+            Assert.assertEquals(standIn.getLoginCount(), loginsBefore + 1,
+                "Second browser should not have logged in through the UI");
+            Assert.assertTrue(secondDriver.getCurrentUrl().contains("/lightning/page/home"),
+                "Second browser is not on the home page. Current URL: " + secondDriver.getCurrentUrl());
+            Assert.assertEquals(((JavascriptExecutor) secondDriver).executeScript("return localStorage.getItem('standin.user')"),
+                storedUser, "Local storage was not restored");
+        } finally {
+            secondDriver.quit();
+        }
+    }
+
+    @Test(description = "An expired server session falls back to a UI login")
+    public void testExpiredSessionLogsInAgain() {
+        SessionManager manager = newManager();
+        manager.login(getDriver(), this::loginThroughUi);
+        int loginsBefore = standIn.getLoginCount();
+
+        standIn.expireSessions();
+
+        WebDriver secondDriver = DriverFactory.createDriver();
+        try {
+            manager.login(secondDriver, this::loginThroughUi);
+
+            Assert.assertEquals(standIn.getLoginCount(), loginsBefore + 1, "Expired session should trigger a new UI login");
+            Assert.assertTrue(secondDriver.getCurrentUrl().contains("/lightning/page/home"),
+                "Re-login did not reach the home page. Current URL: " + secondDriver.getCurrentUrl());
+        } finally {
+            secondDriver.quit();
+        }
+    }
+
+    private SessionManager newManager() {
+        return new SessionManager(true, Duration.ofMinutes(5), url -> url.split("[?#]")[0].contains("lightning"));
+    }
+
+    private void loginThroughUi(WebDriver driver) {
+        SalesforceLoginPage loginPage = new SalesforceLoginPage(driver);
+        loginPage.navigateToLogin(standIn.getUrl("/login"));
+        loginPage.login("user@example.com", "secret");
+        new WebDriverWait(driver, Duration.ofSeconds(10)).until(d -> d.getCurrentUrl().contains("/lightning/"));
+    }
+}
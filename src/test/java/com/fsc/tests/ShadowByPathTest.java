@@ -0,0 +1,59 @@
+package com.fsc.tests;
+
+import com.fsc.utils.ShadowBy;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Verifies shadow path parsing and the scripts ShadowBy sends, without a browser
+ */
+public class ShadowByPathTest {
+
+    @Test(description = "Paths are normalised and empty segments rejected")
+    public void testParsesPath() {
+        Assert.assertEquals(ShadowBy.css(" c-account-card>>>lightning-button >>>button ").getPath(),
+            "c-account-card >>> lightning-button >>> button");
+        Assert.assertEquals(ShadowBy.css("c-account-card", "lightning-button", "button"),
+            ShadowBy.css("c-account-card >>> lightning-button >>> button"));
+        Assert.expectThrows(IllegalArgumentException.class, () -> ShadowBy.css("c-account-card >>> >>> button"));
+    }
+
+    @Test(description = "The query function is sent only when the page does not have it yet")
+    public void testInstallsQueryOnlyWhenMissing() {
+        List<String> scripts = new ArrayList<>();
+        WebElement button = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{WebElement.class}, (proxy, method, args) -> null);
+        boolean[] installed = {false};
+        SearchContext driver = (SearchContext) Proxy.newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[]{SearchContext.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                if (!"executeScript".equals(method.getName())) {
+                    throw new UnsupportedOperationException(method.getName());
+                }
+                String script = (String) args[0];
+                scripts.add(script);
+                if (script.contains("function compile")) {
+                    installed[0] = true;
+                }
+                return installed[0] ? button : "__fscShadowQuery missing";
+            });
+
+        ShadowBy by = ShadowBy.css("c-account-card >>> lightning-button >>> button");
+        Assert.assertSame(by.findElement(driver), button);
+        Assert.assertEquals(scripts.size(), 2, "Call, then install and call on a new page");
+        Assert.assertFalse(scripts.get(0).contains("function compile"), "The first attempt only sends the call");
+        Assert.assertTrue(scripts.get(1).contains("function compile"));
+
+        scripts.clear();
+        Assert.assertSame(by.findElement(driver), button);
+        Assert.assertEquals(scripts.size(), 1);
+        Assert.assertFalse(scripts.get(0).contains("function compile"), "Installed pages only get the call");
+        Assert.assertTrue(scripts.get(0).length() < 200, "Call script: " + scripts.get(0));
+    }
+}
@@ -0,0 +1,59 @@
+package com.fsc.tests;
+
+import com.fsc.base.BaseTest;
+import com.fsc.utils.DomWait;
+import com.fsc.utils.ShadowBy;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Verifies deep queries through nested open shadow roots, as Lightning web components render them
+ */
+public class ShadowByTest extends BaseTest {
+    // Two cards, each with a lightning-button whose shadow root holds the real button; c-late fills in after 300 ms
+    private static final String PAGE =
+        "<html><body><c-account-card></c-account-card><c-account-card></c-account-card><c-late></c-late><script>" +
+        "function shadow(host, html) { host.attachShadow({ mode: 'open' }).innerHTML = html; return host.shadowRoot; }" +
+        "document.querySelectorAll('c-account-card').forEach(function (card, i) {" +
+        "  var root = shadow(card, '<lightning-button></lightning-button>');" +
+        "  shadow(root.querySelector('lightning-button'), '<button class=\"slds-button\">Save ' + (i + 1) + '</button>');" +
+        "});" +
+        "setTimeout(function () { shadow(document.querySelector('c-late'), '<button>Ready</button>'); }, 300);" +
+        "</script></body></html>";
+
+    @Test(description = "Elements two shadow levels deep are found in one call")
+    public void testFindsThroughNestedShadowRoots() {
+        openPage();
+
+        WebElement button = getDriver().findElement(ShadowBy.css("c-account-card >>> lightning-button >>> button.slds-button"));
+        Assert.assertEquals(button.getText(), "Save 1");
+
+        List<WebElement> buttons = getDriver().findElements(ShadowBy.css("c-account-card >>> lightning-button >>> button"));
+        Assert.assertEquals(buttons.size(), 2);
+        Assert.assertEquals(buttons.get(1).getText(), "Save 2");
+
+        // Without the boundaries the button is invisible to a normal query
+        Assert.assertTrue(getDriver().findElements(ShadowBy.css("button.slds-button")).isEmpty());
+        Assert.expectThrows(NoSuchElementException.class,
+            () -> getDriver().findElement(ShadowBy.css("c-account-card >>> lightning-input >>> input")));
+    }
+
+    @Test(description = "DomWait waits for content that is rendered into a shadow root later")
+    public void testDomWaitWaitsForShadowContent() {
+        openPage();
+
+        WebElement ready = new DomWait(getDriver(), Duration.ofSeconds(5)).clickable(ShadowBy.css("c-late >>> button"));
+        Assert.assertEquals(ready.getText(), "Ready");
+    }
+
+    private void openPage() {
+        getDriver().get("data:text/html;charset=utf-8," + URLEncoder.encode(PAGE, StandardCharsets.UTF_8).replace("+", "%20"));
+    }
+}
@@ -0,0 +1,74 @@
+package com.fsc.tests;
+
+import com.fsc.sharding.ShardPlanner;
+import com.fsc.sharding.TestDurations;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Verifies that shard plans are balanced on duration, complete and identical on every agent
+ */
+public class ShardPlannerTest {
+
+    @Test(description = "Longest tests are spread first so shards finish at about the same time")
+    public void testBalancesByDuration() {
+        Map<String, Long> durations = new LinkedHashMap<>();
+        durations.put("A#slow", 90_000L);
+        durations.put("A#medium1", 40_000L);
+        durations.put("A#medium2", 40_000L);
+        durations.put("B#fast1", 10_000L);
+        durations.put("B#fast2", 10_000L);
+
+        List<ShardPlanner.Shard> plan = ShardPlanner.plan(durations, 2);
+
+        // Splitting by count could pair slow with a medium test (140 s vs 50 s)
+        Assert.assertEquals(plan.get(0).getUnits(), List.of("A#slow", "B#fast2"));
+        Assert.assertEquals(plan.get(1).getUnits(), List.of("A#medium1", "A#medium2", "B#fast1"));
+        Assert.assertEquals(plan.get(0).getEstimatedMillis(), 100_000L);
+        Assert.assertEquals(plan.get(1).getEstimatedMillis(), 90_000L);
+    }
+
+    @Test(description = "Every test lands on exactly one shard, and the plan does not depend on input order")
+    public void testPlanIsCompleteAndDeterministic() {
+        Map<String, Long> forward = new LinkedHashMap<>();
+        Map<String, Long> reverse = new LinkedHashMap<>();
+        for (int i = 0; i < 20; i++) {
+            forward.put("T#test" + i, (long) (i % 4) * 1000);
+        }
+        List<String> keys = new ArrayList<>(forward.keySet());
+        for (int i = keys.size() - 1; i >= 0; i--) {
+            reverse.put(keys.get(i), forward.get(keys.get(i)));
+        }
+
+        List<ShardPlanner.Shard> plan = ShardPlanner.plan(forward, 3);
+        List<String> assigned = new ArrayList<>();
+        plan.forEach(shard -> assigned.addAll(shard.getUnits()));
+        Assert.assertEquals(assigned.size(), 20);
+        Assert.assertTrue(assigned.containsAll(forward.keySet()));
+
+        List<ShardPlanner.Shard> again = ShardPlanner.plan(reverse, 3);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(again.get(i).getUnits(), plan.get(i).getUnits());
+        }
+    }
+
+    @Test(description = "Tests without a recorded duration are estimated at the median of the known ones")
+    public void testEstimatesUnknownTests() {
+        TestDurations durations = new TestDurations(Map.of("A#a", 1_000L, "A#b", 5_000L, "A#c", 60_000L), 30_000);
+        Assert.assertEquals(durations.estimate("A#b"), 5_000L);
+        Assert.assertEquals(durations.estimate("A#new"), 5_000L);
+
+        Assert.assertEquals(new TestDurations(Map.of(), 30_000).estimate("A#new"), 30_000L);
+    }
+
+    @Test(description = "A new run is averaged into the recorded durations, keeping tests that did not run")
+    public void testMergesDurations() {
+        Map<String, Long> merged = TestDurations.merge(Map.of("A#a", 10_000L, "A#b", 4_000L), Map.of("A#a", 20_000L, "A#c", 3_000L));
+        Assert.assertEquals(merged, Map.of("A#a", 15_000L, "A#b", 4_000L, "A#c", 3_000L));
+    }
+}
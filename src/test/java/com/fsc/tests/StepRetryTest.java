@@ -0,0 +1,105 @@
+package com.fsc.tests;
+
+import com.fsc.utils.StepRetry;
+import com.fsc.utils.TestMetrics;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies which failures are retried in place, how often, and what is recorded for the report
+ */
+public class StepRetryTest {
+    private final AtomicInteger attempts = new AtomicInteger();
+    private final AtomicInteger recoveries = new AtomicInteger();
+
+    @BeforeMethod
+    public void resetBudget() {
+        StepRetry.startTest();
+        TestMetrics.drain();
+        attempts.set(0);
+        recoveries.set(0);
+    }
+
+    @Test(description = "A stale element is retried in the same session until the step succeeds")
+    public void testRetriesStaleElementInPlace() {
+        String result = new StepRetry(2, 5, 0).call("account-tab", () -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new StaleElementReferenceException("element is not attached to the page document");
+            }
+            return "opened";
+        }, recoveries::incrementAndGet);
+
+        Assert.assertEquals(result, "opened");
+        Assert.assertEquals(attempts.get(), 3);
+        Assert.assertEquals(recoveries.get(), 2, "The page should be reset before every retry");
+
+        Map<String, String> metrics = TestMetrics.drain();
+        Assert.assertEquals(metrics.get("Step retries"), "2");
+        Assert.assertEquals(metrics.get("Retried steps"), "account-tab x2");
+        Assert.assertTrue(metrics.containsKey("Re-run time saved by retries"), "Metrics: " + metrics);
+    }
+
+    @Test(description = "Failures that would fail again, like a missing element, are not retried")
+    public void testDoesNotRetryOtherFailures() {
+        Assert.expectThrows(NoSuchElementException.class, () -> new StepRetry(2, 5, 0).call("account-search", () -> {
+            attempts.incrementAndGet();
+            throw new NoSuchElementException("no such element");
+        }, recoveries::incrementAndGet));
+
+        Assert.assertEquals(attempts.get(), 1);
+        Assert.assertEquals(recoveries.get(), 0);
+    }
+
+    @Test(description = "A plain timeout gets one more chance; one caused by a stale element gets the full retries")
+    public void testRetriesTimeoutsOnce() {
+        StepRetry retry = new StepRetry(2, 10, 0);
+        Assert.expectThrows(TimeoutException.class, () -> retry.call("sales-app", () -> {
+            attempts.incrementAndGet();
+            throw new TimeoutException("Expected condition failed");
+        }, () -> { }));
+        Assert.assertEquals(attempts.get(), 2);
+
+        attempts.set(0);
+        Assert.expectThrows(TimeoutException.class, () -> retry.call("sales-app", () -> {
+            attempts.incrementAndGet();
+            throw new TimeoutException("Expected condition failed", new StaleElementReferenceException("stale"));
+        }, () -> { }));
+        Assert.assertEquals(attempts.get(), 3);
+    }
+
+    @Test(description = "All steps of a test share one retry budget")
+    public void testBudgetIsSharedByTheTest() {
+        StepRetry retry = new StepRetry(2, 3, 0);
+        retry.call("list-view", () -> {
+            if (attempts.incrementAndGet() <= 2) {
+                throw new ElementClickInterceptedException("Other element would receive the click");
+            }
+            return null;
+        }, () -> { });
+
+        attempts.set(0);
+        Assert.expectThrows(ElementClickInterceptedException.class, () -> retry.call("account-record", () -> {
+            attempts.incrementAndGet();
+            throw new ElementClickInterceptedException("Other element would receive the click");
+        }, () -> { }));
+        Assert.assertEquals(attempts.get(), 2, "Only one retry was left in the budget");
+
+        StepRetry.startTest();
+        attempts.set(0);
+        retry.call("account-record", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ElementClickInterceptedException("Other element would receive the click");
+            }
+            return null;
+        }, () -> { });
+        Assert.assertEquals(attempts.get(), 2, "A new test starts with a full budget");
+    }
+}
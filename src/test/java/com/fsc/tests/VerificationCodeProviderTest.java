@@ -0,0 +1,107 @@
+package com.fsc.tests;
+
+import com.fsc.auth.EnvironmentCodeProvider;
+import com.fsc.auth.FileCodeProvider;
+import com.fsc.auth.SocketCodeProvider;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Verifies that verification-code providers return as soon as a code arrives and fail fast otherwise
+ */
+public class VerificationCodeProviderTest {
+
+    @Test(description = "File provider returns the code written after it started waiting")
+    public void testFileProviderReturnsWrittenCode() throws IOException {
+        Path file = Files.createTempDirectory("verification").resolve("code.txt");
+        CompletableFuture.runAsync(() -> {
+            sleep(300);
+            try {
+                Files.writeString(file, "123456\n");
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        String code = new FileCodeProvider(file).awaitCode(Duration.ofSeconds(10));
+
+        Assert.assertEquals(code, "123456");
+        Assert.assertTrue(System.currentTimeMillis() - start < 5000, "File provider did not return promptly");
+        Assert.assertFalse(Files.exists(file), "Code file should be deleted once read");
+    }
+
+    @Test(description = "File provider ignores a code left over from an earlier login")
+    public void testFileProviderIgnoresStaleCode() throws IOException {
+        Path file = Files.createTempDirectory("verification").resolve("code.txt");
+        Files.writeString(file, "999999");
+
+        Assert.assertThrows(TimeoutException.class, () -> new FileCodeProvider(file).awaitCode(Duration.ofMillis(500)));
+    }
+
+    @Test(description = "Socket provider returns the first line sent to it")
+    public void testSocketProviderReturnsSentCode() throws IOException {
+        int port = freePort();
+        CompletableFuture.runAsync(() -> {
+            for (int attempt = 0; attempt < 50; attempt++) {
+                try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+                    new PrintWriter(socket.getOutputStream(), true).println("654321");
+                    return;
+                } catch (IOException e) {
+                    // Provider not listening yet
+                    sleep(100);
+                }
+            }
+        });
+
+        Assert.assertEquals(new SocketCodeProvider(port).awaitCode(Duration.ofSeconds(10)), "654321");
+    }
+
+    @Test(description = "Socket provider times out with a clear error when nobody sends a code")
+    public void testSocketProviderTimesOut() throws IOException {
+        TimeoutException error = Assert.expectThrows(TimeoutException.class,
+            () -> new SocketCodeProvider(freePort()).awaitCode(Duration.ofMillis(300)));
+        Assert.assertTrue(error.getMessage().contains("No verification code received"));
+    }
+
+    @Test(description = "Environment provider reads a system property of the configured name")
+    public void testEnvironmentProviderReadsSystemProperty() {
+        System.setProperty("TEST_VERIFICATION_CODE", " 111222 ");
+        try {
+            Assert.assertEquals(new EnvironmentCodeProvider("TEST_VERIFICATION_CODE").awaitCode(Duration.ZERO), "111222");
+        } finally {
+            System.clearProperty("TEST_VERIFICATION_CODE");
+        }
+    }
+
+    @Test(description = "Environment provider fails immediately when no code is set")
+    public void testEnvironmentProviderFailsFast() {
+        Assert.assertThrows(TimeoutException.class,
+            () -> new EnvironmentCodeProvider("TEST_VERIFICATION_CODE_MISSING").awaitCode(Duration.ofSeconds(30)));
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static void sleep(long milliseconds) {
+        try {
+            Thread.sleep(milliseconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}